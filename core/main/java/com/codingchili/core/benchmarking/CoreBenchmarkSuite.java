@@ -3,6 +3,7 @@ package com.codingchili.core.benchmarking;
 import io.vertx.core.Future;
 import io.vertx.core.Promise;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.function.Consumer;
@@ -19,6 +20,12 @@ import static com.codingchili.core.configuration.CoreStrings.*;
  */
 public class CoreBenchmarkSuite {
     private static final String MAP_BENCHMARKS = "Map benchmarks";
+    private static final String COPY_BENCHMARKS = "Copy benchmarks";
+    private static final String UDP_BENCHMARKS = "UDP benchmarks";
+    private static final String TOKEN_BENCHMARKS = "Token benchmarks";
+    private static final String PROTOCOL_BENCHMARKS = "Protocol benchmarks";
+    private static final String COPY = " (copy)";
+    private static final String NO_COPY = " (no copy)";
     private int iterations = 15;
 
     /**
@@ -32,7 +39,20 @@ public class CoreBenchmarkSuite {
                 this.iterations = Integer.parseInt(iterations));
 
         SystemContext.clustered(cluster -> {
-            maps(cluster.result(), new BenchmarkConsoleListener()).onComplete(done -> {
+            BenchmarkListener listener = new BenchmarkConsoleListener();
+            maps(cluster.result(), listener).compose(maps ->
+                    copies(cluster.result(), listener).compose(copies ->
+                            udp(cluster.result(), listener).compose(udp ->
+                                    tokens(cluster.result(), listener).compose(tokens ->
+                                            protocols(cluster.result(), listener).map(protocols -> {
+                                                List<BenchmarkGroup> groups = new ArrayList<>(maps);
+                                                groups.addAll(copies);
+                                                groups.addAll(udp);
+                                                groups.addAll(tokens);
+                                                groups.addAll(protocols);
+                                                return groups;
+                                            }))))
+            ).onComplete(done -> {
                 if (done.succeeded()) {
                     createReport(promise, done.result(), executor);
                 } else {
@@ -76,6 +96,7 @@ public class CoreBenchmarkSuite {
         add.accept(JsonMap.class);
         add.accept(PrivateMap.class);
         add.accept(SharedMap.class);
+        add.accept(MappedMap.class);
         //add.accept(IndexedMapPersisted.class);
         add.accept(IndexedMapVolatile.class);
         add.accept(HazelMap.class);
@@ -90,6 +111,102 @@ public class CoreBenchmarkSuite {
         return promise.future();
     }
 
+    /**
+     * Compares the throughput of a storage that copies values on read and write
+     * against a storage that is configured with immutable values.
+     *
+     * @param context  the core context to run benchmark on
+     * @param listener benchmark listener to use
+     * @return a future that is completed with the results of the benchmark.
+     */
+    public Future<List<BenchmarkGroup>> copies(CoreContext context, BenchmarkListener listener) {
+        Promise<List<BenchmarkGroup>> promise = Promise.promise();
+        BenchmarkGroup group = new BenchmarkGroupBuilder(COPY_BENCHMARKS, iterations);
+        String name = IndexedMapVolatile.class.getSimpleName();
+
+        group.add(new MapBenchmarkImplementation(group, IndexedMapVolatile.class, name + COPY)
+                .setImmutableValues(false));
+        group.add(new MapBenchmarkImplementation(group, IndexedMapVolatile.class, name + NO_COPY)
+                .setImmutableValues(true));
+
+        new BenchmarkExecutor(context)
+                .setListener(listener)
+                .start(group)
+                .onComplete(promise);
+
+        return promise.future();
+    }
+
+    /**
+     * Compares the throughput of the udp listener when deployed with an increasing
+     * number of instances, up to the number of available processors.
+     *
+     * @param context  the core context to run benchmark on
+     * @param listener benchmark listener to use
+     * @return a future that is completed with the results of the benchmark.
+     */
+    public Future<List<BenchmarkGroup>> udp(CoreContext context, BenchmarkListener listener) {
+        Promise<List<BenchmarkGroup>> promise = Promise.promise();
+        BenchmarkGroup group = new BenchmarkGroupBuilder(UDP_BENCHMARKS, iterations);
+        int processors = Runtime.getRuntime().availableProcessors();
+
+        for (int instances = 1; instances < processors; instances *= 2) {
+            group.add(new UdpBenchmarkImplementation(group, instances));
+        }
+        group.add(new UdpBenchmarkImplementation(group, processors));
+
+        new BenchmarkExecutor(context)
+                .setListener(listener)
+                .start(group)
+                .onComplete(promise);
+
+        return promise.future();
+    }
+
+    /**
+     * Measures the throughput of signing and verifying tokens.
+     *
+     * @param context  the core context to run benchmark on
+     * @param listener benchmark listener to use
+     * @return a future that is completed with the results of the benchmark.
+     */
+    public Future<List<BenchmarkGroup>> tokens(CoreContext context, BenchmarkListener listener) {
+        Promise<List<BenchmarkGroup>> promise = Promise.promise();
+        BenchmarkGroup group = new BenchmarkGroupBuilder(TOKEN_BENCHMARKS, iterations);
+
+        group.add(new TokenBenchmarkImplementation(group));
+
+        new BenchmarkExecutor(context)
+                .setListener(listener)
+                .start(group)
+                .onComplete(promise);
+
+        return promise.future();
+    }
+
+    /**
+     * Compares dispatching requests to annotated handlers by reflection against
+     * the handlers generated by the protocol.
+     *
+     * @param context  the core context to run benchmark on
+     * @param listener benchmark listener to use
+     * @return a future that is completed with the results of the benchmark.
+     */
+    public Future<List<BenchmarkGroup>> protocols(CoreContext context, BenchmarkListener listener) {
+        Promise<List<BenchmarkGroup>> promise = Promise.promise();
+        BenchmarkGroup group = new BenchmarkGroupBuilder(PROTOCOL_BENCHMARKS, iterations);
+
+        group.add(new ProtocolBenchmarkImplementation(group, true));
+        group.add(new ProtocolBenchmarkImplementation(group, false));
+
+        new BenchmarkExecutor(context)
+                .setListener(listener)
+                .start(group)
+                .onComplete(promise);
+
+        return promise.future();
+    }
+
     /**
      * Set the number of iterations to perform.
      *
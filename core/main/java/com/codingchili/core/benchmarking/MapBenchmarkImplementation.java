@@ -20,6 +20,7 @@ public class MapBenchmarkImplementation extends BenchmarkImplementationBuilder {
     private AtomicInteger counter = new AtomicInteger(0);
     private AsyncStorage<StorageObject> storage;
     private Class<? extends AsyncStorage> plugin;
+    private boolean immutable = false;
 
     public MapBenchmarkImplementation(BenchmarkGroup group, Class<? extends AsyncStorage> plugin, String implementation) {
         super(implementation);
@@ -41,12 +42,23 @@ public class MapBenchmarkImplementation extends BenchmarkImplementationBuilder {
         new StorageLoader<StorageObject>(new StorageContext<>(core))
                 .withPlugin(plugin)
                 .withValue(StorageObject.class)
+                .withImmutableValues(immutable)
                 .withDB(DB, COLLECTION).build(store -> {
             this.storage = store.result();
             handler.handle(Future.succeededFuture());
         });
     }
 
+    /**
+     * @param immutable true if the storage should be loaded with immutable values, see
+     *                  {@link StorageLoader#withImmutableValues(boolean)}.
+     * @return fluent
+     */
+    public MapBenchmarkImplementation setImmutableValues(boolean immutable) {
+        this.immutable = immutable;
+        return this;
+    }
+
     @Override
     public void next(Promise<Void> promise) {
         counter = new AtomicInteger(0);
@@ -0,0 +1,87 @@
+package com.codingchili.core.benchmarking;
+
+import io.vertx.core.*;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+import com.codingchili.core.context.CoreContext;
+import com.codingchili.core.listener.Receiver;
+import com.codingchili.core.listener.Request;
+import com.codingchili.core.protocol.*;
+import com.codingchili.core.testing.EmptyRequest;
+
+/**
+ * Measures the overhead of dispatching requests through {@link Protocol#process(Request)}
+ * to an annotated handler, either by reflection or through the handler that is
+ * generated when the handler is registered with {@link Protocol#annotated(Receiver)}.
+ */
+public class ProtocolBenchmarkImplementation extends BenchmarkImplementationBuilder {
+    private static final String ROUTE = "ping";
+    private static final int REQUESTS = 1000;
+    private final Protocol<Request> protocol = new Protocol<>();
+    private final Request request = new EmptyRequest();
+    private final boolean reflective;
+
+    /**
+     * @param group      the group the implementation is added to.
+     * @param reflective true if the handler method is invoked by reflection.
+     */
+    public ProtocolBenchmarkImplementation(BenchmarkGroup group, boolean reflective) {
+        super(reflective ? "Protocol (reflective)" : "Protocol (generated)");
+        setGroup(group);
+        this.reflective = reflective;
+
+        add("process", this::process);
+    }
+
+    @Override
+    public void initialize(CoreContext core, Handler<AsyncResult<Void>> handler) {
+        PingHandler ping = new PingHandler();
+        protocol.routeMapper(request -> ROUTE);
+
+        if (reflective) {
+            try {
+                Method method = PingHandler.class.getDeclaredMethod(ROUTE, Request.class);
+                protocol.use(ROUTE, request -> {
+                    try {
+                        method.invoke(ping, request);
+                    } catch (IllegalAccessException | InvocationTargetException e) {
+                        throw new RuntimeException(e);
+                    }
+                }, Role.PUBLIC);
+            } catch (NoSuchMethodException e) {
+                handler.handle(Future.failedFuture(e));
+                return;
+            }
+        } else {
+            protocol.annotated(ping);
+        }
+        handler.handle(Future.succeededFuture());
+    }
+
+    private void process(Promise<Void> promise) {
+        // each operation dispatches a batch as a single dispatch is too fast to measure.
+        for (int i = 0; i < REQUESTS; i++) {
+            protocol.process(request);
+        }
+        promise.complete();
+    }
+
+    /**
+     * Handler with a single annotated route.
+     */
+    public static class PingHandler implements Receiver<Request> {
+        private long count = 0;
+
+        @Api(RoleMap.PUBLIC)
+        public void ping(Request request) {
+            count++;
+        }
+
+        @Override
+        public void handle(Request request) {
+            ping(request);
+        }
+    }
+}
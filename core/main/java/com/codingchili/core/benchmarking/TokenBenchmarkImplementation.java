@@ -0,0 +1,46 @@
+package com.codingchili.core.benchmarking;
+
+import io.vertx.core.*;
+
+import java.util.Arrays;
+
+import com.codingchili.core.context.CoreContext;
+import com.codingchili.core.security.*;
+
+/**
+ * Measures the throughput of signing and verifying HMAC tokens, the cost paid
+ * by every token-authenticated request.
+ */
+public class TokenBenchmarkImplementation extends BenchmarkImplementationBuilder {
+    private static final String DOMAIN = "benchmark";
+    private TokenFactory factory;
+    private Token token;
+
+    public TokenBenchmarkImplementation(BenchmarkGroup group) {
+        super(TokenFactory.class.getSimpleName());
+        setGroup(group);
+
+        add("hmac", this::hmac)
+                .add("verify hmac", this::verify);
+    }
+
+    @Override
+    public void initialize(CoreContext core, Handler<AsyncResult<Void>> handler) {
+        this.factory = new TokenFactory(core, SecretFactory.generate(64).getBytes());
+        this.token = token();
+        factory.hmac(token).onComplete(handler);
+    }
+
+    private static Token token() {
+        return new Token(DOMAIN)
+                .addProperty("roles", Arrays.asList("user", "admin"));
+    }
+
+    private void hmac(Promise<Void> promise) {
+        factory.hmac(token()).onComplete(promise);
+    }
+
+    private void verify(Promise<Void> promise) {
+        factory.verify(token).onComplete(promise);
+    }
+}
@@ -0,0 +1,132 @@
+package com.codingchili.core.benchmarking;
+
+import io.vertx.core.*;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.datagram.DatagramSocket;
+import io.vertx.core.json.JsonObject;
+
+import java.net.SocketException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.codingchili.core.context.CoreContext;
+import com.codingchili.core.context.CoreRuntimeException;
+import com.codingchili.core.listener.*;
+import com.codingchili.core.listener.transport.UdpListener;
+
+import static com.codingchili.core.configuration.CoreStrings.*;
+
+/**
+ * Measures the number of datagrams per second that are handled by the udp listener
+ * when deployed with the given number of instances, see {@link ListenerSettings#setInstances(int)}.
+ * <p>
+ * Requests are sent from multiple sockets so that datagrams are distributed between
+ * the listener instances by source port. Replies are matched to requests by the
+ * target of the request, which is included in the response.
+ */
+public class UdpBenchmarkImplementation extends BenchmarkImplementationBuilder {
+    private static final int CLIENTS = 16;
+    private static final int TIMEOUT_MS = 1000;
+    private final List<DatagramSocket> clients = new ArrayList<>();
+    private final Map<String, Promise<Void>> pending = new ConcurrentHashMap<>();
+    private final AtomicInteger next = new AtomicInteger(0);
+    private final AtomicLong ids = new AtomicLong(0);
+    private final int instances;
+    private CoreContext core;
+    private String deployment;
+    private int port;
+
+    public UdpBenchmarkImplementation(BenchmarkGroup group, int instances) {
+        super(String.format("UdpListener (%d instances)", instances));
+        setGroup(group);
+        this.instances = instances;
+
+        add("round trip", this::roundTrip);
+    }
+
+    @Override
+    public void initialize(CoreContext core, Handler<AsyncResult<Void>> handler) {
+        this.core = core;
+        this.port = freePort();
+
+        ListenerSettings settings = new ListenerSettings()
+                .setPort(port)
+                .setInstances(instances);
+
+        core.listener(() -> new UdpListener().settings(settings).handler(new PingHandler()))
+                .compose(deployment -> {
+                    this.deployment = deployment;
+                    List<Future> clients = new ArrayList<>();
+                    for (int i = 0; i < CLIENTS; i++) {
+                        clients.add(client());
+                    }
+                    return CompositeFuture.all(clients);
+                }).<Void>mapEmpty().onComplete(handler);
+    }
+
+    private static int freePort() {
+        try (java.net.DatagramSocket socket = new java.net.DatagramSocket(0)) {
+            return socket.getLocalPort();
+        } catch (SocketException e) {
+            throw new CoreRuntimeException(e.getMessage());
+        }
+    }
+
+    private Future<DatagramSocket> client() {
+        DatagramSocket socket = core.vertx().createDatagramSocket();
+
+        socket.handler(packet -> {
+            // replies to requests that has timed out are ignored.
+            Promise<Void> promise = pending.remove(packet.data().toJsonObject().getString(PROTOCOL_TARGET));
+            if (promise != null) {
+                promise.tryComplete();
+            }
+        });
+
+        clients.add(socket);
+        return socket.listen(0, LOCALHOST);
+    }
+
+    private void roundTrip(Promise<Void> promise) {
+        int client = Math.abs(next.getAndIncrement() % CLIENTS);
+        String id = Long.toString(ids.getAndIncrement());
+        Buffer request = new JsonObject()
+                .put(PROTOCOL_ROUTE, ID_PING)
+                .put(PROTOCOL_TARGET, id).toBuffer();
+
+        pending.put(id, promise);
+
+        // datagrams may be dropped when the listener is saturated.
+        long timer = core.timer(TIMEOUT_MS, timeout -> {
+            if (pending.remove(id) != null) {
+                promise.tryComplete();
+            }
+        });
+        promise.future().onComplete(done -> core.cancel(timer));
+        clients.get(client).send(request, port, LOCALHOST);
+    }
+
+    @Override
+    public void shutdown(Promise<Void> promise) {
+        core.stop(deployment);
+        clients.forEach(DatagramSocket::close);
+        promise.complete();
+    }
+
+    /**
+     * Replies to all requests.
+     */
+    private static class PingHandler implements CoreHandler {
+        @Override
+        public void handle(Request request) {
+            request.accept();
+        }
+
+        @Override
+        public String address() {
+            return ID_PING;
+        }
+    }
+}
@@ -78,7 +78,9 @@ public abstract class CoreStrings {
     public static final String PROTOCOL_STATUS = "status";
     public static final String PROTOCOL_ROUTE = "route";
     public static final String PROTOCOL_TARGET = "target";
+    public static final String PROTOCOL_CORRELATION = "correlation";
     public static final String PROTOCOL_LOGGING = "logging";
+    public static final String PROTOCOL_LOGGING_BATCH = "logging.batch";
     public static final String PROTOCOL_DOCUMENTATION = "documentation";
     public static final String DEFAULT_KEYSTORE = "keystore.jks";
 
@@ -292,6 +294,26 @@ public abstract class CoreStrings {
         return "Failed to write file '" + file + "'.";
     }
 
+    public static String getFramingUnsupported(WireFraming framing, WireCodec codec) {
+        return String.format("Framing %s does not support the %s codec, use %s framing instead.",
+                framing.name(), codec.name(), WireFraming.LENGTH.name());
+    }
+
+    public static String getReusePortUnsupported(int port) {
+        return String.format("Native transport is not enabled, datagrams on port %d are " +
+                "received by a single listener instance.", port);
+    }
+
+    public static String getLoggingBufferInvalid(int capacity, int batchSize) {
+        return String.format("Logging capacity %d must be at least the batch size %d, which must be positive.",
+                capacity, batchSize);
+    }
+
+    public static String getStorageRecordTooLarge(String file, int size, int segmentSize) {
+        return String.format("Record of %d bytes does not fit in a segment of %d bytes in file '%s'.",
+                size, segmentSize, file);
+    }
+
     public static String getDBIdentifier(String DB, String collection, String plugin) {
         return DB + "-" + collection + plugin;
     }
@@ -569,6 +591,10 @@ public abstract class CoreStrings {
         return "Error: hash comparison has failed.";
     }
 
+    public static String getHashRejectedException() {
+        return "Error: too many pending hash operations, try again later.";
+    }
+
     public static String getWatcherFailed(String cause) {
         return "failed: " + cause;
     }
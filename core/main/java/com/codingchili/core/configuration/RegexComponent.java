@@ -1,5 +1,9 @@
 package com.codingchili.core.configuration;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.util.regex.Pattern;
+
 import com.codingchili.core.security.RegexAction;
 
 /**
@@ -9,6 +13,7 @@ public class RegexComponent {
     private RegexAction action;
     private String expression;
     private String substitution;
+    private Pattern pattern;
 
     public RegexComponent() {
     }
@@ -42,9 +47,21 @@ public class RegexComponent {
      */
     public RegexComponent setExpression(String expression) {
         this.expression = expression;
+        this.pattern = null;
         return this;
     }
 
+    /**
+     * @return the regular expression compiled on first use.
+     */
+    @JsonIgnore
+    public Pattern getPattern() {
+        if (pattern == null) {
+            pattern = Pattern.compile(expression);
+        }
+        return pattern;
+    }
+
     /**
      * @return the replacement text used when action is  {@link RegexAction#SUBSTITUTE}.
      */
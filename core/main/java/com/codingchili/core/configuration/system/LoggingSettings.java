@@ -0,0 +1,156 @@
+package com.codingchili.core.configuration.system;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import com.codingchili.core.logging.Level;
+import com.codingchili.core.logging.OverflowPolicy;
+
+/**
+ * Contains settings for the console writer, the log levels that are disabled
+ * and for shipping log events to a remote logging node.
+ */
+public class LoggingSettings {
+    private Set<String> shed = new HashSet<>(Set.of(Level.INFO.getName()));
+    private Set<String> disabled = new HashSet<>();
+    private OverflowPolicy consoleOverflow = OverflowPolicy.DROP_OLDEST;
+    private int consoleCapacity = 8192;
+    private boolean batching = false;
+    private int capacity = 8192;
+    private int batchSize = 512;
+    private int flushInterval = 500;
+
+    /**
+     * @return the names of the log levels that are not logged.
+     */
+    public Set<String> getDisabled() {
+        return disabled;
+    }
+
+    /**
+     * @param disabled the names of the log levels that are not logged, events
+     *                 with these levels are discarded before they are created.
+     * @return fluent
+     */
+    public LoggingSettings setDisabled(Set<String> disabled) {
+        this.disabled = disabled;
+        return this;
+    }
+
+    /**
+     * @return the maximum number of lines queued for the console writer.
+     */
+    public int getConsoleCapacity() {
+        return consoleCapacity;
+    }
+
+    /**
+     * @param consoleCapacity the maximum number of lines queued for the console writer,
+     *                        read when the first line is logged to the console.
+     * @return fluent
+     */
+    public LoggingSettings setConsoleCapacity(int consoleCapacity) {
+        this.consoleCapacity = consoleCapacity;
+        return this;
+    }
+
+    /**
+     * @return determines how console lines are handled when the queue is full.
+     */
+    public OverflowPolicy getConsoleOverflow() {
+        return consoleOverflow;
+    }
+
+    /**
+     * @param consoleOverflow determines how console lines are handled when the queue is full.
+     * @return fluent
+     */
+    public LoggingSettings setConsoleOverflow(OverflowPolicy consoleOverflow) {
+        this.consoleOverflow = consoleOverflow;
+        return this;
+    }
+
+    /**
+     * @return true if remote log events are buffered and sent in compressed batches.
+     */
+    public boolean isBatching() {
+        return batching;
+    }
+
+    /**
+     * @param batching true to buffer remote log events and send them in compressed
+     *                 batches, false to send one message per event.
+     * @return fluent
+     */
+    public LoggingSettings setBatching(boolean batching) {
+        this.batching = batching;
+        return this;
+    }
+
+    /**
+     * @return the maximum number of events buffered before events are dropped.
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * @param capacity the maximum number of events buffered before events are dropped,
+     *                 must be at least the batch size.
+     * @return fluent
+     */
+    public LoggingSettings setCapacity(int capacity) {
+        this.capacity = capacity;
+        return this;
+    }
+
+    /**
+     * @return the maximum number of events in a single batch, a batch is sent
+     * as soon as this many events are buffered.
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * @param batchSize the maximum number of events in a single batch, must be positive.
+     * @return fluent
+     */
+    public LoggingSettings setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+        return this;
+    }
+
+    /**
+     * @return the interval in MS in which buffered events are sent.
+     */
+    public int getFlushInterval() {
+        return flushInterval;
+    }
+
+    /**
+     * @param flushInterval the interval in MS in which buffered events are sent.
+     * @return fluent
+     */
+    public LoggingSettings setFlushInterval(int flushInterval) {
+        this.flushInterval = flushInterval;
+        return this;
+    }
+
+    /**
+     * @return the names of the log levels that are dropped when the buffer is
+     * filled beyond three quarters of its capacity.
+     */
+    public Set<String> getShed() {
+        return shed;
+    }
+
+    /**
+     * @param shed the names of the log levels that are dropped first under backpressure.
+     * @return fluent
+     */
+    public LoggingSettings setShed(Set<String> shed) {
+        this.shed = shed;
+        return this;
+    }
+}
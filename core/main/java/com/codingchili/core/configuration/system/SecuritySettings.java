@@ -35,6 +35,7 @@ public class SecuritySettings implements Configurable {
     private String signatureAlgorithm = "SHA256withRSA";
     private int secretBytes = 64;
     private int tokenttl = 3600 * 24 * 7;
+    private int verifiedTokenCache = 0;
 
     static {
         StartupListener.subscribe(core -> logger = core.logger(SecuritySettings.class));
@@ -240,4 +241,23 @@ public class SecuritySettings implements Configurable {
         this.tokenttl = tokenttl;
         return this;
     }
+
+    /**
+     * @return the maximum number of verified tokens that are cached by each
+     * token factory, 0 if disabled.
+     */
+    public int getVerifiedTokenCache() {
+        return verifiedTokenCache;
+    }
+
+    /**
+     * @param verifiedTokenCache the maximum number of verified tokens that are cached by each
+     *                           token factory, tokens that are cached are not verified again
+     *                           until they expire. Set to 0 to disable.
+     * @return fluent.
+     */
+    public SecuritySettings setVerifiedTokenCache(int verifiedTokenCache) {
+        this.verifiedTokenCache = verifiedTokenCache;
+        return this;
+    }
 }
@@ -14,6 +14,7 @@ import static com.codingchili.core.configuration.CoreStrings.PATH_SYSTEM;
  */
 public class SystemSettings implements Configurable {
     private MetricSettings metrics = new MetricSettings();
+    private LoggingSettings logging = new LoggingSettings();
     private VertxOptions options = null;
     private int services = 1;
     private int handlers = 1;
@@ -24,6 +25,7 @@ public class SystemSettings implements Configurable {
     private int cachedFilePoll = 1500;
     private boolean consoleLogging = true;
     private boolean unsafe = false;
+    private boolean preferNativeTransport = false;
     private int clusterTimeout = 3000;
     private long blockedThreadChecker = VertxOptions.DEFAULT_BLOCKED_THREAD_CHECK_INTERVAL;
     private long maxEventLoopExecuteTime = VertxOptions.DEFAULT_MAX_EVENT_LOOP_EXECUTE_TIME / (1000 * 1000);
@@ -51,6 +53,17 @@ public class SystemSettings implements Configurable {
         this.metrics = metrics;
     }
 
+    /**
+     * @return settings for shipping log events to the logging node.
+     */
+    public LoggingSettings getLogging() {
+        return logging;
+    }
+
+    public void setLogging(LoggingSettings logging) {
+        this.logging = logging;
+    }
+
     /**
      * @return the number of handlers to deploy for each name.
      */
@@ -144,7 +157,8 @@ public class SystemSettings implements Configurable {
                     .setMetricsOptions(metrics.createVertxOptions())
                     .setWorkerPoolSize(workerPoolSize)
                     .setBlockedThreadCheckInterval(blockedThreadChecker)
-                    .setMaxEventLoopExecuteTime(maxEventLoopExecuteTime * 1000 * 1000);
+                    .setMaxEventLoopExecuteTime(maxEventLoopExecuteTime * 1000 * 1000)
+                    .setPreferNativeTransport(preferNativeTransport);
 
             options.getEventBusOptions().setHost(Environment.address());
         }
@@ -158,6 +172,24 @@ public class SystemSettings implements Configurable {
         return this;
     }
 
+    /**
+     * @return true if the native transport is used when available.
+     */
+    public boolean isPreferNativeTransport() {
+        return preferNativeTransport;
+    }
+
+    /**
+     * @param preferNativeTransport set to true to use the native transport when the
+     *                              netty native transport is on the classpath, required
+     *                              for listeners that share ports with SO_REUSEPORT.
+     * @return fluent
+     */
+    public SystemSettings setPreferNativeTransport(boolean preferNativeTransport) {
+        this.preferNativeTransport = preferNativeTransport;
+        return this;
+    }
+
     /**
      * @return true if allowed to log to console.
      */
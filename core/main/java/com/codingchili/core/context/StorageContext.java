@@ -11,6 +11,7 @@ import com.codingchili.core.logging.Logger;
 import com.codingchili.core.protocol.Serializer;
 import com.codingchili.core.security.Validator;
 import com.codingchili.core.storage.AsyncStorage;
+import com.codingchili.core.storage.ImmutableStorable;
 
 import static com.codingchili.core.configuration.CoreStrings.*;
 
@@ -24,6 +25,7 @@ public class StorageContext<Value> extends SystemContext {
     private Logger logger = logger(getClass());
     private String database = "";
     private String collection = "";
+    private boolean immutable;
 
     public StorageContext() {
         super();
@@ -71,6 +73,14 @@ public class StorageContext<Value> extends SystemContext {
         return this.valueClass;
     }
 
+    /**
+     * @return true if stored values are never modified after being stored, either
+     * configured explicitly or by the value class implementing {@link ImmutableStorable}.
+     */
+    public boolean immutable() {
+        return immutable || (valueClass != null && ImmutableStorable.class.isAssignableFrom(valueClass));
+    }
+
     /**
      * @return the plugin identifier to us as storage.
      */
@@ -277,6 +287,15 @@ public class StorageContext<Value> extends SystemContext {
         return this;
     }
 
+    /**
+     * @param immutable true if stored values are never modified after being stored.
+     * @return fluent
+     */
+    public StorageContext<Value> setImmutable(boolean immutable) {
+        this.immutable = immutable;
+        return this;
+    }
+
     /**
      * sets the storage plugin name the context is bound to so that configuration for
      * it may be retrieved.
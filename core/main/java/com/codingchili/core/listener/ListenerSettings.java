@@ -20,6 +20,8 @@ public class ListenerSettings {
     private HttpServerOptions httpOptions = null;
     private Map<String, Endpoint> api = new HashMap<>();
     private WireType type = WireType.REST;
+    private WireFraming framing = WireFraming.NONE;
+    private WireCodec codec = WireCodec.JSON;
     private final Set<Integer> actualPorts = new HashSet<>();
     private String defaultTarget = "default";
     private String keystore = CoreStrings.DEFAULT_KEYSTORE;
@@ -30,6 +32,8 @@ public class ListenerSettings {
     private int port = 8080;
     private int timeout = DEFAULT_TIMEOUT;
     private int maxRequestBytes = DEFAULT_MAX_REQUEST_BYTES;
+    private int flushWindow = 0;
+    private int instances = 1;
 
     /**
      * @return timeout in MS after the router times out the request.
@@ -133,6 +137,77 @@ public class ListenerSettings {
         return this;
     }
 
+    /**
+     * @return the framing of messages for stream based transports.
+     */
+    public WireFraming getFraming() {
+        return framing;
+    }
+
+    /**
+     * @param framing the framing of messages for stream based transports, when
+     *                messages are framed multiple requests may be sent back-to-back
+     *                on a single connection.
+     * @return fluent
+     */
+    public ListenerSettings setFraming(WireFraming framing) {
+        this.framing = framing;
+        return this;
+    }
+
+    /**
+     * @return the number of instances to deploy of listeners that support it.
+     */
+    public int getInstances() {
+        return instances;
+    }
+
+    /**
+     * @param instances the number of instances to deploy, only applies to the udp listener
+     *                  where instances share the port with SO_REUSEPORT.
+     * @return fluent
+     */
+    public ListenerSettings setInstances(int instances) {
+        this.instances = instances;
+        return this;
+    }
+
+    /**
+     * @return the time in milliseconds that datagrams to the same peer are coalesced.
+     */
+    public int getFlushWindow() {
+        return flushWindow;
+    }
+
+    /**
+     * @param flushWindow the time in milliseconds that messages to the same peer are
+     *                    coalesced into a single datagram, requires framing to be set.
+     *                    Set to zero to send each message in its own datagram.
+     * @return fluent
+     */
+    public ListenerSettings setFlushWindow(int flushWindow) {
+        this.flushWindow = flushWindow;
+        return this;
+    }
+
+    /**
+     * @return the binary codec accepted by the listener in addition to json.
+     */
+    public WireCodec getCodec() {
+        return codec;
+    }
+
+    /**
+     * @param codec the binary codec accepted by the listener in addition to json,
+     *              supported by the tcp, udp and websocket listeners. Binary codecs
+     *              cannot be combined with newline framing.
+     * @return fluent
+     */
+    public ListenerSettings setCodec(WireCodec codec) {
+        this.codec = codec;
+        return this;
+    }
+
     /**
      * @return the port the listener is to be activated on.
      */
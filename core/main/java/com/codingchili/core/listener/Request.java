@@ -97,13 +97,24 @@ public interface Request extends Messageable {
     }
 
     /**
-     * Get the request token sent with the request.
+     * Get the request token sent with the request. Transport implementations
+     * parse the token once and return the same instance on every invocation,
+     * the token is shared by all handlers of the request and must not be
+     * modified; create a new token instead of changing the returned one.
      *
      * @return the requests token
      */
     default Token token() {
-        if (data().containsKey(ID_TOKEN)) {
-            return Serializer.unpack(data().getJsonObject(ID_TOKEN), Token.class);
+        return parseToken(data());
+    }
+
+    /**
+     * @param data the data of a request.
+     * @return the token in the request data or an expired token if missing.
+     */
+    static Token parseToken(JsonObject data) {
+        if (data.containsKey(ID_TOKEN)) {
+            return Serializer.unpack(data.getJsonObject(ID_TOKEN), Token.class);
         } else {
             return new Token().setExpiry(0);
         }
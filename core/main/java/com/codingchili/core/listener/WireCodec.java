@@ -0,0 +1,198 @@
+package com.codingchili.core.listener;
+
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.KryoException;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+import com.esotericsoftware.kryo.util.Pool;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.*;
+
+import com.codingchili.core.context.CoreRuntimeException;
+import com.codingchili.core.protocol.Response;
+import com.codingchili.core.protocol.VertxSerializerModules;
+
+/**
+ * Encodings of messages on the wire.
+ * <p>
+ * Listeners always accept json, when a binary codec is configured the codec of each
+ * message is detected from its first byte. Responses are written with the codec
+ * of the message that was last received on the connection.
+ */
+public enum WireCodec {
+    /**
+     * json text, the default.
+     */
+    JSON {
+        @Override
+        public JsonObject decode(Buffer buffer) {
+            return buffer.toJsonObject();
+        }
+
+        @Override
+        protected Buffer encode(JsonObject message) {
+            return message.toBuffer();
+        }
+    },
+    /**
+     * concise binary object representation, see RFC 8949.
+     */
+    CBOR {
+        private final ObjectMapper mapper = VertxSerializerModules.registerTypes(new ObjectMapper(new CBORFactory()));
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public JsonObject decode(Buffer buffer) {
+            try {
+                return new JsonObject(mapper.readValue(buffer.getBytes(), Map.class));
+            } catch (IOException e) {
+                throw new CoreRuntimeException(e);
+            }
+        }
+
+        @Override
+        protected Buffer encode(JsonObject message) {
+            try {
+                return Buffer.buffer(mapper.writeValueAsBytes(message.getMap()));
+            } catch (IOException e) {
+                throw new CoreRuntimeException(e);
+            }
+        }
+    },
+    /**
+     * kryo serialized maps, only suitable for clients running on the JVM.
+     * <p>
+     * Messages are read with a kryo instance that only accepts the json value types,
+     * the shared kryo pool accepts any class and must not be used for input from the network.
+     */
+    KRYO {
+        private final Pool<Kryo> pool = new Pool<Kryo>(true, false, 64) {
+            @Override
+            protected Kryo create() {
+                Kryo kryo = new Kryo();
+                // primitives and strings are registered by default.
+                kryo.setRegistrationRequired(true);
+                kryo.register(LinkedHashMap.class);
+                kryo.register(ArrayList.class);
+                kryo.register(BigInteger.class);
+                kryo.register(BigDecimal.class);
+                kryo.register(byte[].class);
+                return kryo;
+            }
+        };
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public JsonObject decode(Buffer buffer) {
+            Kryo kryo = pool.obtain();
+            try {
+                return new JsonObject(kryo.readObject(new Input(buffer.getBytes()), LinkedHashMap.class));
+            } catch (KryoException | IllegalArgumentException e) {
+                // kryo fails with an illegal argument when a class is not registered.
+                throw new CoreRuntimeException(e);
+            } finally {
+                pool.free(kryo);
+            }
+        }
+
+        @Override
+        protected Buffer encode(JsonObject message) {
+            Kryo kryo = pool.obtain();
+            try {
+                Output output = new Output(BUFFER_SIZE, -1);
+                kryo.writeObject(output, plain(message));
+                return Buffer.buffer(output.toBytes());
+            } finally {
+                pool.free(kryo);
+            }
+        }
+
+        /**
+         * @param value a json value.
+         * @return the value as one of the types registered for the kryo codec.
+         */
+        private Object plain(Object value) {
+            if (value instanceof JsonObject) {
+                value = ((JsonObject) value).getMap();
+            } else if (value instanceof JsonArray) {
+                value = ((JsonArray) value).getList();
+            }
+            if (value instanceof Map) {
+                Map<String, Object> map = new LinkedHashMap<>();
+                ((Map<?, ?>) value).forEach((key, item) -> map.put(key.toString(), plain(item)));
+                return map;
+            } else if (value instanceof List) {
+                List<Object> list = new ArrayList<>();
+                ((List<?>) value).forEach(item -> list.add(plain(item)));
+                return list;
+            } else if (value instanceof Buffer) {
+                return ((Buffer) value).getBytes();
+            } else if (value == null || value instanceof Number || value instanceof Boolean ||
+                    value instanceof String || value instanceof byte[]) {
+                return value;
+            } else if (value instanceof Enum) {
+                return ((Enum<?>) value).name();
+            } else {
+                // instants and other values are written as text as in json.
+                return value.toString();
+            }
+        }
+    };
+
+    private static final int BUFFER_SIZE = 256;
+
+    /**
+     * @param buffer the message to decode.
+     * @return the decoded message.
+     */
+    public abstract JsonObject decode(Buffer buffer);
+
+    /**
+     * Encodes a response with the headers of the request added.
+     *
+     * @param target  the target header to set for the response.
+     * @param route   the route header to set for the response.
+     * @param message the message to encode, buffers are considered to be encoded already.
+     * @return the encoded message.
+     */
+    public Buffer encode(String target, String route, Object message) {
+        if (message instanceof Buffer) {
+            return (Buffer) message;
+        } else {
+            return encode(Response.json(target, route, message));
+        }
+    }
+
+    /**
+     * @param message the message to encode.
+     * @return the encoded message.
+     */
+    protected abstract Buffer encode(JsonObject message);
+
+    /**
+     * @param buffer     the message to detect the codec of.
+     * @param configured the binary codec configured for the listener.
+     * @return json if the message is json text, otherwise the configured codec.
+     */
+    public static WireCodec detect(Buffer buffer, WireCodec configured) {
+        if (configured != JSON) {
+            for (int i = 0; i < buffer.length(); i++) {
+                byte current = buffer.getByte(i);
+                if (current == '{') {
+                    return JSON;
+                } else if (!Character.isWhitespace(current)) {
+                    return configured;
+                }
+            }
+        }
+        return JSON;
+    }
+}
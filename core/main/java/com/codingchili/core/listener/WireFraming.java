@@ -0,0 +1,72 @@
+package com.codingchili.core.listener;
+
+import io.vertx.core.buffer.Buffer;
+
+/**
+ * Framing of messages on stream based transports.
+ */
+public enum WireFraming {
+    /**
+     * each read from the socket is a message, messages that are split or
+     * coalesced by the transport cannot be decoded.
+     */
+    NONE {
+        @Override
+        public Buffer frame(Buffer message) {
+            return message;
+        }
+    },
+    /**
+     * messages are prefixed with their length as a 4-byte big endian integer.
+     */
+    LENGTH {
+        @Override
+        public Buffer frame(Buffer message) {
+            return Buffer.buffer(Integer.BYTES + message.length())
+                    .appendInt(message.length())
+                    .appendBuffer(message);
+        }
+    },
+    /**
+     * messages are delimited by a newline, messages must not contain newlines.
+     * Only supports json as binary codecs may encode any byte.
+     */
+    NEWLINE {
+        @Override
+        public boolean supports(WireCodec codec) {
+            return codec == WireCodec.JSON;
+        }
+
+        @Override
+        public Buffer frame(Buffer message) {
+            // json may be indented, newlines in strings are always escaped.
+            Buffer line = Buffer.buffer(message.length() + 1);
+            for (int i = 0; i < message.length(); i++) {
+                byte current = message.getByte(i);
+                if (current != '\n' && current != '\r') {
+                    line.appendByte(current);
+                }
+            }
+            return line.appendString(DELIMITER);
+        }
+    };
+
+    /**
+     * the delimiter of messages when framed by newlines.
+     */
+    public static final String DELIMITER = "\n";
+
+    /**
+     * @param codec the codec configured for a listener.
+     * @return true if messages encoded with the given codec can be framed.
+     */
+    public boolean supports(WireCodec codec) {
+        return true;
+    }
+
+    /**
+     * @param message the message to frame.
+     * @return the framed message.
+     */
+    public abstract Buffer frame(Buffer message);
+}
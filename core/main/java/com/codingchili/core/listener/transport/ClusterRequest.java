@@ -7,6 +7,7 @@ import io.vertx.core.json.JsonObject;
 import com.codingchili.core.files.Configurations;
 import com.codingchili.core.listener.Request;
 import com.codingchili.core.protocol.Response;
+import com.codingchili.core.security.Token;
 
 /**
  * A request in the cluster.
@@ -19,6 +20,7 @@ public class ClusterRequest implements Request {
     private int timeout = Configurations.system().getClusterTimeout();
     private Buffer buffer;
     private JsonObject json;
+    private final RequestToken token = new RequestToken(this::data);
 
     /**
      * Creates a cluster request from an eventbus message.
@@ -65,6 +67,11 @@ public class ClusterRequest implements Request {
         return json;
     }
 
+    @Override
+    public Token token() {
+        return token.get();
+    }
+
     /**
      * @return the buffer attached to the requests when sending files.
      */
@@ -4,6 +4,7 @@ import java.util.*;
 import java.util.function.Consumer;
 
 import com.codingchili.core.listener.Messageable;
+import com.codingchili.core.listener.WireCodec;
 
 import static com.codingchili.core.configuration.CoreStrings.PROTOCOL_CONNECTION;
 
@@ -17,6 +18,7 @@ public class Connection implements Messageable {
     private Map<String, Runnable> closeHandlers = new HashMap<>();
     private static final String ID = "id";
     private Consumer<Object> writer;
+    private WireCodec codec = WireCodec.JSON;
 
     /**
      * Creates a new stateful connection that properly implements the ID method.
@@ -31,7 +33,28 @@ public class Connection implements Messageable {
 
     @Override
     public void write(Object object) {
-        writer.accept(object);
+        if (codec == WireCodec.JSON) {
+            writer.accept(object);
+        } else {
+            writer.accept(codec.encode(null, null, object));
+        }
+    }
+
+    /**
+     * @return the codec used to encode messages written to the connection.
+     */
+    public WireCodec codec() {
+        return codec;
+    }
+
+    /**
+     * @param codec the codec used by the remote peer, messages written to the
+     *              connection are encoded with the same codec.
+     * @return fluent.
+     */
+    public Connection setCodec(WireCodec codec) {
+        this.codec = codec;
+        return this;
     }
 
     /**
@@ -0,0 +1,34 @@
+package com.codingchili.core.listener.transport;
+
+import io.vertx.core.json.JsonObject;
+
+import java.util.function.Supplier;
+
+import com.codingchili.core.listener.Request;
+import com.codingchili.core.security.Token;
+
+/**
+ * Parses the token of a transport request on first use, the same instance is
+ * returned for the lifetime of the request, see {@link Request#token()}.
+ */
+class RequestToken {
+    private final Supplier<JsonObject> data;
+    private Token token;
+
+    /**
+     * @param data supplies the data of the request that contains the token.
+     */
+    RequestToken(Supplier<JsonObject> data) {
+        this.data = data;
+    }
+
+    /**
+     * @return the token of the request, parsed on the first invocation.
+     */
+    Token get() {
+        if (token == null) {
+            token = Request.parseToken(data.get());
+        }
+        return token;
+    }
+}
@@ -13,6 +13,7 @@ import com.codingchili.core.configuration.CoreStrings;
 import com.codingchili.core.listener.*;
 import com.codingchili.core.protocol.Response;
 import com.codingchili.core.protocol.ResponseStatus;
+import com.codingchili.core.security.Token;
 
 import static com.codingchili.core.configuration.CoreStrings.PROTOCOL_CONNECTION;
 
@@ -25,6 +26,7 @@ public class RestRequest implements Request {
     private final ListenerSettings settings;
     private Connection connection;
     private JsonObject data;
+    private final RequestToken token = new RequestToken(this::data);
     private int size;
 
     /**
@@ -140,6 +142,11 @@ public class RestRequest implements Request {
         return data;
     }
 
+    @Override
+    public Token token() {
+        return token.get();
+    }
+
     @Override
     public int timeout() {
         return settings.getTimeout();
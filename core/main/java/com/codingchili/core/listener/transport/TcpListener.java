@@ -1,18 +1,28 @@
 package com.codingchili.core.listener.transport;
 
+import io.vertx.core.Handler;
 import io.vertx.core.Promise;
 import io.vertx.core.buffer.Buffer;
 import io.vertx.core.net.NetSocket;
+import io.vertx.core.parsetools.RecordParser;
 
 import com.codingchili.core.context.CoreContext;
+import com.codingchili.core.context.CoreRuntimeException;
 import com.codingchili.core.listener.*;
 import com.codingchili.core.logging.Logger;
 import com.codingchili.core.protocol.Response;
+import com.codingchili.core.protocol.ResponseStatus;
+import com.codingchili.core.protocol.exception.RequestPayloadSizeException;
 
 import static com.codingchili.core.configuration.CoreStrings.*;
 
 /**
  * TCP listener implementation.
+ * <p>
+ * When framing is enabled in the listener settings multiple requests may be sent
+ * back-to-back on a single connection, requests are dispatched as soon as they are
+ * decoded and responses are written in the order they complete. Requests that set
+ * a correlation id has it added to their response.
  */
 public class TcpListener implements CoreListener {
     private ListenerSettings settings = ListenerSettings.getDefaultSettings();
@@ -41,12 +51,16 @@ public class TcpListener implements CoreListener {
 
     @Override
     public void start(Promise<Void> start) {
+        if (!settings.getFraming().supports(settings.getCodec())) {
+            start.fail(new CoreRuntimeException(getFramingUnsupported(settings.getFraming(), settings.getCodec())));
+            return;
+        }
         core.vertx().createNetServer(settings.getHttpOptions())
                 .exceptionHandler(logger::onError)
                 .connectHandler(socket -> {
                     Connection connection = connected(socket);
 
-                    socket.handler(data -> packet(connection, data));
+                    socket.handler(reader(socket, connection));
                     socket.closeHandler((v) -> connection.runCloseHandlers());
                     socket.exceptionHandler(logger::onError);
 
@@ -62,7 +76,7 @@ public class TcpListener implements CoreListener {
 
     public Connection connected(NetSocket socket) {
         return new Connection((msg) -> {
-            socket.write(Response.buffer(msg));
+            socket.write(settings.getFraming().frame(Response.buffer(msg)));
         }, socket.writeHandlerID())
                 .setProperty(PROTOCOL_CONNECTION, socket.remoteAddress().host());
     }
@@ -72,7 +86,57 @@ public class TcpListener implements CoreListener {
         handler.stop(stop);
     }
 
+    private Handler<Buffer> reader(NetSocket socket, Connection connection) {
+        int maxRequestBytes = settings.getMaxRequestBytes();
+
+        switch (settings.getFraming()) {
+            case LENGTH:
+                RecordParser parser = RecordParser.newFixed(Integer.BYTES);
+                parser.handler(new Handler<>() {
+                    private boolean header = true;
+
+                    @Override
+                    public void handle(Buffer record) {
+                        if (header) {
+                            int length = record.getInt(0);
+
+                            if (length > maxRequestBytes || length < 1) {
+                                rejected(socket, connection);
+                            } else {
+                                parser.fixedSizeMode(length);
+                                header = false;
+                            }
+                        } else {
+                            parser.fixedSizeMode(Integer.BYTES);
+                            header = true;
+                            packet(connection, record);
+                        }
+                    }
+                });
+                return parser;
+            case NEWLINE:
+                return RecordParser.newDelimited(WireFraming.DELIMITER)
+                        .maxRecordSize(maxRequestBytes)
+                        .exceptionHandler(e -> rejected(socket, connection))
+                        .handler(record -> {
+                            if (record.length() > 0) {
+                                packet(connection, record);
+                            }
+                        });
+            default:
+                return data -> packet(connection, data);
+        }
+    }
+
+    private void rejected(NetSocket socket, Connection connection) {
+        // the stream cannot be recovered when a frame is discarded.
+        connection.write(Response.error(null, null, ResponseStatus.BAD,
+                new RequestPayloadSizeException(settings.getMaxRequestBytes())));
+        socket.close();
+    }
+
     private void packet(Connection connection, Buffer data) {
+        connection.setCodec(WireCodec.detect(data, settings.getCodec()));
         handler.handle(new TcpRequest(connection, data, settings));
     }
 
@@ -6,6 +6,9 @@ import io.vertx.core.json.JsonObject;
 import com.codingchili.core.listener.ListenerSettings;
 import com.codingchili.core.listener.Request;
 import com.codingchili.core.protocol.Response;
+import com.codingchili.core.security.Token;
+
+import static com.codingchili.core.configuration.CoreStrings.PROTOCOL_CORRELATION;
 
 /**
  * TCP request implementation.
@@ -14,13 +17,14 @@ public class TcpRequest implements Request {
     private Connection connection;
     private ListenerSettings settings;
     private JsonObject data;
+    private final RequestToken token = new RequestToken(this::data);
     private int size;
 
     public TcpRequest(Connection connection, Buffer buffer, ListenerSettings settings) {
         this.size = buffer.length();
         this.connection = connection;
         this.settings = settings;
-        this.data = buffer.toJsonObject();
+        this.data = connection.codec().decode(buffer);
     }
 
     @Override
@@ -30,7 +34,14 @@ public class TcpRequest implements Request {
 
     @Override
     public void write(Object object) {
-        connection.write(Response.buffer(target(), route(), object));
+        Object correlation = data.getValue(PROTOCOL_CORRELATION);
+
+        if (correlation == null) {
+            connection.write(connection.codec().encode(target(), route(), object));
+        } else {
+            // allows clients that pipeline requests to match responses.
+            connection.write(Response.json(target(), route(), object).put(PROTOCOL_CORRELATION, correlation));
+        }
     }
 
     @Override
@@ -38,6 +49,11 @@ public class TcpRequest implements Request {
         return data;
     }
 
+    @Override
+    public Token token() {
+        return token.get();
+    }
+
     @Override
     public int timeout() {
         return settings.getTimeout();
@@ -1,26 +1,42 @@
 package com.codingchili.core.listener.transport;
 
 import com.codingchili.core.context.CoreContext;
+import com.codingchili.core.context.CoreRuntimeException;
 import com.codingchili.core.context.DeploymentAware;
 import com.codingchili.core.listener.CoreHandler;
 import com.codingchili.core.listener.CoreListener;
 import com.codingchili.core.listener.ListenerSettings;
+import com.codingchili.core.logging.Level;
 import com.codingchili.core.logging.Logger;
 
 import static com.codingchili.core.configuration.CoreStrings.LOG_AT;
 import static com.codingchili.core.configuration.CoreStrings.getBindAddress;
+import static com.codingchili.core.configuration.CoreStrings.getFramingUnsupported;
+import static com.codingchili.core.configuration.CoreStrings.getReusePortUnsupported;
 
 import io.vertx.core.Future;
 import io.vertx.core.Promise;
 import io.vertx.core.datagram.DatagramPacket;
+import io.vertx.core.datagram.DatagramSocketOptions;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * UDP transport listener.
+ * <p>
+ * When more than one instance is configured all instances bind to the same port
+ * using SO_REUSEPORT and the kernel distributes datagrams between them. This
+ * requires the native transport, see {@link com.codingchili.core.configuration.system.SystemSettings#setPreferNativeTransport(boolean)},
+ * and a fixed port. Without the native transport datagrams are received by a single
+ * instance.
  */
 public class UdpListener implements CoreListener, DeploymentAware {
+    private static final Set<Integer> warned = ConcurrentHashMap.newKeySet();
     private ListenerSettings settings = ListenerSettings.getDefaultSettings();
     private CoreHandler handler;
     private CoreContext core;
+    private UdpSender sender;
     private Logger logger;
 
     @Override
@@ -44,9 +60,26 @@ public class UdpListener implements CoreListener, DeploymentAware {
 
     @Override
     public void start(Promise<Void> start) {
-        core.vertx().createDatagramSocket().listen(settings.getPort(), getBindAddress(), listen -> {
+        boolean reusePort = settings.getInstances() > 1;
+
+        if (!settings.getFraming().supports(settings.getCodec())) {
+            // coalesced datagrams are framed with the configured framing.
+            start.fail(new CoreRuntimeException(getFramingUnsupported(settings.getFraming(), settings.getCodec())));
+            return;
+        }
+        if (reusePort && !core.vertx().isNativeTransportEnabled() && warned.add(settings.getPort())) {
+            // logged once for all instances that are deployed on the port.
+            logger.log(getReusePortUnsupported(settings.getPort()), Level.WARNING);
+        }
+
+        DatagramSocketOptions options = new DatagramSocketOptions()
+                .setReuseAddress(reusePort)
+                .setReusePort(reusePort);
+
+        core.vertx().createDatagramSocket(options).listen(settings.getPort(), getBindAddress(), listen -> {
             if (listen.succeeded()) {
                 settings.addListenPort(listen.result().localAddress().port());
+                sender = new UdpSender(core, listen.result(), settings, logger);
                 listen.result()
                         .handler(this::handle)
                         .exceptionHandler(logger::onError);
@@ -63,12 +96,12 @@ public class UdpListener implements CoreListener, DeploymentAware {
     }
 
     private void handle(DatagramPacket connection) {
-        handler.handle(new UdpRequest(core, settings, connection));
+        handler.handle(new UdpRequest(sender, settings, connection));
     }
 
     @Override
     public int instances() {
-        return 1;
+        return settings.getInstances();
     }
 
     @Override
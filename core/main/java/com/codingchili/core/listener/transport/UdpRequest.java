@@ -4,10 +4,10 @@ import io.vertx.core.buffer.Buffer;
 import io.vertx.core.datagram.DatagramPacket;
 import io.vertx.core.json.JsonObject;
 
-import com.codingchili.core.context.CoreContext;
 import com.codingchili.core.listener.ListenerSettings;
 import com.codingchili.core.listener.Request;
-import com.codingchili.core.protocol.Response;
+import com.codingchili.core.listener.WireCodec;
+import com.codingchili.core.security.Token;
 
 import static com.codingchili.core.configuration.CoreStrings.PROTOCOL_CONNECTION;
 
@@ -18,15 +18,18 @@ public class UdpRequest implements Request {
     private Connection connection;
     private int size;
     private DatagramPacket packet;
-    private CoreContext context;
+    private UdpSender sender;
     private ListenerSettings settings;
     private JsonObject data;
+    private WireCodec codec;
+    private final RequestToken token = new RequestToken(this::data);
 
-    public UdpRequest(CoreContext context, ListenerSettings settings, DatagramPacket packet) {
+    public UdpRequest(UdpSender sender, ListenerSettings settings, DatagramPacket packet) {
         this.size = packet.data().length();
-        this.context = context;
+        this.sender = sender;
         this.settings = settings;
         this.packet = packet;
+        this.codec = WireCodec.detect(packet.data(), settings.getCodec());
     }
 
     @Override
@@ -39,18 +42,11 @@ public class UdpRequest implements Request {
 
         // only include the request headers when replying to a request - not on a connection.
         if (reflectHeaders) {
-            buffer = Response.buffer(target(), route(), message);
+            buffer = codec.encode(target(), route(), message);
         } else {
-            buffer = Response.buffer(message);
+            buffer = codec.encode(null, null, message);
         }
-        context.vertx().createDatagramSocket()
-                .send(buffer,
-                        packet.sender().port(),
-                        packet.sender().host(), sent -> {
-                            if (sent.failed()) {
-                                throw new RuntimeException(sent.cause());
-                            }
-                        });
+        sender.send(buffer, packet.sender());
     }
 
     @Override
@@ -65,11 +61,16 @@ public class UdpRequest implements Request {
     @Override
     public JsonObject data() {
         if (data == null) {
-            data = packet.data().toJsonObject();
+            data = codec.decode(packet.data());
         }
         return data;
     }
 
+    @Override
+    public Token token() {
+        return token.get();
+    }
+
     @Override
     public int timeout() {
         return settings.getTimeout();
@@ -0,0 +1,99 @@
+package com.codingchili.core.listener.transport;
+
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.datagram.DatagramSocket;
+import io.vertx.core.net.SocketAddress;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import com.codingchili.core.context.CoreContext;
+import com.codingchili.core.listener.ListenerSettings;
+import com.codingchili.core.listener.WireFraming;
+import com.codingchili.core.logging.Logger;
+
+/**
+ * Sends datagrams through the socket that the listener is bound to.
+ * <p>
+ * When a flush window is configured, messages to the same peer that are written
+ * within the window are framed and sent in a single datagram. Datagrams are
+ * flushed early when they would otherwise exceed the maximum datagram size.
+ */
+public class UdpSender {
+    // avoids fragmentation on common links.
+    public static final int MAX_DATAGRAM_BYTES = 1400;
+    private final Map<SocketAddress, Buffer> pending = new HashMap<>();
+    private final DatagramSocket socket;
+    private final ListenerSettings settings;
+    private final Context context;
+    private final Logger logger;
+    private final Vertx vertx;
+    private boolean scheduled = false;
+
+    /**
+     * @param core     the context that the listener is running on.
+     * @param socket   the socket that the listener is bound to.
+     * @param settings the settings of the listener.
+     * @param logger   logs failures to send.
+     */
+    public UdpSender(CoreContext core, DatagramSocket socket, ListenerSettings settings, Logger logger) {
+        this.vertx = core.vertx();
+        this.context = vertx.getOrCreateContext();
+        this.socket = socket;
+        this.settings = settings;
+        this.logger = logger;
+    }
+
+    /**
+     * @param message the message to send.
+     * @param peer    the address to send the message to.
+     */
+    public void send(Buffer message, SocketAddress peer) {
+        if (settings.getFlushWindow() > 0 && settings.getFraming() != WireFraming.NONE) {
+            if (Vertx.currentContext() == context) {
+                coalesce(message, peer);
+            } else {
+                context.runOnContext(v -> coalesce(message, peer));
+            }
+        } else {
+            write(message, peer);
+        }
+    }
+
+    private void coalesce(Buffer message, SocketAddress peer) {
+        Buffer framed = settings.getFraming().frame(message);
+        Buffer datagram = pending.get(peer);
+
+        if (datagram != null && datagram.length() + framed.length() > MAX_DATAGRAM_BYTES) {
+            write(pending.remove(peer), peer);
+            datagram = null;
+        }
+
+        if (datagram == null) {
+            pending.put(peer, framed);
+        } else {
+            datagram.appendBuffer(framed);
+        }
+
+        if (!scheduled) {
+            scheduled = true;
+            vertx.setTimer(settings.getFlushWindow(), timer -> flush());
+        }
+    }
+
+    private void flush() {
+        scheduled = false;
+        pending.forEach((peer, datagram) -> write(datagram, peer));
+        pending.clear();
+    }
+
+    private void write(Buffer datagram, SocketAddress peer) {
+        socket.send(datagram, peer.port(), peer.host(), sent -> {
+            if (sent.failed()) {
+                logger.onError(sent.cause());
+            }
+        });
+    }
+}
@@ -94,7 +94,8 @@ public class WebsocketListener implements CoreListener {
         boolean isBinary = settings.isBinaryWebsockets();
         return new Connection((msg) -> {
             Buffer buffer = Response.buffer(msg);
-            if (isBinary) {
+            // messages encoded with a binary codec cannot be written as text.
+            if (isBinary || WireCodec.detect(buffer, settings.getCodec()) != WireCodec.JSON) {
                 socket.write(buffer);
             } else {
                 socket.writeTextMessage(buffer.toString());
@@ -108,6 +109,7 @@ public class WebsocketListener implements CoreListener {
     }
 
     private void handle(Connection connection, Buffer buffer) {
+        connection.setCodec(WireCodec.detect(buffer, settings.getCodec()));
         var request = new WebsocketRequest(connection, buffer, settings);
 
         if (buffer.length() <= settings.getMaxRequestBytes()) {
@@ -6,7 +6,7 @@ import io.vertx.core.json.JsonObject;
 import com.codingchili.core.context.CoreRuntimeException;
 import com.codingchili.core.listener.ListenerSettings;
 import com.codingchili.core.listener.Request;
-import com.codingchili.core.protocol.Response;
+import com.codingchili.core.security.Token;
 
 /**
  * Websocket request object.
@@ -16,12 +16,13 @@ public class WebsocketRequest implements Request {
     private final Connection connection;
     private final JsonObject data;
     private final int size;
+    private final RequestToken token = new RequestToken(this::data);
 
     WebsocketRequest(Connection connection, Buffer buffer, ListenerSettings settings) {
         this.connection = connection;
         this.size = buffer.length();
         this.settings = settings;
-        this.data = buffer.toJsonObject();
+        this.data = connection.codec().decode(buffer);
     }
 
     @Override
@@ -32,7 +33,7 @@ public class WebsocketRequest implements Request {
     @Override
     public void write(Object object) {
         try {
-            connection.write(Response.buffer(target(), route(), object));
+            connection.write(connection.codec().encode(target(), route(), object));
         } catch (Exception e) {
             throw new CoreRuntimeException(e);
         }
@@ -43,6 +44,11 @@ public class WebsocketRequest implements Request {
         return data;
     }
 
+    @Override
+    public Token token() {
+        return token.get();
+    }
+
     @Override
     public int timeout() {
         return settings.getTimeout();
@@ -11,22 +11,36 @@ import java.util.logging.Handler;
 import java.util.logging.LogRecord;
 
 import com.codingchili.core.configuration.Environment;
+import com.codingchili.core.configuration.system.LauncherSettings;
 import com.codingchili.core.context.CoreContext;
 import com.codingchili.core.listener.CoreListener;
 import com.codingchili.core.listener.CoreService;
 
 import static com.codingchili.core.configuration.CoreStrings.*;
 import static com.codingchili.core.files.Configurations.launcher;
+import static com.codingchili.core.files.Configurations.system;
 import static com.codingchili.core.logging.Level.INFO;
 
 /**
  * Default logging implementation.
+ * <p>
+ * Events with a level that is disabled in the logging settings are not created,
+ * the fields that are static for the logger are resolved once the launcher
+ * configuration is loaded and metadata is added to events when they are sent.
+ * Metadata does not replace keys that are set on the event.
  */
 public abstract class AbstractLogger extends Handler implements Logger {
+    private static final String HOST = Environment.hostname().orElse(ID_UNDEFINED);
+    private static final LauncherSettings PLACEHOLDER = new LauncherSettings();
     protected Map<String, Consumer<JsonObject>> metadata = new HashMap<>();
     protected CoreContext context;
     protected JsonLogger logger;
     protected Class aClass;
+    private final LogMessage disabled = new LogMessage(this, null);
+    private String application;
+    private String version;
+    private String source;
+    private boolean resolved = false;
 
     public AbstractLogger(CoreContext context, Class aClass) {
         this.context = context;
@@ -68,28 +82,57 @@ public abstract class AbstractLogger extends Handler implements Logger {
         return event(name, INFO);
     }
 
+    @Override
+    public boolean isEnabled(LogLevel level) {
+        return !system().getLogging().getDisabled().contains(level.getName());
+    }
+
     @Override
     public LogMessage event(String name, LogLevel level) {
+        if (!isEnabled(level)) {
+            return disabled;
+        }
+        if (!resolved) {
+            resolve();
+        }
         JsonObject event = new JsonObject()
                 .put(LOG_EVENT, name)
                 .put(LOG_LEVEL, level.getName())
-                .put(LOG_TIME, Instant.now().toEpochMilli());
-        addMetadata(event);
+                .put(LOG_TIME, Instant.now().toEpochMilli())
+                .put(LOG_HOST, HOST)
+                .put(LOG_APPLICATION, application)
+                .put(LOG_SOURCE, source)
+                .put(LOG_VERSION, version);
         return new LogMessage(this, event);
     }
 
+    private void resolve() {
+        // loggers are created while configurations are loading, the launcher settings
+        // are resolved on each event until they are no longer the placeholder values.
+        LauncherSettings launcher = launcher();
+        application = launcher.getApplication();
+        version = launcher.getVersion();
+        source = aClass.getSimpleName();
+        resolved = !PLACEHOLDER.getApplication().equals(application) ||
+                !PLACEHOLDER.getVersion().equals(version);
+    }
+
     /**
-     * Adds metadata to logging events generated by the logger.
+     * Adds metadata to logging events generated by the logger, called when the
+     * event is sent. Keys that are already set on the event are not replaced.
      *
      * @param event the log event to add metadata to.
      */
-    private void addMetadata(JsonObject event) {
-        event.put(LOG_HOST, Environment.hostname().orElse(ID_UNDEFINED))
-                .put(LOG_APPLICATION, launcher().getApplication())
-                .put(LOG_SOURCE, aClass.getSimpleName())
-                .put(LOG_VERSION, launcher().getVersion());
-
-        metadata.values().forEach(consumer -> consumer.accept(event));
+    void addMetadata(JsonObject event) {
+        if (!metadata.isEmpty()) {
+            JsonObject values = new JsonObject();
+            metadata.values().forEach(consumer -> consumer.accept(values));
+            values.forEach(entry -> {
+                if (!event.containsKey(entry.getKey())) {
+                    event.put(entry.getKey(), entry.getValue());
+                }
+            });
+        }
     }
 
     @Override
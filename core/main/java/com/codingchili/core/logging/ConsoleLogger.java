@@ -6,45 +6,58 @@ import org.fusesource.jansi.AnsiConsole;
 
 import java.time.Instant;
 import java.util.*;
-import java.util.concurrent.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.function.Consumer;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
+import com.codingchili.core.configuration.system.LoggingSettings;
 import com.codingchili.core.context.CoreContext;
 
 import static com.codingchili.core.configuration.CoreStrings.*;
+import static com.codingchili.core.files.Configurations.system;
 import static org.fusesource.jansi.Ansi.ansi;
 
 /**
  * Implementation of a console logger, filters some key/value combinations to better display the messages.
+ * <p>
+ * Lines are written by a single writer thread shared by all console loggers, see
+ * {@link LoggingSettings#getConsoleCapacity()} and {@link LoggingSettings#getConsoleOverflow()}.
  */
 public class ConsoleLogger extends AbstractLogger implements StringLogger {
-    private static final int FLUSH_TIMEOUT_MS = 16;
+    private static final Map<LogLevel, String> styles = new ConcurrentHashMap<>();
+    private static final String RESET = ansi().reset().toString();
+    private static final String TIMESTAMP = ansi().fgBright(Ansi.Color.MAGENTA).toString();
+    private static final String[] HIDDEN_TAGS = Arrays.stream(LOG_HIDDEN_TAGS)
+            .map(tag -> "[" + tag + "]")
+            .toArray(String[]::new);
+    private static final Pattern HIDDEN_PATTERN = Pattern.compile(" ?\\[(" + Arrays.stream(LOG_HIDDEN_TAGS)
+            .map(Pattern::quote)
+            .collect(Collectors.joining("|")) + ")\\] ?");
+    private static volatile ConsoleWriter writer;
     private final AtomicBoolean enabled = new AtomicBoolean(true);
     private static final Set<String> filtered = new HashSet<>(Arrays.asList(
             ID_TOKEN, LOG_EVENT, LOG_APPLICATION, LOG_CONTEXT, LOG_HOST, LOG_VERSION
     ));
 
-    private static final ExecutorService executor = Executors.newSingleThreadExecutor(new ThreadFactory() {
-        @Override
-        public Thread newThread(Runnable runnable) {
-            Thread thread = new Thread(runnable);
-            thread.setName(getClass().getName());
-            thread.setDaemon(true);
-            return thread;
-        }
-    });
-
+    /**
+     * Writes all queued lines, lines logged after the console logger is closed
+     * are written synchronously.
+     */
     @Override
     public void close() throws SecurityException {
-        executor.shutdownNow().forEach(Runnable::run);
-        try {
-            // ensures that pending tasks are completed before any synchronous events
-            // are submitted after the executor has shut down.
-            Thread.sleep(FLUSH_TIMEOUT_MS);
-        } catch (InterruptedException e) {
-            onError(e);
+        writer().close();
+    }
+
+    private static ConsoleWriter writer() {
+        if (writer == null) {
+            synchronized (ConsoleLogger.class) {
+                if (writer == null) {
+                    writer = new ConsoleWriter(system().getLogging().getConsoleCapacity());
+                }
+            }
         }
+        return writer;
     }
 
     /**
@@ -81,10 +94,6 @@ public class ConsoleLogger extends AbstractLogger implements StringLogger {
         return this;
     }
 
-    private Consumer<JsonObject> log = (json) -> {
-        write(parseJsonLog(json, consume(json, LOG_EVENT)));
-    };
-
     /**
      * @return a set of keys that will not be printed to the console.
      */
@@ -95,59 +104,80 @@ public class ConsoleLogger extends AbstractLogger implements StringLogger {
     @Override
     public Logger log(JsonObject data) {
         if (enabled.get()) {
-            if (executor.isShutdown()) {
-                log.accept(data);
-            } else {
-                executor.submit(() -> log.accept(data));
-            }
+            writer().write(() -> hideTags(parseJsonLog(data, consume(data, LOG_EVENT))),
+                    system().getLogging().getConsoleOverflow());
         }
         return this;
     }
 
-    private void write(String line) {
-        line = replaceTags(line, LOG_HIDDEN_TAGS);
-        AnsiConsole.out().println(line);
-        AnsiConsole.out().flush();
+    private static String hideTags(String line) {
+        for (String tag : HIDDEN_TAGS) {
+            if (line.contains(tag)) {
+                return HIDDEN_PATTERN.matcher(line).replaceAll("");
+            }
+        }
+        return line;
+    }
+
+    /**
+     * @param level the level to get the ansi escape sequence of.
+     * @return the escape sequence that applies the style of the level, cached
+     * as the style is applied multiple times for each line.
+     */
+    private static String style(LogLevel level) {
+        if (Ansi.isEnabled()) {
+            return styles.computeIfAbsent(level, key -> key.apply(ansi()).toString());
+        } else {
+            return "";
+        }
+    }
+
+    private static String reset() {
+        return (Ansi.isEnabled()) ? RESET : "";
+    }
+
+    /**
+     * Clears the cached style of a level, must be called when the style changes.
+     *
+     * @param level the level that was changed.
+     */
+    static void restyle(LogLevel level) {
+        styles.remove(level);
     }
 
     private static final int SPACES = 15;
     protected String parseJsonLog(JsonObject data, String event) {
         LogLevel level = consumeLevel(data);
         String message = consume(data, LOG_MESSAGE);
-
-        Ansi ansi = ansi().reset();
-
-        level.apply(ansi)
-                .a(level.getName())
-                .reset()
-                .a("\t[")
-                .fgBright(Ansi.Color.MAGENTA)
-                .a(consumeTimestamp(data))
-                .reset()
-                .a("] ")
-                .a((hasValue(event)) ? pad(event, SPACES) : "")
-                .a(" [");
-
-        level.apply(ansi)
-                .a(pad(consume(data, LOG_SOURCE), SPACES))
-                .reset()
-                .a("]");
+        String style = style(level);
+        String reset = reset();
+
+        StringBuilder line = new StringBuilder(128)
+                .append(reset)
+                .append(style).append(level.getName()).append(reset)
+                .append("\t[")
+                .append((Ansi.isEnabled()) ? TIMESTAMP : "").append(consumeTimestamp(data)).append(reset)
+                .append("] ")
+                .append((hasValue(event)) ? pad(event, SPACES) : "")
+                .append(" [")
+                .append(style).append(pad(consume(data, LOG_SOURCE), SPACES)).append(reset)
+                .append("]");
 
         if (hasValue(message)) {
-            ansi.a(" ").a(message);
+            line.append(" ").append(message);
         }
 
         data.forEach(entry -> {
             if (entry.getValue() != null && !filtered.contains(entry.getKey())) {
-                level.apply(ansi)
-                        .a(" ")
-                        .a(entry.getKey())
-                        .reset()
-                        .a("=")
-                        .a(entry.getValue().toString());
+                line.append(style)
+                        .append(" ")
+                        .append(entry.getKey())
+                        .append(reset)
+                        .append("=")
+                        .append(entry.getValue().toString());
             }
         });
-        return ansi.reset().toString();
+        return line.append(reset).toString();
     }
 
     private static boolean hasValue(String text) {
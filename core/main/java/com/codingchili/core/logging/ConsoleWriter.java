@@ -0,0 +1,170 @@
+package com.codingchili.core.logging;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.SharedMetricRegistries;
+import io.vertx.core.Context;
+import org.fusesource.jansi.AnsiConsole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import com.codingchili.core.metrics.MetricSettings;
+
+/**
+ * Writes log lines to the console from a single thread. Lines are queued in a
+ * bounded queue by any number of logging threads, the writer drains the queue
+ * in batches and writes each batch to the console with a single flush.
+ * <p>
+ * Lines are formatted on the writer thread, when the queue is full the line is
+ * handled by the given {@link OverflowPolicy}. Dropped lines are counted in the
+ * {@link #METRIC_DROPPED} counter and the number of times a logging thread had
+ * to wait for the writer is counted in {@link #METRIC_BLOCKED}.
+ */
+class ConsoleWriter {
+    static final String METRIC_DROPPED = "logging.console.dropped";
+    static final String METRIC_BLOCKED = "logging.console.blocked";
+    private static final int BATCH_SIZE = 256;
+    private static final int FLUSH_TIMEOUT_MS = 250;
+    private final BlockingQueue<Supplier<String>> queue;
+    private final Consumer<CharSequence> output;
+    private final Counter dropped;
+    private final Counter blocked;
+    private final Thread thread;
+    private volatile boolean closed = false;
+
+    /**
+     * @param capacity the maximum number of queued lines.
+     */
+    ConsoleWriter(int capacity) {
+        this(capacity, text -> {
+            AnsiConsole.out().print(text);
+            AnsiConsole.out().flush();
+        });
+    }
+
+    /**
+     * @param capacity the maximum number of queued lines.
+     * @param output   receives each batch of lines.
+     */
+    ConsoleWriter(int capacity, Consumer<CharSequence> output) {
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.output = output;
+
+        var registry = SharedMetricRegistries.getOrCreate(MetricSettings.REGISTRY_NAME);
+        this.dropped = registry.counter(METRIC_DROPPED);
+        this.blocked = registry.counter(METRIC_BLOCKED);
+
+        this.thread = new Thread(this::run);
+        thread.setName(getClass().getName());
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Queues a line to be written, the line is written on the calling thread if
+     * the writer is closed.
+     *
+     * @param line   formats the line to write, called on the writer thread.
+     * @param policy determines how the line is handled when the queue is full.
+     */
+    void write(Supplier<String> line, OverflowPolicy policy) {
+        if (closed) {
+            List<Supplier<String>> batch = new ArrayList<>(1);
+            batch.add(line);
+            print(batch);
+        } else if (!queue.offer(line)) {
+            overflow(line, policy);
+        }
+    }
+
+    private void overflow(Supplier<String> line, OverflowPolicy policy) {
+        if (policy == OverflowPolicy.BLOCK && Context.isOnEventLoopThread()) {
+            // blocking would stall every handler on the event loop.
+            policy = OverflowPolicy.DROP_OLDEST;
+        }
+        switch (policy) {
+            case BLOCK:
+                blocked.inc();
+                try {
+                    queue.put(line);
+                } catch (InterruptedException e) {
+                    dropped.inc();
+                    Thread.currentThread().interrupt();
+                }
+                break;
+            case DROP_OLDEST:
+                while (!queue.offer(line)) {
+                    if (queue.poll() != null) {
+                        dropped.inc();
+                    }
+                }
+                break;
+            case DROP_NEW:
+                dropped.inc();
+                break;
+        }
+    }
+
+    private void run() {
+        List<Supplier<String>> batch = new ArrayList<>(BATCH_SIZE);
+
+        while (!closed) {
+            try {
+                batch.add(queue.take());
+                queue.drainTo(batch, BATCH_SIZE - 1);
+                print(batch);
+            } catch (InterruptedException e) {
+                break;
+            }
+        }
+    }
+
+    private synchronized void print(List<Supplier<String>> batch) {
+        StringBuilder text = new StringBuilder();
+
+        for (Supplier<String> line : batch) {
+            try {
+                text.append(line.get()).append(System.lineSeparator());
+            } catch (RuntimeException e) {
+                // a line that fails to format is skipped to keep the writer alive.
+                dropped.inc();
+            }
+        }
+        batch.clear();
+
+        if (text.length() > 0) {
+            output.accept(text);
+        }
+    }
+
+    /**
+     * Stops the writer thread and writes all queued lines, subsequent lines
+     * are written synchronously.
+     */
+    void close() {
+        if (!closed) {
+            closed = true;
+            thread.interrupt();
+            try {
+                thread.join(FLUSH_TIMEOUT_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            List<Supplier<String>> remaining = new ArrayList<>();
+            queue.drainTo(remaining);
+            print(remaining);
+        }
+    }
+
+    /**
+     * @return true if the writer is closed and lines are written synchronously.
+     */
+    boolean isClosed() {
+        return closed;
+    }
+}
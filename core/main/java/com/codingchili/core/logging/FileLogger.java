@@ -0,0 +1,251 @@
+package com.codingchili.core.logging;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.SharedMetricRegistries;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.json.jackson.JacksonCodec;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import com.codingchili.core.configuration.CoreStrings;
+import com.codingchili.core.context.CoreContext;
+import com.codingchili.core.context.CoreRuntimeException;
+import com.codingchili.core.context.TimerSource;
+import com.codingchili.core.metrics.MetricSettings;
+import com.codingchili.core.protocol.Serializer;
+
+/**
+ * A logger that appends events as newline-delimited json to a local file.
+ * <p>
+ * Events are buffered in memory and written with a single write, and optionally
+ * a single sync, for all events buffered within the commit interval. The active
+ * segment is rolled when it exceeds the segment size or the roll interval, rolled
+ * segments are compressed in the background.
+ * <p>
+ * Events that fail to be written are retained and retried on the next commit, at
+ * most one segment of events is retained. Events that are discarded are counted
+ * in the {@value #METRIC_DROPPED} metric.
+ * <p>
+ * A single instance should be used for each log name, the active segment is
+ * appended to when the logger is created.
+ */
+public class FileLogger implements JsonLogger {
+    private static final String EXTENSION = ".log";
+    private static final String COMPRESSED = ".gz";
+    // encodes without the shared object mapper which is configured for pretty printing.
+    private static final JacksonCodec CODEC = new JacksonCodec();
+    static final String METRIC_DROPPED = "logging.file.dropped";
+    private final Counter dropped = SharedMetricRegistries
+            .getOrCreate(MetricSettings.REGISTRY_NAME).counter(METRIC_DROPPED);
+    private final AtomicBoolean scheduled = new AtomicBoolean(false);
+    private final Object writer = new Object();
+    private final FileLoggerSettings settings;
+    private final CoreContext core;
+    private final TimerSource timer;
+    private final Path directory;
+    private final Path active;
+    private ByteArrayOutputStream pending = new ByteArrayOutputStream();
+    private FileChannel channel;
+    private long opened;
+    private boolean closed = false;
+
+    /**
+     * @param core     the context to schedule commits and compression on.
+     * @param settings settings for the log location, segments and commits.
+     */
+    public FileLogger(CoreContext core, FileLoggerSettings settings) {
+        this.core = core;
+        this.settings = settings;
+        this.directory = Paths.get(settings.getDirectory());
+        this.active = directory.resolve(settings.getName() + EXTENSION);
+        open();
+
+        this.timer = TimerSource.of(settings::getCommitInterval)
+                .setName(getClass().getSimpleName());
+        core.periodic(timer, id -> schedule());
+    }
+
+    private void open() {
+        try {
+            Files.createDirectories(directory);
+            channel = FileChannel.open(active,
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            opened = System.currentTimeMillis();
+        } catch (IOException e) {
+            throw new CoreRuntimeException(CoreStrings.getFileWriteError(active.toString()), e);
+        }
+    }
+
+    @Override
+    public JsonLogger log(JsonObject data) {
+        byte[] line = CODEC.toBuffer(data, false).getBytes();
+        boolean full;
+
+        synchronized (this) {
+            if (closed) {
+                return this;
+            }
+            pending.write(line, 0, line.length);
+            pending.write('\n');
+            full = pending.size() >= settings.getCommitSize();
+        }
+
+        if (full) {
+            schedule();
+        }
+        return this;
+    }
+
+    private void schedule() {
+        if (scheduled.compareAndSet(false, true)) {
+            core.blocking(promise -> {
+                scheduled.set(false);
+                commit();
+                promise.complete();
+            }, false, done -> {
+                if (done.failed()) {
+                    core.logger(getClass()).onError(done.cause());
+                }
+            });
+        }
+    }
+
+    /**
+     * Writes all buffered events to the active segment, blocks the calling thread.
+     */
+    public void commit() {
+        // commits are serialized to keep the order of events across commits.
+        synchronized (writer) {
+            ByteBuffer buffer;
+
+            synchronized (this) {
+                if (pending.size() == 0 || channel == null) {
+                    return;
+                }
+                buffer = ByteBuffer.wrap(pending.toByteArray());
+                pending = new ByteArrayOutputStream(buffer.remaining());
+            }
+            try {
+                if (!channel.isOpen()) {
+                    // the segment could not be reopened after a failed commit.
+                    open();
+                }
+                if (channel.size() > 0 && (channel.size() + buffer.remaining() > settings.getSegmentSize() ||
+                        System.currentTimeMillis() - opened > settings.getRollInterval())) {
+                    roll();
+                }
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                if (settings.isSync()) {
+                    channel.force(false);
+                }
+            } catch (IOException | CoreRuntimeException e) {
+                retain(buffer);
+                throw new CoreRuntimeException(CoreStrings.getFileWriteError(active.toString()), e);
+            }
+        }
+    }
+
+    /**
+     * Places the bytes of a failed commit that were not written in front of the
+     * pending events, to be retried on the next commit.
+     *
+     * @param buffer the buffer of the failed commit.
+     */
+    private synchronized void retain(ByteBuffer buffer) {
+        if (buffer.remaining() + pending.size() > settings.getSegmentSize()) {
+            // an event that was partially written is counted as dropped.
+            byte[] lines = buffer.array();
+            for (int i = buffer.position(); i < lines.length; i++) {
+                if (lines[i] == '\n') {
+                    dropped.inc();
+                }
+            }
+        } else {
+            ByteArrayOutputStream retained = new ByteArrayOutputStream(buffer.remaining() + pending.size());
+            retained.write(buffer.array(), buffer.position(), buffer.remaining());
+            retained.write(pending.toByteArray(), 0, pending.size());
+            pending = retained;
+        }
+    }
+
+    private void roll() throws IOException {
+        Path segment = segment(System.currentTimeMillis());
+        channel.close();
+        try {
+            Files.move(active, segment);
+        } finally {
+            // the active segment is appended to if it could not be moved.
+            open();
+        }
+
+        if (settings.isCompress()) {
+            core.blocking(promise -> {
+                compress(segment);
+                promise.complete();
+            }, false, done -> {
+                if (done.failed()) {
+                    core.logger(getClass()).onError(done.cause());
+                }
+            });
+        }
+    }
+
+    private Path segment(long time) {
+        Path segment;
+        // segments rolled within the same millisecond are given the next free name.
+        do {
+            segment = directory.resolve(String.format("%s-%d%s", settings.getName(), time++, EXTENSION));
+        } while (Files.exists(segment) || Files.exists(Paths.get(segment + COMPRESSED)));
+        return segment;
+    }
+
+    private static void compress(Path segment) {
+        try {
+            Path compressed = Paths.get(segment + COMPRESSED);
+            Files.write(compressed, Serializer.gzip(Files.readAllBytes(segment)));
+            Files.delete(segment);
+        } catch (IOException e) {
+            throw new CoreRuntimeException(CoreStrings.getFileWriteError(segment.toString()), e);
+        }
+    }
+
+    /**
+     * @return the path to the segment that is currently written to.
+     */
+    public Path getActiveSegment() {
+        return active;
+    }
+
+    /**
+     * Writes all buffered events and closes the active segment, events logged
+     * after the logger is closed are discarded. Blocks the calling thread.
+     */
+    public void close() {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+        }
+        timer.terminate();
+        try {
+            commit();
+        } finally {
+            synchronized (writer) {
+                try {
+                    channel.close();
+                    channel = null;
+                } catch (IOException e) {
+                    throw new CoreRuntimeException(CoreStrings.getFileWriteError(active.toString()), e);
+                }
+            }
+        }
+    }
+}
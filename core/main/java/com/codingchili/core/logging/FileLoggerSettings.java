@@ -0,0 +1,145 @@
+package com.codingchili.core.logging;
+
+/**
+ * Contains settings for the {@link FileLogger}.
+ */
+public class FileLoggerSettings {
+    private String directory = "logs";
+    private String name = "node";
+    private long segmentSize = 16 * 1024 * 1024;
+    private long rollInterval = 60 * 60 * 1000;
+    private int commitInterval = 100;
+    private int commitSize = 256 * 1024;
+    private boolean sync = false;
+    private boolean compress = true;
+
+    /**
+     * @return the directory in which log segments are written.
+     */
+    public String getDirectory() {
+        return directory;
+    }
+
+    /**
+     * @param directory the directory in which log segments are written.
+     * @return fluent
+     */
+    public FileLoggerSettings setDirectory(String directory) {
+        this.directory = directory;
+        return this;
+    }
+
+    /**
+     * @return the name of the log, the active segment is named {name}.log.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @param name the name of the log, used as a prefix for all segments.
+     * @return fluent
+     */
+    public FileLoggerSettings setName(String name) {
+        this.name = name;
+        return this;
+    }
+
+    /**
+     * @return the size in bytes at which the active segment is rolled.
+     */
+    public long getSegmentSize() {
+        return segmentSize;
+    }
+
+    /**
+     * @param segmentSize the size in bytes at which the active segment is rolled.
+     * @return fluent
+     */
+    public FileLoggerSettings setSegmentSize(long segmentSize) {
+        this.segmentSize = segmentSize;
+        return this;
+    }
+
+    /**
+     * @return the age in MS at which the active segment is rolled.
+     */
+    public long getRollInterval() {
+        return rollInterval;
+    }
+
+    /**
+     * @param rollInterval the age in MS at which the active segment is rolled.
+     * @return fluent
+     */
+    public FileLoggerSettings setRollInterval(long rollInterval) {
+        this.rollInterval = rollInterval;
+        return this;
+    }
+
+    /**
+     * @return the interval in MS in which buffered events are written.
+     */
+    public int getCommitInterval() {
+        return commitInterval;
+    }
+
+    /**
+     * @param commitInterval the interval in MS in which buffered events are written.
+     * @return fluent
+     */
+    public FileLoggerSettings setCommitInterval(int commitInterval) {
+        this.commitInterval = commitInterval;
+        return this;
+    }
+
+    /**
+     * @return the number of buffered bytes that triggers a write before the commit interval.
+     */
+    public int getCommitSize() {
+        return commitSize;
+    }
+
+    /**
+     * @param commitSize the number of buffered bytes that triggers a write before
+     *                   the commit interval expires.
+     * @return fluent
+     */
+    public FileLoggerSettings setCommitSize(int commitSize) {
+        this.commitSize = commitSize;
+        return this;
+    }
+
+    /**
+     * @return true if each commit is forced to the storage device.
+     */
+    public boolean isSync() {
+        return sync;
+    }
+
+    /**
+     * @param sync true to force each commit to the storage device, the cost of
+     *             the sync is shared by all events in the commit.
+     * @return fluent
+     */
+    public FileLoggerSettings setSync(boolean sync) {
+        this.sync = sync;
+        return this;
+    }
+
+    /**
+     * @return true if rolled segments are compressed with gzip.
+     */
+    public boolean isCompress() {
+        return compress;
+    }
+
+    /**
+     * @param compress true if rolled segments are compressed with gzip.
+     * @return fluent
+     */
+    public FileLoggerSettings setCompress(boolean compress) {
+        this.compress = compress;
+        return this;
+    }
+}
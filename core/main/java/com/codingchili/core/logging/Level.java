@@ -23,6 +23,7 @@ public enum Level implements LogLevel {
      */
     public void setColor(Ansi.Color color) {
         this.color = color;
+        ConsoleLogger.restyle(this);
     }
 
     Level(Ansi.Color color) {
@@ -0,0 +1,142 @@
+package com.codingchili.core.logging;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.SharedMetricRegistries;
+import io.vertx.core.Context;
+import io.vertx.core.eventbus.DeliveryOptions;
+import io.vertx.core.impl.VertxInternal;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.shareddata.Shareable;
+
+import java.nio.charset.StandardCharsets;
+
+import com.codingchili.core.configuration.system.LoggingSettings;
+import com.codingchili.core.context.CoreContext;
+import com.codingchili.core.context.CoreRuntimeException;
+import com.codingchili.core.context.TimerSource;
+import com.codingchili.core.metrics.MetricSettings;
+import com.codingchili.core.protocol.Serializer;
+
+import static com.codingchili.core.configuration.CoreStrings.*;
+
+/**
+ * Buffers log events in a bounded ring that is shared by all remote loggers of
+ * a vertx instance. The buffered events are sent to the logging node as a single
+ * gzipped batch when the batch size is reached or when the flush interval expires.
+ * <p>
+ * The buffer is created with the settings of the first logger that uses it. Its
+ * flush timer is scheduled on a context owned by the buffer, so that the timer is
+ * not cancelled when the deployment of the first logger is undeployed.
+ * <p>
+ * When the buffer is filled beyond three quarters of its capacity events with
+ * a level configured to be shed are dropped, when the buffer is full all events
+ * are dropped. Dropped events are counted in the {@link #METRIC_DROPPED} counter.
+ * <p>
+ * Events are encoded when added as the console logger consumes the fields of
+ * events that it prints.
+ */
+class LogBuffer implements Shareable {
+    static final String METRIC_DROPPED = "logging.remote.dropped";
+    private static final String BUFFERS = "logging.remote.buffers";
+    private final DeliveryOptions options = new DeliveryOptions().setSendTimeout(8000);
+    private final LoggingSettings settings;
+    private final CoreContext context;
+    private final Counter dropped;
+    private final String[] ring;
+    private int head = 0;
+    private int size = 0;
+
+    private LogBuffer(CoreContext context, LoggingSettings settings) {
+        if (settings.getBatchSize() < 1 || settings.getCapacity() < settings.getBatchSize()) {
+            throw new CoreRuntimeException(getLoggingBufferInvalid(settings.getCapacity(), settings.getBatchSize()));
+        }
+        this.context = context;
+        this.settings = settings;
+        this.ring = new String[settings.getCapacity()];
+        this.dropped = SharedMetricRegistries.getOrCreate(MetricSettings.REGISTRY_NAME)
+                .counter(METRIC_DROPPED);
+
+        // a context that is not part of any deployment, timers are cancelled on undeploy.
+        Context owned = ((VertxInternal) context.vertx()).createEventLoopContext();
+        owned.runOnContext(v -> context.periodic(TimerSource.of(settings::getFlushInterval)
+                .setName(getClass().getSimpleName()), timer -> flush()));
+    }
+
+    /**
+     * @param context  the context whose vertx instance the buffer is shared in.
+     * @param settings settings used when the buffer is created.
+     * @return the buffer shared by all loggers of the vertx instance.
+     */
+    static LogBuffer get(CoreContext context, LoggingSettings settings) {
+        return context.vertx().sharedData().<String, LogBuffer>getLocalMap(BUFFERS)
+                .computeIfAbsent(BUFFERS, key -> new LogBuffer(context, settings));
+    }
+
+    /**
+     * @param event the event to buffer.
+     */
+    void add(JsonObject event) {
+        String encoded = event.encode();
+        boolean full;
+
+        synchronized (this) {
+            if (size == ring.length || (size * 4 >= ring.length * 3 && isShed(event))) {
+                dropped.inc();
+                return;
+            }
+            ring[(head + size) % ring.length] = encoded;
+            full = ++size >= settings.getBatchSize();
+        }
+
+        if (full) {
+            flush();
+        }
+    }
+
+    private boolean isShed(JsonObject event) {
+        return settings.getShed().contains(event.getString(LOG_LEVEL));
+    }
+
+    /**
+     * Sends all buffered events.
+     */
+    void flush() {
+        StringBuilder batch = new StringBuilder();
+        int count;
+
+        while ((count = drain(batch)) > 0) {
+            context.bus().send(NODE_LOGGING, new JsonObject()
+                    .put(PROTOCOL_ROUTE, PROTOCOL_LOGGING_BATCH)
+                    .put(PROTOCOL_TARGET, NODE_LOGGING)
+                    .put(ID_COUNT, count)
+                    .put(PROTOCOL_MESSAGE, Serializer.gzip(
+                            batch.toString().getBytes(StandardCharsets.UTF_8))), options);
+            batch.setLength(0);
+        }
+    }
+
+    /**
+     * Removes buffered events and appends them to the given builder as a json array.
+     *
+     * @param batch the builder to append events to.
+     * @return the number of events appended.
+     */
+    private synchronized int drain(StringBuilder batch) {
+        int count = Math.min(size, settings.getBatchSize());
+
+        if (count > 0) {
+            batch.append('[');
+            for (int i = 0; i < count; i++) {
+                if (i > 0) {
+                    batch.append(',');
+                }
+                batch.append(ring[head]);
+                ring[head] = null;
+                head = (head + 1) % ring.length;
+            }
+            batch.append(']');
+            size -= count;
+        }
+        return count;
+    }
+}
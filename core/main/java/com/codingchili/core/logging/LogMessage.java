@@ -8,7 +8,7 @@ import static com.codingchili.core.configuration.CoreStrings.*;
  * Helper class to construct logging messages.
  */
 public class LogMessage {
-    private Logger logger;
+    private AbstractLogger logger;
     private JsonObject event;
 
     /**
@@ -16,7 +16,8 @@ public class LogMessage {
      * from the #{@link AbstractLogger} implementation using the #{@link Logger#event} method.
      *
      * @param logger the logger on which to send the final message.
-     * @param event  the type of event in the log message.
+     * @param event  the type of event in the log message, all operations are
+     *               ignored when null as the level of the event is disabled.
      */
     LogMessage(AbstractLogger logger, JsonObject event) {
         this.event = event;
@@ -28,7 +29,9 @@ public class LogMessage {
      * @return fluent
      */
     public LogMessage level(Level level) {
-        event.put(LOG_LEVEL, level);
+        if (event != null) {
+            event.put(LOG_LEVEL, level);
+        }
         return this;
     }
 
@@ -40,17 +43,23 @@ public class LogMessage {
      * @return fluent
      */
     public LogMessage put(String key, Object value) {
-        event.put(key, value);
+        if (event != null) {
+            event.put(key, value);
+        }
         return this;
     }
 
     /**
-     * Commits the logging message.
+     * Commits the logging message, metadata from the logger is added to the event
+     * for keys that are not already set.
      *
      * @return the logger that was used to send the message.
      */
     public Logger send() {
-        logger.log(event);
+        if (event != null) {
+            logger.addMetadata(event);
+            logger.log(event);
+        }
         return logger;
     }
 
@@ -61,17 +70,18 @@ public class LogMessage {
      * @return the logger that was used to send the message.
      */
     public Logger send(String message) {
-        event.put(LOG_MESSAGE, message);
-        logger.log(event);
-        return logger;
+        put(LOG_MESSAGE, message);
+        return send();
     }
 
     /**
-     * Converts the logging event into a json object.
+     * Converts the logging event into a json object, metadata is not included
+     * until the message is sent.
      *
      * @return a json object representing the logging event.
      */
     public JsonObject toJson() {
-        return event;
+        // the message of a disabled event is reused and must not be modified.
+        return (event == null) ? new JsonObject() : event;
     }
 }
@@ -13,6 +13,15 @@ import com.codingchili.core.listener.CoreService;
  */
 public interface Logger extends JsonLogger, StringLogger {
 
+    /**
+     * @param level the level to check.
+     * @return true if events with the given level are logged, events with
+     * a disabled level are discarded without being created.
+     */
+    default boolean isEnabled(LogLevel level) {
+        return true;
+    }
+
     /**
      * Creates a logging event using the loggers level.
      *
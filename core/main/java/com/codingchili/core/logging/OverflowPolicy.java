@@ -0,0 +1,22 @@
+package com.codingchili.core.logging;
+
+/**
+ * Determines what happens to a log line when the console writer queue is full.
+ */
+public enum OverflowPolicy {
+    /**
+     * The logging thread waits until there is space in the queue. Lines logged
+     * on an event loop thread are handled as {@link #DROP_OLDEST} instead.
+     */
+    BLOCK,
+
+    /**
+     * The oldest queued line is dropped to make room for the new line.
+     */
+    DROP_OLDEST,
+
+    /**
+     * The new line is dropped.
+     */
+    DROP_NEW
+}
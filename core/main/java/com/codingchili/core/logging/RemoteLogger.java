@@ -1,31 +1,57 @@
 package com.codingchili.core.logging;
 
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.eventbus.DeliveryOptions;
+import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 
+import com.codingchili.core.configuration.system.LoggingSettings;
 import com.codingchili.core.context.CoreContext;
 import com.codingchili.core.files.Configurations;
+import com.codingchili.core.protocol.Serializer;
 
 import static com.codingchili.core.configuration.CoreStrings.*;
 
 /**
  * A logger that logs to a remote host.
+ * <p>
+ * When batching is enabled in {@link LoggingSettings} events are buffered and sent
+ * in gzipped batches with the route {@link com.codingchili.core.configuration.CoreStrings#PROTOCOL_LOGGING_BATCH},
+ * use {@link #unpack(JsonObject)} to read the events of a batch.
  */
 public class RemoteLogger extends AbstractLogger {
     private DeliveryOptions options = new DeliveryOptions().setSendTimeout(8000);
     private ConsoleLogger console = new ConsoleLogger(aClass);
+    private LogBuffer buffer;
 
     public RemoteLogger(CoreContext context, Class aClass) {
         super(context, aClass);
         this.context = context;
+
+        LoggingSettings settings = Configurations.system().getLogging();
+        if (settings.isBatching()) {
+            this.buffer = LogBuffer.get(context, settings);
+        }
+    }
+
+    /**
+     * @param batch a batch message sent by a remote logger.
+     * @return the log events in the batch.
+     */
+    public static JsonArray unpack(JsonObject batch) {
+        return new JsonArray(Buffer.buffer(Serializer.ungzip(batch.getBinary(PROTOCOL_MESSAGE))));
     }
 
     @Override
     public Logger log(JsonObject data) {
-        context.bus().send(NODE_LOGGING, new JsonObject()
-                .put(PROTOCOL_ROUTE, PROTOCOL_LOGGING)
-                .put(PROTOCOL_TARGET, NODE_LOGGING)
-                .put(PROTOCOL_MESSAGE, data), options);
+        if (buffer != null) {
+            buffer.add(data);
+        } else {
+            context.bus().send(NODE_LOGGING, new JsonObject()
+                    .put(PROTOCOL_ROUTE, PROTOCOL_LOGGING)
+                    .put(PROTOCOL_TARGET, NODE_LOGGING)
+                    .put(PROTOCOL_MESSAGE, data), options);
+        }
 
         if (Configurations.system().isConsoleLogging()) {
             console.log(data);
@@ -33,8 +59,16 @@ public class RemoteLogger extends AbstractLogger {
         return this;
     }
 
+    @Override
+    public void flush() {
+        if (buffer != null) {
+            buffer.flush();
+        }
+    }
+
     @Override
     public void close() throws SecurityException {
+        flush();
         console.close();
     }
 }
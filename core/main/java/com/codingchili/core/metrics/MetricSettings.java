@@ -19,6 +19,7 @@ public class MetricSettings {
     private List<JvmMetric> jvm = new ArrayList<>();
     private boolean overhead;
     private boolean enabled = false;
+    private boolean routes = false;
     private int rate = 15000;
 
     /**
@@ -103,6 +104,27 @@ public class MetricSettings {
         return this;
     }
 
+    /**
+     * @return true if the latency, request size and response size of each protocol route is recorded.
+     */
+    public boolean isRoutes() {
+        return routes;
+    }
+
+    /**
+     * When enabled, handlers of a {@link com.codingchili.core.protocol.Protocol} receive a
+     * {@link com.codingchili.core.listener.RequestWrapper} around the request of the listener,
+     * handlers that depend on the type of the listener request must unwrap it with
+     * {@link com.codingchili.core.listener.RequestWrapper#request()}.
+     *
+     * @param routes true to record the latency, request size and response size of each protocol route.
+     * @return fluent
+     */
+    public MetricSettings setRoutes(boolean routes) {
+        this.routes = routes;
+        return this;
+    }
+
     public boolean isOverhead() {
         return overhead;
     }
@@ -0,0 +1,71 @@
+package com.codingchili.core.protocol;
+
+import java.lang.invoke.*;
+import java.lang.reflect.Method;
+import java.util.function.Function;
+
+/**
+ * Binds annotated handler methods to functional interfaces using the
+ * {@link LambdaMetafactory}. The generated instances invoke the handler
+ * method directly which allows the JIT to inline the call, unlike
+ * {@link Method#invoke(Object, Object...)}.
+ */
+class HandlerBinder {
+    private static final MethodType RUNNABLE = MethodType.methodType(void.class);
+    private static final MethodType CONSUMER = MethodType.methodType(void.class, Object.class);
+    private static final MethodType FUNCTION = MethodType.methodType(Object.class, Object.class);
+
+    private HandlerBinder() {
+    }
+
+    /**
+     * @param instance the instance that declares the method.
+     * @param method   a method that accepts zero or one argument, the return value is ignored.
+     * @param <T>      the type of requests the handler accepts.
+     * @return a request handler that invokes the given method.
+     * @throws Throwable if the method cannot be bound.
+     */
+    @SuppressWarnings("unchecked")
+    static <T> RequestHandler<T> handler(Object instance, Method method) throws Throwable {
+        if (method.getParameterCount() == 0) {
+            Runnable runnable = bind(instance, method, Runnable.class, "run", RUNNABLE,
+                    MethodType.methodType(void.class));
+            return request -> runnable.run();
+        } else {
+            return bind(instance, method, RequestHandler.class, "submit", CONSUMER,
+                    MethodType.methodType(void.class, method.getParameterTypes()[0]));
+        }
+    }
+
+    /**
+     * @param instance the instance that declares the method.
+     * @param method   a method that accepts one argument and returns a value.
+     * @param <T>      the type of the argument.
+     * @param <R>      the return type of the method.
+     * @return a function that invokes the given method.
+     * @throws Throwable if the method cannot be bound.
+     */
+    @SuppressWarnings("unchecked")
+    static <T, R> Function<T, R> function(Object instance, Method method) throws Throwable {
+        return bind(instance, method, Function.class, "apply", FUNCTION,
+                MethodType.methodType(method.getReturnType(), method.getParameterTypes()[0]).wrap());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <F> F bind(Object instance, Method method, Class<F> type, String name,
+                              MethodType erased, MethodType instantiated) throws Throwable {
+        Class<?> declaring = method.getDeclaringClass();
+        MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(declaring, MethodHandles.lookup());
+        MethodHandle implementation = lookup.unreflect(method);
+
+        CallSite site = LambdaMetafactory.metafactory(
+                lookup,
+                name,
+                MethodType.methodType(type, declaring),
+                erased,
+                implementation,
+                instantiated);
+
+        return (F) site.getTarget().invoke(instance);
+    }
+}
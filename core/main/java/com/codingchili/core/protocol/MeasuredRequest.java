@@ -0,0 +1,72 @@
+package com.codingchili.core.protocol;
+
+import io.vertx.core.buffer.Buffer;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import com.codingchili.core.context.exception.CoreExceptionFormat;
+import com.codingchili.core.listener.Request;
+import com.codingchili.core.listener.RequestWrapper;
+
+/**
+ * Wraps a request processed by a {@link Protocol} to record the metrics of its
+ * route when the request is completed by a response or an error.
+ */
+class MeasuredRequest implements RequestWrapper {
+    private final AtomicBoolean completed = new AtomicBoolean(false);
+    private final long start = System.nanoTime();
+    private final Protocol<?> protocol;
+    private final Request request;
+    private String route;
+
+    /**
+     * @param protocol the protocol that records the metrics.
+     * @param request  the request to wrap.
+     */
+    MeasuredRequest(Protocol<?> protocol, Request request) {
+        this.protocol = protocol;
+        this.request = request;
+    }
+
+    /**
+     * @param route the route that the request was mapped to.
+     */
+    void route(String route) {
+        this.route = route;
+    }
+
+    @Override
+    public Request request() {
+        return request;
+    }
+
+    @Override
+    public void write(Object object) {
+        // the size of the response is only known if it is already encoded.
+        complete(ResponseStatus.ACCEPTED, (object instanceof Buffer) ? ((Buffer) object).length() : -1);
+        request.write(object);
+    }
+
+    @Override
+    public void accept() {
+        complete(ResponseStatus.ACCEPTED, -1);
+        request.accept();
+    }
+
+    @Override
+    public void error(Throwable exception) {
+        if (exception instanceof CoreExceptionFormat) {
+            complete(((CoreExceptionFormat) exception).status(), -1);
+        } else {
+            complete(ResponseStatus.ERROR, -1);
+        }
+        request.error(exception);
+    }
+
+    private void complete(ResponseStatus status, int response) {
+        // only the first response of a request is recorded.
+        if (completed.compareAndSet(false, true)) {
+            protocol.record(route, start, request.size(), response, status);
+        }
+    }
+}
@@ -10,12 +10,16 @@ import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import com.codingchili.core.configuration.CoreStrings;
 import com.codingchili.core.context.StartupListener;
+import com.codingchili.core.context.exception.CoreExceptionFormat;
+import com.codingchili.core.files.Configurations;
 import com.codingchili.core.listener.Receiver;
 import com.codingchili.core.listener.Request;
+import com.codingchili.core.listener.RequestWrapper;
 import com.codingchili.core.logging.ConsoleLogger;
 import com.codingchili.core.logging.Logger;
 import com.codingchili.core.protocol.exception.AuthorizationRequiredException;
@@ -37,7 +41,11 @@ import static com.codingchili.core.protocol.RoleMap.*;
  * If setAccessible(true) is called then J11 reflection is 50% faster.
  */
 public class Protocol<RequestType> {
-    private AuthorizationHandler<RequestType> authorizer = new SimpleAuthorizationHandler<>();
+    /**
+     * The route that requests to routes that are not registered are recorded as.
+     */
+    public static final String UNMAPPED = "unmapped";
+    private volatile AuthorizationHandler<RequestType> authorizer = new SimpleAuthorizationHandler<>();
     private String description = CoreStrings.getDescriptionMissing();
     private RoleType[] defaultRoles = new RoleType[]{RoleMap.get(USER)};
     private Function<Request, Future<RoleType>> authenticator = (Request) -> Future.succeededFuture(Role.PUBLIC);
@@ -48,6 +56,7 @@ public class Protocol<RequestType> {
     private Class<?> dataModel;
     private Logger logger = new ConsoleLogger(getClass());
     private String target = "";
+    private final RouteMetrics metrics = new RouteMetrics(() -> target);
 
     {
         StartupListener.subscribe(core -> {
@@ -146,13 +155,13 @@ public class Protocol<RequestType> {
         RouteMapper mapper = method.getAnnotation(RouteMapper.class);
 
         if (mapper != null) {
-            this.routeMapper = (request) -> {
+            this.routeMapper = bind(method, handler, () -> (request) -> {
                 try {
                     return (String) method.invoke(handler, request);
                 } catch (IllegalAccessException | InvocationTargetException e) {
                     throw new RuntimeException(e);
                 }
-            };
+            });
         }
     }
 
@@ -161,13 +170,23 @@ public class Protocol<RequestType> {
         Authenticator authenticator = method.getAnnotation(Authenticator.class);
 
         if (authenticator != null) {
-            this.authenticator = (request) -> {
+            this.authenticator = bind(method, handler, () -> (request) -> {
                 try {
                     return (Future<RoleType>) method.invoke(handler, request);
                 } catch (IllegalAccessException | InvocationTargetException e) {
                     throw new RuntimeException(e);
                 }
-            };
+            });
+        }
+    }
+
+    private <T, R> Function<T, R> bind(Method method, Object handler, Supplier<Function<T, R>> reflective) {
+        try {
+            return HandlerBinder.function(handler, method);
+        } catch (Throwable e) {
+            // the handler may be in a module that is not open to the core.
+            logger.onError(e);
+            return reflective.get();
         }
     }
 
@@ -221,7 +240,15 @@ public class Protocol<RequestType> {
     }
 
     private void wrap(String route, Receiver<RequestType> handler, Method method, RoleType[] role) {
-        use(route, request -> invokeMethod(method, handler, request), role);
+        RequestHandler<RequestType> bound;
+        try {
+            bound = HandlerBinder.handler(handler, method);
+        } catch (Throwable e) {
+            // the handler may be in a module that is not open to the core.
+            logger.onError(e);
+            bound = request -> invokeMethod(method, handler, request);
+        }
+        use(route, bound, role);
     }
 
     @SuppressWarnings("unchecked")
@@ -335,16 +362,57 @@ public class Protocol<RequestType> {
      * the configured maximum value. The route to invoke may be configured by specifying a
      * custom {@link #routeMapper(Function)}. Any exceptions thrown by the invoked route, or if the route is missing
      * or authorization insufficient, an error will be written as a response to the request.
+     * <p>
+     * The time from when the request is processed until it is completed with a response or an
+     * error is recorded together with the request size for each route, see
+     * {@link com.codingchili.core.metrics.MetricSettings#isRoutes()}. Requests to routes that are
+     * not registered are recorded under the route {@link #UNMAPPED}. Handler-specific requests,
+     * that wrap the request of a listener, are not recorded as they cannot be wrapped in turn. Use
+     * {@link #process(Request, Function)} to create the handler-specific request around the
+     * recorded request instead.
+     * <p>
+     * When route metrics are enabled handlers receive a {@link RequestWrapper} around the given
+     * request, handlers that depend on the type of the request must unwrap it. When disabled, which
+     * is the default, handlers receive the given request.
      *
      * @param request the request to be processed.
      */
-    @SuppressWarnings("unchecked")
     public void process(Request request) {
+        if (request instanceof RequestWrapper || !Configurations.system().getMetrics().isRoutes()) {
+            dispatch(request, null);
+        } else {
+            MeasuredRequest measured = new MeasuredRequest(this, request);
+            dispatch(measured, measured);
+        }
+    }
+
+    /**
+     * Processes a request as {@link #process(Request)} with a handler-specific request type,
+     * the time until the handler-specific request is completed is recorded for each route.
+     *
+     * @param request the request of a listener to be processed.
+     * @param wrapper creates the handler-specific request that wraps the given request.
+     */
+    public void process(Request request, Function<Request, RequestType> wrapper) {
+        if (Configurations.system().getMetrics().isRoutes()) {
+            MeasuredRequest measured = new MeasuredRequest(this, request);
+            dispatch((Request) wrapper.apply(measured), measured);
+        } else {
+            dispatch((Request) wrapper.apply(request), null);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void dispatch(Request request, MeasuredRequest measured) {
         try {
             authenticator.apply(request).onComplete(done -> {
                 if (done.succeeded()) {
                     try {
-                        get(routeMapper.apply(request), done.result()).submit((RequestType) request);
+                        String route = routeMapper.apply(request);
+                        if (measured != null) {
+                            measured.route(route);
+                        }
+                        get(route, done.result()).submit((RequestType) request);
                     } catch (Throwable e) {
                         logger.onError(e);
                         request.error(e);
@@ -360,6 +428,21 @@ public class Protocol<RequestType> {
         }
     }
 
+    /**
+     * @param route    the route the request was mapped to, or null if not mapped.
+     * @param start    the time in nanoseconds when processing started.
+     * @param size     the size of the request in bytes.
+     * @param response the size of the response in bytes, or -1 if unknown.
+     * @param status   the status the request was completed with.
+     */
+    void record(String route, long start, int size, int response, ResponseStatus status) {
+        // only registered routes are recorded to limit the number of metrics.
+        if (route == null || !authorizer.contains(route)) {
+            route = (authorizer.contains(ANY)) ? ANY : UNMAPPED;
+        }
+        metrics.record(route, start, size, response, status);
+    }
+
     /**
      * Set the route mapper used to process requests. A route mapper determines which protocol route
      * that is to be invoked for the given request. The default mapper invokes {@link Request#route()}.
@@ -0,0 +1,94 @@
+package com.codingchili.core.protocol;
+
+import com.codahale.metrics.*;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import com.codingchili.core.metrics.MetricSettings;
+
+/**
+ * Records the latency, request size and response size of each route in a protocol.
+ * <p>
+ * Metrics are registered in the default registry as
+ * protocol.{target}.{route}.{status} timers, protocol.{target}.{route}.size and
+ * protocol.{target}.{route}.response histograms, they are included in the snapshots
+ * of the metric collector and may be filtered with a metric filter on the path 'protocol'.
+ * The timers measure the time until a request is completed with a response or an error.
+ */
+class RouteMetrics {
+    static final String PREFIX = "protocol";
+    static final String SIZE = "size";
+    static final String RESPONSE = "response";
+    private static final ResponseStatus[] STATUSES = ResponseStatus.values();
+    private final MetricRegistry registry = SharedMetricRegistries.getOrCreate(MetricSettings.REGISTRY_NAME);
+    private final Map<String, Entry> routes = new ConcurrentHashMap<>();
+    private final Supplier<String> target;
+
+    /**
+     * @param target supplies the target of the protocol when a route is first recorded.
+     */
+    RouteMetrics(Supplier<String> target) {
+        this.target = target;
+    }
+
+    /**
+     * @param route    a registered route, unregistered routes must not be used
+     *                 as each route is registered as a metric.
+     * @param start    the time in nanoseconds when processing started.
+     * @param size     the size of the request in bytes.
+     * @param response the size of the response in bytes, not recorded if negative.
+     * @param status   the status of the request.
+     */
+    void record(String route, long start, int size, int response, ResponseStatus status) {
+        long elapsed = System.nanoTime() - start;
+        Entry entry = routes.get(route);
+
+        if (entry == null) {
+            entry = routes.computeIfAbsent(route, Entry::new);
+        }
+        entry.timer(status).update(elapsed, TimeUnit.NANOSECONDS);
+        entry.size.update(size);
+        if (response >= 0) {
+            entry.response.update(response);
+        }
+    }
+
+    private class Entry {
+        private final Timer[] timers = new Timer[STATUSES.length];
+        private final Histogram size;
+        private final Histogram response;
+        private final String name;
+
+        Entry(String route) {
+            String target = RouteMetrics.this.target.get();
+            this.name = (target.isEmpty()) ?
+                    MetricRegistry.name(PREFIX, route) :
+                    MetricRegistry.name(PREFIX, target, route);
+            this.size = registry.histogram(MetricRegistry.name(name, SIZE), RouteMetrics::histogram);
+            this.response = registry.histogram(MetricRegistry.name(name, RESPONSE), RouteMetrics::histogram);
+        }
+
+        Timer timer(ResponseStatus status) {
+            Timer timer = timers[status.ordinal()];
+            if (timer == null) {
+                // the registry returns the same timer if created concurrently.
+                timer = registry.timer(MetricRegistry.name(name, status.name().toLowerCase()),
+                        () -> new Timer(reservoir()));
+                timers[status.ordinal()] = timer;
+            }
+            return timer;
+        }
+    }
+
+    private static Histogram histogram() {
+        return new Histogram(reservoir());
+    }
+
+    private static Reservoir reservoir() {
+        // avoids the lock in the default reservoir that is shared by all requests to a route.
+        return LockFreeExponentiallyDecayingReservoir.builder().build();
+    }
+}
@@ -17,6 +17,7 @@ import java.io.*;
 import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 import java.util.zip.GZIPInputStream;
 import java.util.zip.GZIPOutputStream;
@@ -259,8 +260,8 @@ public class Serializer {
     }
 
 
-    // stores fields that has been set as accessible for the given class.
-    private static Map<Class<?>, Map<String, Field>> reflectCache = new HashMap<>();
+    // stores fields that has been set as accessible for the given class, may be used from parallel queries.
+    private static Map<Class<?>, Map<String, Field>> reflectCache = new ConcurrentHashMap<>();
 
     /**
      * Gets a value by the given path for an object.
@@ -294,21 +295,22 @@ public class Serializer {
                         boolean found = false;
 
                         for (Class<?> iterator = origin; iterator != Object.class; iterator = iterator.getSuperclass()) {
-                            Map<String, Field> fieldSet = reflectCache.computeIfAbsent(iterator, (k) -> new TreeMap<>());
+                            Map<String, Field> fieldSet = reflectCache.computeIfAbsent(iterator, (k) -> new ConcurrentHashMap<>());
                             Field field = fieldSet.get(fieldName);
 
                             if (field == null) {
                                 for (Field member : iterator.getDeclaredFields()) {
                                     if (member.getName().equals(fieldName)) {
                                         member.setAccessible(true);
-                                        fieldSet.put(fieldName, field);
+                                        fieldSet.put(fieldName, member);
                                         field = member;
-                                        found = true;
                                     }
                                 }
                             }
                             if (field != null) {
                                 object = field.get(object);
+                                found = true;
+                                break;
                             }
                         }
                         if (!found) {
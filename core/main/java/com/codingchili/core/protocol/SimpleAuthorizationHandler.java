@@ -15,57 +15,79 @@ import com.codingchili.core.protocol.exception.HandlerMissingException;
  * <p>
  * A role with a higher access level may execute any route
  * protected by a role with a weaker access level.
+ * <p>
+ * The routes are kept in an immutable table that is replaced when a route is
+ * added, lookups are lock-free and may be performed while routes are added.
  */
 public class SimpleAuthorizationHandler<T> implements AuthorizationHandler<T> {
-    // holds all handlers grouped on roles => routes => route::handler.
-    private final Map<RoleType, HashMap<String, Route<T>>> handlers = new HashMap<>();
-    // holds all existing routes, to allow checking for missing routes vs unauthorized.
-    private final Set<String> routes = new HashSet<>();
+    // holds all handlers grouped on routes => roles sorted by access level => route::handler.
+    private volatile Map<String, Authorized<T>[]> table = Collections.emptyMap();
+
+    /**
+     * A route that is accessible by a single role.
+     */
+    private static class Authorized<T> {
+        private final RoleType role;
+        private final Route<T> route;
+
+        Authorized(RoleType role, Route<T> route) {
+            this.role = role;
+            this.route = route;
+        }
+    }
 
     @Override
-    public void use(Route<T> route) {
-        for (RoleType role : route.getRoles()) {
-            if (!handlers.containsKey(role)) {
-                handlers.put(role, new HashMap<>());
+    @SuppressWarnings("unchecked")
+    public synchronized void use(Route<T> route) {
+        Map<String, Authorized<T>[]> table = new HashMap<>(this.table);
+        List<Authorized<T>> authorized = new ArrayList<>();
+
+        for (Authorized<T> existing : table.getOrDefault(route.getRoute(), new Authorized[0])) {
+            if (!Arrays.asList(route.getRoles()).contains(existing.role)) {
+                authorized.add(existing);
             }
-            handlers.get(role).put(route.getRoute(), route);
         }
-        routes.add(route.getRoute());
+        for (RoleType role : route.getRoles()) {
+            authorized.add(new Authorized<>(role, route));
+        }
+        authorized.sort(Comparator.comparingInt(entry -> entry.role.getLevel()));
+
+        table.put(route.getRoute(), authorized.toArray(new Authorized[0]));
+        this.table = table;
     }
 
     @Override
     public RequestHandler<T> get(String route, RoleType role) throws AuthorizationRequiredException, HandlerMissingException {
-        if (routes.contains(route)) {
-            if (handlers.containsKey(role)) {
-                Route<T> api = handlers.get(role).get(route);
-                if (api != null) {
-                    return api.getHandler();
-                }
-            }
-            // no exact role match on ID, do a full 2nd level scan to check access level.
-            for (RoleType required : handlers.keySet()) {
-                if (required.getLevel() < role.getLevel()) {
-                    Route<T> api = handlers.get(required).get(route);
-                    if (api != null) {
-                        return api.getHandler();
-                    }
-                }
-            }
-        } else {
+        Authorized<T>[] authorized = table.get(route);
+
+        if (authorized == null) {
             throw new HandlerMissingException(route);
         }
+        for (Authorized<T> entry : authorized) {
+            if (entry.role.equals(role)) {
+                return entry.route.getHandler();
+            }
+        }
+        // no exact role match, the role with the lowest access level is first.
+        if (authorized.length > 0 && authorized[0].role.getLevel() < role.getLevel()) {
+            return authorized[0].route.getHandler();
+        }
         throw new AuthorizationRequiredException();
     }
 
     @Override
     public boolean contains(String route) {
-        return routes.contains(route);
+        return table.containsKey(route);
     }
 
     @Override
     public List<Route<T>> list() {
         Set<Route<T>> routes = new HashSet<>();
-        handlers.values().forEach(role -> routes.addAll(role.values()));
+        table.values().forEach(authorized -> {
+            for (Authorized<T> entry : authorized) {
+                routes.add(entry.route);
+            }
+        });
         return new ArrayList<>(routes);
     }
 }
@@ -20,6 +20,8 @@ public class ArgonSettings {
     private int parallelism = 4;
     private int hashLength = 32;
     private int saltLength = 16;
+    private int workers = Runtime.getRuntime().availableProcessors();
+    private int queueSize = 256;
 
     /**
      * @return the number of iterations to perform when hashing.
@@ -93,4 +95,34 @@ public class ArgonSettings {
     public void setSaltLength(int saltLength) {
         this.saltLength = saltLength;
     }
+
+    /**
+     * @return the number of threads in the pool dedicated to hashing.
+     */
+    public int getWorkers() {
+        return workers;
+    }
+
+    /**
+     * @param workers the number of threads in the pool dedicated to hashing, hashing
+     *                does not occupy the worker pool used for other blocking operations.
+     */
+    public void setWorkers(int workers) {
+        this.workers = workers;
+    }
+
+    /**
+     * @return the maximum number of hash operations waiting for a worker.
+     */
+    public int getQueueSize() {
+        return queueSize;
+    }
+
+    /**
+     * @param queueSize the maximum number of hash operations waiting for a worker,
+     *                  further operations are rejected until the queue is drained.
+     */
+    public void setQueueSize(int queueSize) {
+        this.queueSize = queueSize;
+    }
 }
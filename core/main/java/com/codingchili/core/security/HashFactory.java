@@ -1,12 +1,21 @@
 package com.codingchili.core.security;
 
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
 import de.mkammerer.argon2.Argon2;
 import de.mkammerer.argon2.Argon2Factory;
 import io.vertx.core.*;
+import io.vertx.core.shareddata.Shareable;
+
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import com.codingchili.core.context.CoreContext;
 import com.codingchili.core.files.Configurations;
 import com.codingchili.core.security.exception.HashMismatchException;
+import com.codingchili.core.security.exception.HashRejectedException;
 
 /**
  * Handles the hashing of passwords and the generation
@@ -15,19 +24,29 @@ import com.codingchili.core.security.exception.HashMismatchException;
  * Uses mutable data types for storing plaintext passwords
  * to allow wiping. Reduces effectiveness of core dumps slightly,
  * as awaiting gc takes much longer time.
+ * <p>
+ * Hashing is executed on a dedicated worker pool so that a burst of logins does not
+ * occupy the workers used for other blocking operations. When more operations are
+ * pending than there are workers and queue slots, see {@link ArgonSettings#setQueueSize(int)},
+ * new operations fail with {@link HashRejectedException}. Factories created with the
+ * same settings on a vertx instance share the worker pool and its limit.
+ * <p>
+ * The {@link ArgonSettings} are read when each operation is executed, so that
+ * hashing and rehashing follows the settings after a configuration reload. The
+ * size of the worker pool is read when the factory is created.
  */
 
 public class HashFactory {
-    private static final ArgonSettings settings = Configurations.security().getArgon();
-    private static final Argon2 argon2;
-    private final CoreContext context;
-
-    static {
-        argon2 = Argon2Factory.create(
-                settings.getSaltLength(),
-                settings.getHashLength()
-        );
-    }
+    private static final String EXECUTOR = "hash-factory";
+    private static final String METRIC_PENDING = "security.hash.pending";
+    private static final String METRIC_LATENCY = "security.hash.latency";
+    // the number of pending operations in all pools, reported as a metric.
+    private static final AtomicInteger total = new AtomicInteger();
+    // instances by salt and hash length, verification works with any instance.
+    private static final Map<String, Argon2> instances = new ConcurrentHashMap<>();
+    private final WorkerExecutor executor;
+    private final Admission admission;
+    private final Timer latency;
 
     /**
      * Creates a new hash factory - requires a context to be created.
@@ -35,7 +54,73 @@ public class HashFactory {
      * @param context core context to execute on.
      */
     public HashFactory(CoreContext context) {
-        this.context = context;
+        ArgonSettings argon = settings();
+        // the size of a shared pool is fixed when created, each pool size has its own name.
+        String name = String.format("%s-%d-%d", EXECUTOR, argon.getWorkers(), argon.getQueueSize());
+        MetricRegistry registry = context.metrics().registry();
+
+        this.executor = context.vertx().createSharedWorkerExecutor(name, argon.getWorkers());
+        this.admission = context.vertx().sharedData().<String, Admission>getLocalMap(EXECUTOR)
+                .computeIfAbsent(name, key -> {
+                    registry.gauge(METRIC_PENDING, () -> total::get);
+                    return new Admission(argon.getWorkers() + argon.getQueueSize());
+                });
+        this.latency = registry.timer(METRIC_LATENCY);
+    }
+
+    private static ArgonSettings settings() {
+        return Configurations.security().getArgon();
+    }
+
+    private static Argon2 argon2(ArgonSettings settings) {
+        return instances.computeIfAbsent(settings.getSaltLength() + "-" + settings.getHashLength(),
+                key -> Argon2Factory.create(settings.getSaltLength(), settings.getHashLength()));
+    }
+
+    private <T> Future<T> submit(Callable<T> hashing) {
+        if (!admission.acquire()) {
+            return Future.failedFuture(new HashRejectedException());
+        } else {
+            Timer.Context timer = latency.time();
+
+            return executor.<T>executeBlocking(blocking -> {
+                try {
+                    blocking.complete(hashing.call());
+                } catch (Exception e) {
+                    blocking.fail(e);
+                }
+            }, false).onComplete(done -> {
+                admission.release();
+                timer.stop();
+            });
+        }
+    }
+
+    /**
+     * Limits the number of pending operations of a worker pool.
+     */
+    private static class Admission implements Shareable {
+        private final AtomicInteger pending = new AtomicInteger();
+        private final int limit;
+
+        Admission(int limit) {
+            this.limit = limit;
+        }
+
+        boolean acquire() {
+            if (pending.incrementAndGet() > limit) {
+                pending.decrementAndGet();
+                return false;
+            } else {
+                total.incrementAndGet();
+                return true;
+            }
+        }
+
+        void release() {
+            pending.decrementAndGet();
+            total.decrementAndGet();
+        }
     }
 
     /**
@@ -46,10 +131,10 @@ public class HashFactory {
      * @param plaintext the plaintext password to be hashed and compared to expected.
      */
     public void verify(Handler<AsyncResult<Void>> future, String expected, char[] plaintext) {
-        context.<Boolean>blocking(blocked -> {
-            blocked.complete(argon2.verify(expected, plaintext));
-        }, hashed -> {
-            if (hashed.result()) {
+        submit(() -> argon2(settings()).verify(expected, plaintext)).onComplete(hashed -> {
+            if (hashed.failed()) {
+                future.handle(Future.failedFuture(hashed.cause()));
+            } else if (hashed.result()) {
                 future.handle(Future.succeededFuture());
             } else {
                 future.handle(Future.failedFuture(new HashMismatchException()));
@@ -57,6 +142,40 @@ public class HashFactory {
         });
     }
 
+    /**
+     * Verifies a plaintext password against a hashed password and rehashes the password
+     * if it was hashed with other parameters than the current {@link ArgonSettings}.
+     *
+     * @param expected  the expected outcome of the hash operation.
+     * @param plaintext the plaintext password to be hashed and compared to expected.
+     * @return a future completed with the hash to store for the password, this is the
+     * expected hash unless the password was rehashed.
+     */
+    public Future<String> verifyAndRehash(String expected, char[] plaintext) {
+        return submit(() -> {
+            ArgonSettings settings = settings();
+            Argon2 argon2 = argon2(settings);
+
+            if (!argon2.verify(expected, plaintext)) {
+                throw new HashMismatchException();
+            } else if (argon2.needsRehash(expected,
+                    settings.getIterations(), settings.getMemory(), settings.getParallelism())) {
+                return hash0(settings, plaintext);
+            } else {
+                return expected;
+            }
+        });
+    }
+
+    private static String hash0(ArgonSettings settings, char[] plaintext) {
+        return argon2(settings).hash(
+                settings.getIterations(),
+                settings.getMemory(),
+                settings.getParallelism(),
+                plaintext
+        );
+    }
+
     /**
      * Async hashing a password with an internal salt using ARGON2.
      *
@@ -65,16 +184,11 @@ public class HashFactory {
      */
     public Future<String> hash(char[] plaintext) {
         Promise<String> promise = Promise.promise();
-        context.<String>blocking(blocking -> blocking.complete(
-                argon2.hash(
-                        settings.getIterations(),
-                        settings.getMemory(),
-                        settings.getParallelism(),
-                        plaintext
-                )
-        ), result -> {
+        submit(() -> hash0(settings(), plaintext)).onComplete(result -> {
             if (result.succeeded()) {
                 promise.complete(result.result());
+            } else if (result.cause() instanceof HashRejectedException) {
+                promise.fail(result.cause());
             } else {
                 promise.fail(new HashMismatchException());
             }
@@ -88,6 +202,6 @@ public class HashFactory {
      * @param sensitive the data to be wiped.
      */
     public void wipe(char[] sensitive) {
-        argon2.wipeArray(sensitive);
+        argon2(settings()).wipeArray(sensitive);
     }
 }
\ No newline at end of file
@@ -5,10 +5,12 @@ import io.vertx.core.Promise;
 
 import javax.crypto.Mac;
 import javax.crypto.spec.SecretKeySpec;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.security.*;
 import java.time.Instant;
-import java.util.Base64;
-import java.util.Objects;
+import java.util.*;
 
 import com.codingchili.core.configuration.system.SecuritySettings;
 import com.codingchili.core.context.CoreContext;
@@ -21,11 +23,17 @@ import static io.vertx.core.json.impl.JsonUtil.*;
 
 /**
  * Verifies and generates tokens for access.
+ * <p>
+ * HMAC tokens are signed and verified on the calling thread using a Mac that is
+ * initialized once per thread, signatures are processed on the worker pool.
  */
 public class TokenFactory {
     private static final String CRYPTO_TYPE = "type";
     private static final String ALIAS = "alias";
+    private static final ThreadLocal<CanonicalBuffer> buffers = ThreadLocal.withInitial(CanonicalBuffer::new);
+    private final ThreadLocal<Mac> macs = new ThreadLocal<>();
     private final byte[] secret;
+    private final Map<String, Token> verified;
     private CoreContext core;
 
     /**
@@ -36,10 +44,52 @@ public class TokenFactory {
         Objects.requireNonNull(secret, "Cannot create TokenFactory with 'null' secret.");
         this.secret = secret;
         this.core = core;
+        this.verified = verifiedCache(Configurations.security().getVerifiedTokenCache());
+    }
+
+    private static Map<String, Token> verifiedCache(int size) {
+        if (size > 0) {
+            return Collections.synchronizedMap(new LinkedHashMap<String, Token>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Token> eldest) {
+                    return size() > size;
+                }
+            });
+        } else {
+            return null;
+        }
+    }
+
+    private boolean isVerified(Token token) {
+        if (verified != null) {
+            Token cached = verified.get(token.getKey());
+            // the key only matches the token when all secured parts are the same.
+            return cached != null &&
+                    cached.getExpiry() == token.getExpiry() &&
+                    cached.getDomain().equals(token.getDomain()) &&
+                    cached.getProperties().equals(token.getProperties());
+        } else {
+            return false;
+        }
+    }
+
+    private Future<Void> verified(Future<Void> verification, Token token) {
+        if (verified != null) {
+            Token copy = new Token(token.getDomain())
+                    .setKey(token.getKey())
+                    .setExpiry(token.getExpiry())
+                    .setProperties(new HashMap<>(token.getProperties()));
+
+            return verification.onSuccess(done -> verified.put(copy.getKey(), copy));
+        } else {
+            return verification;
+        }
     }
 
     /**
-     * Verifies the validity of the given token.
+     * Verifies the validity of the given token. When enabled with
+     * {@link SecuritySettings#setVerifiedTokenCache(int)} tokens that have
+     * already been verified are accepted without repeating the verification.
      *
      * @param token the token to be verified.
      * @return true if the token is accepted.
@@ -47,15 +97,17 @@ public class TokenFactory {
     public Future<Void> verify(Token token) {
         // verify token not null and token is still valid.
         if (token != null && token.getExpiry() > Instant.now().getEpochSecond()) {
-            if (token.getProperties().containsKey(CRYPTO_TYPE)) {
+            if (isVerified(token)) {
+                return Future.succeededFuture();
+            } else if (token.getProperties().containsKey(CRYPTO_TYPE)) {
                 String algorithm = token.getProperty(CRYPTO_TYPE);
                 SecuritySettings security = Configurations.security();
 
                 // don't trust the algorithm in the token - match existing algorithms only.
                 if (algorithm.equals(security.getHmacAlgorithm())) {
-                    return verifyHmac(token);
+                    return verified(verifyHmac(token), token);
                 } else if (algorithm.equals(security.getSignatureAlgorithm())) {
-                    return verifySignature(token);
+                    return verified(verifySignature(token), token);
                 } else {
                     return Future.failedFuture(
                             String.format("Token algorithm '%s' - not enabled/trusted.", algorithm));
@@ -70,33 +122,39 @@ public class TokenFactory {
     }
 
     private Future<Void> verifyHmac(Token token) {
-        Promise<Void> promise = Promise.promise();
-        core.blocking((blocking) -> {
-            try {
-                byte[] result = BASE64_ENCODER.encode(hmacKey(token));
-                if (ByteComparator.compare(result, token.getKey().getBytes())) {
-                    blocking.complete();
-                } else {
-                    blocking.fail("Failed to verify HMAC token.");
-                }
-            } catch (Exception e) {
-                blocking.fail(e);
+        try {
+            byte[] result = BASE64_ENCODER.encode(hmacKey(token));
+            if (ByteComparator.compare(result, token.getKey().getBytes())) {
+                return Future.succeededFuture();
+            } else {
+                return Future.failedFuture("Failed to verify HMAC token.");
             }
-        }, promise);
-        return promise.future();
+        } catch (Exception e) {
+            return Future.failedFuture(e);
+        }
     }
 
     private byte[] hmacKey(Token token) throws NoSuchAlgorithmException, InvalidKeyException {
-        String algorithm = Configurations.security().getHmacAlgorithm();
-        Mac mac = Mac.getInstance(algorithm);
-
-        SecretKeySpec spec = new SecretKeySpec(secret, algorithm);
-        mac.init(spec);
+        Mac mac = mac();
         canonicalizeTokenWithCrypto(token, mac::update);
-
         return mac.doFinal();
     }
 
+    private Mac mac() throws NoSuchAlgorithmException, InvalidKeyException {
+        String algorithm = Configurations.security().getHmacAlgorithm();
+        Mac mac = macs.get();
+
+        if (mac == null || !mac.getAlgorithm().equals(algorithm)) {
+            mac = Mac.getInstance(algorithm);
+            mac.init(new SecretKeySpec(secret, algorithm));
+            macs.set(mac);
+        } else {
+            // discards any input left from a failed invocation.
+            mac.reset();
+        }
+        return mac;
+    }
+
     /**
      * Signs the given token using HMAC.
      *
@@ -104,17 +162,13 @@ public class TokenFactory {
      * @return callback.
      */
     public Future<Void> hmac(Token token) {
-        Promise<Void> promise = Promise.promise();
-        core.blocking((blocking) -> {
-            try {
-                token.addProperty(CRYPTO_TYPE, Configurations.security().getHmacAlgorithm());
-                token.setKey(BASE64_ENCODER.encodeToString(hmacKey(token)));
-                blocking.complete();
-            } catch (InvalidKeyException | NoSuchAlgorithmException e) {
-                blocking.fail(ERROR_TOKEN_FACTORY);
-            }
-        }, promise);
-        return promise.future();
+        try {
+            token.addProperty(CRYPTO_TYPE, Configurations.security().getHmacAlgorithm());
+            token.setKey(BASE64_ENCODER.encodeToString(hmacKey(token)));
+            return Future.succeededFuture();
+        } catch (InvalidKeyException | NoSuchAlgorithmException e) {
+            return Future.failedFuture(ERROR_TOKEN_FACTORY);
+        }
     }
 
     /**
@@ -189,23 +243,38 @@ public class TokenFactory {
      * @param function the crypto function to apply to the serialized token parts.
      */
     private void canonicalizeTokenWithCrypto(Token token, CryptoFunction function) {
+        CanonicalBuffer buffer = buffers.get();
+        buffer.reset();
         try {
-            function.update(Serializer.buffer(token.getProperties()).getBytes());
-            function.update(token.getDomain().getBytes());
-            function.update((token.getExpiry() + "").getBytes());
-        } catch (SignatureException e) {
+            Serializer.json.writeValue(buffer, token.getProperties());
+            buffer.write(token.getDomain().getBytes(StandardCharsets.UTF_8));
+            buffer.write(Long.toString(token.getExpiry()).getBytes(StandardCharsets.UTF_8));
+            function.update(buffer.array(), 0, buffer.size());
+        } catch (SignatureException | IOException e) {
             throw new CoreRuntimeException(e.getMessage());
         }
     }
 
+    /**
+     * Reusable buffer for the canonical form of tokens, exposes the backing
+     * array to avoid copying it.
+     */
+    private static class CanonicalBuffer extends ByteArrayOutputStream {
+        byte[] array() {
+            return buf;
+        }
+    }
+
     @FunctionalInterface
     private interface CryptoFunction {
         /**
          * processes a data part with a crypto function - this could be a HMAC or signature.
          *
-         * @param data the data to be processed.
+         * @param data   the data to be processed.
+         * @param offset the offset in the data to start from.
+         * @param length the number of bytes to process.
          */
-        void update(byte[] data) throws SignatureException;
+        void update(byte[] data, int offset, int length) throws SignatureException;
 
     }
 }
\ No newline at end of file
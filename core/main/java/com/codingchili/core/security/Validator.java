@@ -1,8 +1,8 @@
 package com.codingchili.core.security;
 
-import java.util.HashSet;
-import java.util.Set;
+import java.util.*;
 import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import com.codingchili.core.configuration.Configurable;
 import com.codingchili.core.configuration.RegexComponent;
@@ -17,12 +17,49 @@ import io.vertx.core.json.JsonObject;
 
 /**
  * Validates the contents of a json object according to the validation configuration.
+ * <p>
+ * The validators are compiled on first use into a lookup of the validators that
+ * applies to each field name, json objects are then validated in a single pass.
+ * Validators that are modified after being compiled must be added again.
  */
 public class Validator implements Configurable {
     private static final String VALIDATION_FAILED_FOR_VALIDATOR = "Validation failed for validator '%s'.";
-    private static final String REGEX_PLAINTEXT = "[A-Za-z0-9 ]*";
-    private static final String REGEX_SPECIAL_CHARS = "[^A-Za-z0-9 ]";
+    private static final Pattern REGEX_PLAINTEXT = Pattern.compile("[A-Za-z0-9 ]*");
+    private static final Pattern REGEX_SPECIAL_CHARS = Pattern.compile("[^A-Za-z0-9 ]");
     private Set<ValidatorSettings> settings = new HashSet<>();
+    private volatile Compiled compiled;
+
+    /**
+     * The validators that apply to each field, validators that are limited to a set
+     * of keys are only present in the lookup for those keys.
+     */
+    private static class Compiled {
+        private final Map<String, List<ValidatorSettings>> fields = new HashMap<>();
+        private final List<ValidatorSettings> all = new ArrayList<>();
+
+        Compiled(Set<ValidatorSettings> settings) {
+            Set<String> keys = new HashSet<>();
+            settings.forEach(validator -> keys.addAll(validator.getKeys()));
+
+            for (ValidatorSettings validator : settings) {
+                // compiles the patterns ahead of the first request.
+                validator.getRegex().forEach(RegexComponent::getPattern);
+
+                if (validator.getKeys().isEmpty()) {
+                    all.add(validator);
+                }
+                for (String key : keys) {
+                    if (validator.isFieldValidated(key)) {
+                        fields.computeIfAbsent(key, k -> new ArrayList<>()).add(validator);
+                    }
+                }
+            }
+        }
+
+        List<ValidatorSettings> get(String field) {
+            return fields.getOrDefault(field, all);
+        }
+    }
 
     public Validator() {
     }
@@ -54,6 +91,7 @@ public class Validator implements Configurable {
     public ValidatorSettings add(String name) {
         ValidatorSettings settings = new ValidatorSettings(name);
         this.settings.add(settings);
+        this.compiled = null;
         return settings;
     }
 
@@ -63,6 +101,7 @@ public class Validator implements Configurable {
      */
     public Validator add(ValidatorSettings validator) {
         settings.add(validator);
+        compiled = null;
         return this;
     }
 
@@ -74,7 +113,7 @@ public class Validator implements Configurable {
      * @return true if the value is plaintext.
      */
     public static boolean plainText(Comparable value) {
-        return value != null && value.toString().matches(REGEX_PLAINTEXT);
+        return value != null && REGEX_PLAINTEXT.matcher(value.toString()).matches();
     }
 
     /**
@@ -84,7 +123,7 @@ public class Validator implements Configurable {
      * @return a plaintext string consisting of only A-Z, a-z, 0-9, whitespace.
      */
     public static String toPlainText(String input) {
-        return input.replaceAll(REGEX_SPECIAL_CHARS, "");
+        return REGEX_SPECIAL_CHARS.matcher(input).replaceAll("");
     }
 
     /**
@@ -98,49 +137,53 @@ public class Validator implements Configurable {
      * @throws RequestValidationException when the evaluation is configured to reject a value.
      */
     public JsonObject validate(JsonObject json) throws RequestValidationException {
-        for (ValidatorSettings settings : settings) {
-            validateJsonObject(settings, json);
+        return validateJsonObject(compiled(), json);
+    }
+
+    private Compiled compiled() {
+        Compiled compiled = this.compiled;
+        if (compiled == null) {
+            compiled = new Compiled(settings);
+            this.compiled = compiled;
         }
-        return json;
+        return compiled;
     }
 
-    private Object validateFieldByType(ValidatorSettings settings, String fieldName, Object value) {
+    private Object validateFieldByType(Compiled compiled, String fieldName, Object value) {
         if (value instanceof JsonObject) {
-            return validateJsonObject(settings, (JsonObject) value);
+            return validateJsonObject(compiled, (JsonObject) value);
         } else if (value instanceof JsonArray) {
-            return validateJsonArray(settings, fieldName, (JsonArray) value);
+            return validateJsonArray(compiled, fieldName, (JsonArray) value);
         } else {
-            return validateSimpleType(settings, fieldName, value);
+            return validateSimpleType(compiled.get(fieldName), value);
         }
     }
 
     @SuppressWarnings("unchecked")
-    private JsonArray validateJsonArray(ValidatorSettings settings, String fieldName, JsonArray value) {
+    private JsonArray validateJsonArray(Compiled compiled, String fieldName, JsonArray value) {
         for (int i = 0; i < value.size(); i++) {
-            value.getList().set(i, validateFieldByType(settings, fieldName, value.getValue(i)));
+            value.getList().set(i, validateFieldByType(compiled, fieldName, value.getValue(i)));
         }
         return value;
     }
 
-    private JsonObject validateJsonObject(ValidatorSettings settings, JsonObject value) {
-        for (String fieldName : value.fieldNames()) {
-            value.put(fieldName, validateFieldByType(settings, fieldName, value.getValue(fieldName)));
+    private JsonObject validateJsonObject(Compiled compiled, JsonObject value) {
+        for (Map.Entry<String, Object> field : value.getMap().entrySet()) {
+            field.setValue(validateFieldByType(compiled, field.getKey(), value.getValue(field.getKey())));
         }
         return value;
     }
 
-    private Object validateSimpleType(ValidatorSettings settings, String fieldName, Object value) {
-        if (settings.isFieldValidated(fieldName)) {
+    private Object validateSimpleType(List<ValidatorSettings> validators, Object value) {
+        for (ValidatorSettings settings : validators) {
             if (value instanceof String) {
-                return validateString(settings, (String) value);
+                value = validateString(settings, (String) value);
             } else {
                 // only string type supports substitution.
                 validateString(settings, value.toString());
-                return value;
             }
-        } else {
-            return value;
         }
+        return value;
     }
 
     private String validateString(ValidatorSettings settings, String text) {
@@ -151,18 +194,18 @@ public class Validator implements Configurable {
         for (RegexComponent regex : settings.getRegex()) {
             switch (regex.getAction()) {
                 case SUBSTITUTE:
-                    text = text.replaceAll(regex.getExpression(),
-                        Matcher.quoteReplacement(regex.getSubstitution()));
+                    text = regex.getPattern().matcher(text)
+                        .replaceAll(Matcher.quoteReplacement(regex.getSubstitution()));
 
                     text = text.trim();
                     break;
                 case REJECT:
-                    if (text.matches(regex.getExpression())) {
+                    if (regex.getPattern().matcher(text).matches()) {
                         fail(settings);
                     }
                     break;
                 case ACCEPT:
-                    if (!text.matches(regex.getExpression())) {
+                    if (!regex.getPattern().matcher(text).matches()) {
                         fail(settings);
                     }
                     break;
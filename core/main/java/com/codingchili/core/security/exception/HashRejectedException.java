@@ -0,0 +1,14 @@
+package com.codingchili.core.security.exception;
+
+import com.codingchili.core.configuration.CoreStrings;
+import com.codingchili.core.context.CoreException;
+
+/**
+ * Throw when a hash operation is rejected because the hashing pool is saturated,
+ * the operation may be retried later.
+ */
+public class HashRejectedException extends CoreException {
+    public HashRejectedException() {
+        super(CoreStrings.getHashRejectedException());
+    }
+}
@@ -125,14 +125,7 @@ public abstract class AbstractQueryBuilder<Value extends Storable> implements Qu
         return this;
     }
 
-    int sortByAttribute(Object first, Object second) {
-        if (isOrdered) {
-            return getSortValue(first).compareTo(getSortValue(second)) * getSortDirection();
-        } else
-            return 0;
-    }
-
-    private String getSortValue(Object object) {
+    String getSortValue(Object object) {
         return getValueByPath(object, getOrderByAttribute()).iterator().next().toString();
     }
 
@@ -3,6 +3,11 @@ package com.codingchili.core.storage;
 import io.vertx.core.AsyncResult;
 import io.vertx.core.Handler;
 
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
 import java.util.stream.Stream;
 
 import com.codingchili.core.context.StorageContext;
@@ -82,6 +87,115 @@ public interface AsyncStorage<Value extends Storable> {
      */
     void update(Value value, Handler<AsyncResult<Void>> handler);
 
+    /**
+     * get all entries with the given keys in a single operation. Keys that does not
+     * match a value are not included in the result.
+     * <p>
+     * The default implementation invokes #{@link #get(String, Handler)} for each key,
+     * storages should override this with a native batch operation when available.
+     *
+     * @param keys    the keys of the entries to retrieve.
+     * @param handler callback with the values that were found, by key.
+     */
+    default void getAll(Collection<String> keys, Handler<AsyncResult<Map<String, Value>>> handler) {
+        Map<String, Value> values = new ConcurrentHashMap<>();
+
+        batch(keys, Function.identity(), (key, done) -> get(key, get -> {
+            if (get.succeeded()) {
+                values.put(key, get.result());
+                done.handle(result());
+            } else {
+                done.handle(error(get.cause()));
+            }
+        }), batch -> {
+            for (AsyncResult<Void> result : batch.result().values()) {
+                if (result.failed() && !(result.cause() instanceof ValueMissingException)) {
+                    handler.handle(error(result.cause()));
+                    return;
+                }
+            }
+            handler.handle(result(values));
+        });
+    }
+
+    /**
+     * set the entries of all the given values in a single operation.
+     * <p>
+     * The default implementation invokes #{@link #put(Storable, Handler)} for each value,
+     * storages should override this with a native batch operation when available.
+     *
+     * @param values  the values to set.
+     * @param handler callback with the result of each put, by key.
+     */
+    default void putAll(Collection<Value> values, Handler<AsyncResult<Map<String, AsyncResult<Void>>>> handler) {
+        batch(values, Storable::getId, this::put, handler);
+    }
+
+    /**
+     * Removes all entries with the given keys in a single operation. The result of a key
+     * that is not present fails with #{@link com.codingchili.core.storage.exception.NothingToRemoveException}.
+     * <p>
+     * The default implementation invokes #{@link #remove(String, Handler)} for each key,
+     * storages should override this with a native batch operation when available.
+     *
+     * @param keys    the keys of the entries to remove.
+     * @param handler callback with the result of each removal, by key.
+     */
+    default void removeAll(Collection<String> keys, Handler<AsyncResult<Map<String, AsyncResult<Void>>>> handler) {
+        batch(keys, Function.identity(), this::remove, handler);
+    }
+
+    /**
+     * Executes an operation for each of the given items and completes when all operations
+     * has completed.
+     *
+     * @param items     the items to execute the operation for.
+     * @param key       returns the key of an item.
+     * @param operation the operation to execute for each item.
+     * @param handler   callback with the result of each operation, by key.
+     * @param <T>       the type of the items.
+     */
+    private static <T> void batch(Collection<T> items, Function<T, String> key,
+                                  BiConsumer<T, Handler<AsyncResult<Void>>> operation,
+                                  Handler<AsyncResult<Map<String, AsyncResult<Void>>>> handler) {
+        Map<String, AsyncResult<Void>> results = new ConcurrentHashMap<>();
+        AtomicInteger remaining = new AtomicInteger(items.size());
+
+        if (items.isEmpty()) {
+            handler.handle(result(results));
+        } else {
+            for (T item : items) {
+                operation.accept(item, done -> {
+                    results.put(key.apply(item), done);
+                    if (remaining.decrementAndGet() == 0) {
+                        handler.handle(result(results));
+                    }
+                });
+            }
+        }
+    }
+
+    /**
+     * Adds a listener that is notified with the values of entries that are set, including
+     * changes made by other storage instances of the same collection. Storages that cannot
+     * observe all changes to the collection does not support listeners.
+     *
+     * @param listener called with each value that is added or updated.
+     * @return true if the storage supports change listeners.
+     */
+    default boolean addListener(Handler<Value> listener) {
+        return false;
+    }
+
+    /**
+     * Removes a listener that was added with #{@link #addListener(Handler)}.
+     *
+     * @param listener the listener to remove.
+     */
+    default void removeListener(Handler<Value> listener) {
+        // no-op: listeners are not supported by default.
+    }
+
     /**
      * Get all values contained within the storage as a stream.
      * Not recommended to use on large maps.
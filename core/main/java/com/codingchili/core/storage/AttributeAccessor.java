@@ -0,0 +1,296 @@
+package com.codingchili.core.storage;
+
+import io.vertx.core.json.JsonObject;
+
+import java.lang.invoke.*;
+import java.lang.reflect.*;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import com.codingchili.core.configuration.CoreStrings;
+import com.codingchili.core.context.CoreRuntimeException;
+import com.codingchili.core.protocol.Serializer;
+
+import static com.codingchili.core.configuration.CoreStrings.STORAGE_ARRAY;
+
+/**
+ * Typed accessor for the value at a field path of a storable class.
+ * <p>
+ * Accessors are resolved once per class and path and are then cached. Public getters
+ * are bound using LambdaMetafactory and other fields with method handles, this avoids
+ * path parsing, reflection and string conversion when values are extracted.
+ * <p>
+ * Numeric fields are exposed using their native type (Integer, Long or Double) while
+ * all other types are exposed as strings. Paths that cannot be resolved from the class
+ * definition, for example into a JsonObject, falls back to
+ * {@link Serializer#getValueByPath(Object, String)} and are exposed as strings.
+ */
+public class AttributeAccessor {
+    private static final Map<Class<?>, Map<String, AttributeAccessor>> accessors = new ConcurrentHashMap<>();
+    private Function<Object, Object> getter;
+    private Class<? extends Comparable> type;
+
+    /**
+     * @param theClass the class that contains the field path.
+     * @param path     the path of the field, nested fields are delimited by a dot.
+     * @return a cached accessor for the given class and path.
+     */
+    public static AttributeAccessor of(Class<?> theClass, String path) {
+        return accessors.computeIfAbsent(theClass, (key) -> new ConcurrentHashMap<>())
+                .computeIfAbsent(path, (key) -> new AttributeAccessor(theClass, path));
+    }
+
+    private AttributeAccessor(Class<?> theClass, String path) {
+        try {
+            resolve(theClass, path.replace(STORAGE_ARRAY, ""));
+        } catch (Throwable e) {
+            this.type = String.class;
+            this.getter = (value) -> Serializer.getValueByPath(value, path);
+        }
+    }
+
+    private void resolve(Class<?> theClass, String path) throws Throwable {
+        Class<?> current = theClass;
+        Type generic = theClass;
+        Function<Object, Object> chain = null;
+
+        for (String fieldName : path.split("\\.")) {
+            Function<Object, Object> step;
+
+            if (Storable.class.isAssignableFrom(current) && fieldName.equals(Storable.idField)) {
+                step = (value) -> ((Storable) value).getId();
+                current = String.class;
+                generic = String.class;
+            } else if (JsonObject.class.isAssignableFrom(current) || Map.class.isAssignableFrom(current)) {
+                throw new CoreRuntimeException(CoreStrings.getReflectionErrorInSerializer(path));
+            } else {
+                Field field = findField(current, fieldName);
+                step = bind(field);
+                current = field.getType();
+                generic = field.getGenericType();
+            }
+            chain = compose(chain, step);
+        }
+
+        this.getter = chain;
+        this.type = typeOf(elementType(current, generic));
+    }
+
+    private static Function<Object, Object> compose(Function<Object, Object> chain, Function<Object, Object> step) {
+        if (chain == null) {
+            return step;
+        } else {
+            return (value) -> {
+                Object parent = chain.apply(value);
+                return (parent == null) ? null : step.apply(parent);
+            };
+        }
+    }
+
+    private static Field findField(Class<?> theClass, String fieldName) throws NoSuchFieldException {
+        for (Class<?> iterator = theClass; iterator != null && iterator != Object.class; iterator = iterator.getSuperclass()) {
+            for (Field field : iterator.getDeclaredFields()) {
+                if (field.getName().equals(fieldName) && !Modifier.isStatic(field.getModifiers())) {
+                    return field;
+                }
+            }
+        }
+        throw new NoSuchFieldException(fieldName);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Function<Object, Object> bind(Field field) throws Throwable {
+        Method getter = findGetter(field);
+
+        if (getter != null) {
+            try {
+                MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(
+                        getter.getDeclaringClass(), MethodHandles.lookup());
+                MethodHandle handle = lookup.unreflect(getter);
+                CallSite site = LambdaMetafactory.metafactory(lookup, "apply",
+                        MethodType.methodType(Function.class),
+                        MethodType.methodType(Object.class, Object.class),
+                        handle, handle.type());
+                return (Function<Object, Object>) site.getTarget().invokeExact();
+            } catch (Throwable e) {
+                // fallback to method handle on the field.
+            }
+        }
+        field.setAccessible(true);
+        MethodHandle handle = MethodHandles.lookup().unreflectGetter(field)
+                .asType(MethodType.methodType(Object.class, Object.class));
+
+        return (value) -> {
+            try {
+                return handle.invokeExact(value);
+            } catch (Throwable e) {
+                throw new CoreRuntimeException(e.getMessage());
+            }
+        };
+    }
+
+    private static Method findGetter(Field field) {
+        String name = field.getName();
+        String suffix = Character.toUpperCase(name.charAt(0)) + name.substring(1);
+
+        for (String prefix : new String[]{"get", "is"}) {
+            try {
+                Method method = field.getDeclaringClass().getMethod(prefix + suffix);
+                if (method.getReturnType().equals(field.getType()) && !Modifier.isStatic(method.getModifiers())) {
+                    return method;
+                }
+            } catch (NoSuchMethodException e) {
+                // try the next prefix or use the field.
+            }
+        }
+        return null;
+    }
+
+    private static Class<?> elementType(Class<?> type, Type generic) {
+        if (type.isArray()) {
+            return type.getComponentType();
+        } else if (Iterable.class.isAssignableFrom(type)) {
+            if (generic instanceof ParameterizedType) {
+                Type[] arguments = ((ParameterizedType) generic).getActualTypeArguments();
+                if (arguments.length == 1 && arguments[0] instanceof Class) {
+                    return (Class<?>) arguments[0];
+                }
+            }
+            return Object.class;
+        } else {
+            return type;
+        }
+    }
+
+    private static Class<? extends Comparable> typeOf(Class<?> type) {
+        if (type == int.class || type == Integer.class || type == short.class || type == Short.class
+                || type == byte.class || type == Byte.class) {
+            return Integer.class;
+        } else if (type == long.class || type == Long.class) {
+            return Long.class;
+        } else if (type == double.class || type == Double.class || type == float.class || type == Float.class) {
+            return Double.class;
+        } else {
+            return String.class;
+        }
+    }
+
+    /**
+     * @return the type of the values that are returned by this accessor.
+     */
+    public Class<? extends Comparable> type() {
+        return type;
+    }
+
+    /**
+     * @return true if the values returned by this accessor are numeric.
+     */
+    public boolean isNumeric() {
+        return Number.class.isAssignableFrom(type);
+    }
+
+    /**
+     * @param object the object to retrieve the value from.
+     * @return the first value at the path of the accessor, null if missing.
+     */
+    public Comparable value(Object object) {
+        Object value = getter.apply(object);
+
+        if (value instanceof Iterable) {
+            Iterator<?> iterator = ((Iterable<?>) value).iterator();
+            return (iterator.hasNext()) ? coerce(iterator.next()) : null;
+        } else if (value != null && value.getClass().isArray()) {
+            return (Array.getLength(value) > 0) ? coerce(Array.get(value, 0)) : null;
+        } else {
+            return coerce(value);
+        }
+    }
+
+    /**
+     * @param object the object to retrieve the values from.
+     * @return all values at the path of the accessor, collections and arrays are flattened.
+     */
+    public Iterable<Comparable> values(Object object) {
+        Object value = getter.apply(object);
+
+        if (value == null) {
+            return Collections.emptyList();
+        } else if (value instanceof Collection) {
+            Collection<?> collection = (Collection<?>) value;
+            List<Comparable> values = new ArrayList<>(collection.size());
+            for (Object item : collection) {
+                values.add(coerce(item));
+            }
+            return values;
+        } else if (value.getClass().isArray()) {
+            int length = Array.getLength(value);
+            List<Comparable> values = new ArrayList<>(length);
+            for (int i = 0; i < length; i++) {
+                values.add(coerce(Array.get(value, i)));
+            }
+            return values;
+        } else {
+            return Collections.singletonList(coerce(value));
+        }
+    }
+
+    /**
+     * Converts the given value into the type of this accessor, used to convert
+     * query arguments to the type of the attribute.
+     *
+     * @param value the value to convert.
+     * @return the converted value or null if the value is not convertible, this
+     * includes numbers that are out of range for the type of the attribute.
+     */
+    public Comparable coerce(Object value) {
+        if (value == null || type.isInstance(value)) {
+            return (Comparable) value;
+        } else {
+            try {
+                if (type == Integer.class) {
+                    Long number = integral(value);
+                    return (number != null && number == number.intValue()) ? number.intValue() : null;
+                } else if (type == Long.class) {
+                    return integral(value);
+                } else if (type == Double.class) {
+                    // floats are widened by their decimal representation, 0.1f is converted to 0.1.
+                    return (value instanceof Number && !(value instanceof Float)) ?
+                            ((Number) value).doubleValue() : Double.parseDouble(value.toString());
+                } else {
+                    return value.toString();
+                }
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+    }
+
+    private static Long integral(Object value) {
+        if (value instanceof Double || value instanceof Float) {
+            double number = ((Number) value).doubleValue();
+            // non-integral values and values out of range for a long are not convertible.
+            return (number == Math.rint(number) && Math.abs(number) < 0x1p63) ? (long) number : null;
+        } else if (value instanceof Number) {
+            return ((Number) value).longValue();
+        } else {
+            return Long.parseLong(value.toString());
+        }
+    }
+
+    /**
+     * Converts the given range bound into the type of this accessor, bounds that
+     * are out of range for the type of the attribute are clamped as every value
+     * of the attribute is within the range.
+     *
+     * @param bound the lower or upper bound of a range.
+     * @return the converted bound or null if the bound is not convertible.
+     */
+    public Comparable bound(Long bound) {
+        if (type == Integer.class && bound != null) {
+            return (int) Math.max(Integer.MIN_VALUE, Math.min(Integer.MAX_VALUE, bound));
+        } else {
+            return coerce(bound);
+        }
+    }
+}
@@ -2,24 +2,25 @@ package com.codingchili.core.storage;
 
 import io.vertx.core.*;
 import io.vertx.core.json.JsonObject;
+import io.vertx.core.streams.ReadStream;
 import org.apache.http.HttpHost;
 import org.elasticsearch.ElasticsearchStatusException;
 import org.elasticsearch.action.*;
 import org.elasticsearch.action.admin.indices.delete.DeleteIndexRequest;
+import org.elasticsearch.action.bulk.*;
 import org.elasticsearch.action.delete.DeleteRequest;
 import org.elasticsearch.action.delete.DeleteResponse;
-import org.elasticsearch.action.get.GetRequest;
-import org.elasticsearch.action.get.GetResponse;
+import org.elasticsearch.action.get.*;
 import org.elasticsearch.action.index.IndexRequest;
 import org.elasticsearch.action.index.IndexResponse;
-import org.elasticsearch.action.search.SearchRequest;
-import org.elasticsearch.action.search.SearchResponse;
+import org.elasticsearch.action.search.*;
 import org.elasticsearch.action.support.master.AcknowledgedResponse;
 import org.elasticsearch.action.update.UpdateRequest;
 import org.elasticsearch.action.update.UpdateResponse;
 import org.elasticsearch.client.*;
 import org.elasticsearch.client.indices.*;
 import org.elasticsearch.common.bytes.BytesReference;
+import org.elasticsearch.common.unit.TimeValue;
 import org.elasticsearch.common.xcontent.XContentType;
 import org.elasticsearch.index.IndexNotFoundException;
 import org.elasticsearch.index.query.*;
@@ -30,6 +31,7 @@ import org.elasticsearch.search.sort.FieldSortBuilder;
 import org.elasticsearch.search.sort.SortOrder;
 
 import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
@@ -49,6 +51,7 @@ public class ElasticMap<Value extends Storable> implements AsyncStorage<Value> {
     private static final String ID_MAPPINGS = "mappings";
     private static final String ID_SETTINGS = "settings";
     private static final int MAX_RESULTS = 10000;
+    private static final TimeValue SCROLL_KEEP_ALIVE = TimeValue.timeValueMinutes(1);
     public static final String ARRAY_NOTATION = "";
     private StorageContext<Value> context;
     private RestHighLevelClient client;
@@ -278,6 +281,93 @@ public class ElasticMap<Value extends Storable> implements AsyncStorage<Value> {
         });
     }
 
+    @Override
+    public void getAll(Collection<String> keys, Handler<AsyncResult<Map<String, Value>>> handler) {
+        if (keys.isEmpty()) {
+            handler.handle(result(new HashMap<>()));
+            return;
+        }
+        MultiGetRequest request = new MultiGetRequest();
+        keys.forEach(key -> request.add(index, key));
+
+        client.mgetAsync(request, RequestOptions.DEFAULT, new ActionListener<>() {
+            @Override
+            public void onResponse(MultiGetResponse response) {
+                Map<String, Value> values = new HashMap<>();
+                for (MultiGetItemResponse item : response.getResponses()) {
+                    if (item.isFailed()) {
+                        if (!(item.getFailure().getFailure() instanceof IndexNotFoundException)) {
+                            handler.handle(error(item.getFailure().getFailure()));
+                            return;
+                        }
+                    } else if (item.getResponse().isExists()) {
+                        values.put(item.getId(), context.toValue(item.getResponse().getSourceAsString()));
+                    }
+                }
+                handler.handle(result(values));
+            }
+
+            @Override
+            public void onFailure(Exception e) {
+                handler.handle(error(e));
+            }
+        });
+    }
+
+    @Override
+    public void putAll(Collection<Value> values, Handler<AsyncResult<Map<String, AsyncResult<Void>>>> handler) {
+        BulkRequest request = new BulkRequest();
+        values.forEach(value -> request.add(new IndexRequest()
+                .index(index)
+                .source(Serializer.buffer(value).getBytes(), XContentType.JSON)
+                .id(value.getId())));
+
+        bulk(request, (item) -> result(), handler);
+    }
+
+    @Override
+    public void removeAll(Collection<String> keys, Handler<AsyncResult<Map<String, AsyncResult<Void>>>> handler) {
+        BulkRequest request = new BulkRequest();
+        keys.forEach(key -> request.add(new DeleteRequest()
+                .index(index)
+                .id(key)));
+
+        bulk(request, (item) -> {
+            if (item.getResponse().getResult().equals(DocWriteResponse.Result.DELETED)) {
+                return result();
+            } else {
+                return error(new NothingToRemoveException(item.getId()));
+            }
+        }, handler);
+    }
+
+    private void bulk(BulkRequest request, Function<BulkItemResponse, AsyncResult<Void>> mapper,
+                      Handler<AsyncResult<Map<String, AsyncResult<Void>>>> handler) {
+        if (request.numberOfActions() == 0) {
+            handler.handle(result(new HashMap<>()));
+            return;
+        }
+        client.bulkAsync(request, RequestOptions.DEFAULT, new ActionListener<>() {
+            @Override
+            public void onResponse(BulkResponse response) {
+                Map<String, AsyncResult<Void>> results = new HashMap<>();
+                for (BulkItemResponse item : response.getItems()) {
+                    if (item.isFailed()) {
+                        results.put(item.getId(), error(item.getFailure().getCause()));
+                    } else {
+                        results.put(item.getId(), mapper.apply(item));
+                    }
+                }
+                handler.handle(result(results));
+            }
+
+            @Override
+            public void onFailure(Exception e) {
+                handler.handle(error(e));
+            }
+        });
+    }
+
     @Override
     public void values(Handler<AsyncResult<Stream<Value>>> handler) {
         SearchRequest request = new SearchRequest()
@@ -423,8 +513,7 @@ public class ElasticMap<Value extends Storable> implements AsyncStorage<Value> {
                 return this;
             }
 
-            @Override
-            public void execute(Handler<AsyncResult<Collection<Value>>> handler) {
+            private BoolQueryBuilder getQuery() {
                 if (!builder.equals(new BoolQueryBuilder())) {
                     statements.add(builder);
                 }
@@ -433,8 +522,58 @@ public class ElasticMap<Value extends Storable> implements AsyncStorage<Value> {
                 for (BoolQueryBuilder statement : statements) {
                     query.should(statement);
                 }
+                return query;
+            }
 
-                SearchSourceBuilder source = getRequestWithOptions().query(query);
+            @Override
+            public ReadStream<Value> stream() {
+                // scrolling does not support an offset, the page is always ignored.
+                SearchRequest request = new SearchRequest()
+                        .indices(index)
+                        .source(getRequestWithOptions().from(0).query(getQuery()))
+                        .scroll(SCROLL_KEEP_ALIVE);
+
+                return new QueryStream<>(context, getPageSize(), new QueryStream.Cursor<>() {
+                    private String scrollId;
+
+                    @Override
+                    public void next(int count, Handler<AsyncResult<List<Value>>> handler) {
+                        ActionListener<SearchResponse> listener = new ActionListener<>() {
+                            @Override
+                            public void onResponse(SearchResponse response) {
+                                scrollId = response.getScrollId();
+                                handler.handle(result(listFrom(response.getHits().getHits())));
+                            }
+
+                            @Override
+                            public void onFailure(Exception e) {
+                                handler.handle(error(e));
+                            }
+                        };
+
+                        if (scrollId == null) {
+                            client.searchAsync(request, RequestOptions.DEFAULT, listener);
+                        } else {
+                            client.scrollAsync(new SearchScrollRequest(scrollId).scroll(SCROLL_KEEP_ALIVE),
+                                    RequestOptions.DEFAULT, listener);
+                        }
+                    }
+
+                    @Override
+                    public void close() {
+                        if (scrollId != null) {
+                            ClearScrollRequest clear = new ClearScrollRequest();
+                            clear.addScrollId(scrollId);
+                            client.clearScrollAsync(clear, RequestOptions.DEFAULT, ActionListener.wrap(
+                                    cleared -> {}, e -> context.logger(getClass()).onError(e)));
+                        }
+                    }
+                });
+            }
+
+            @Override
+            public void execute(Handler<AsyncResult<Collection<Value>>> handler) {
+                SearchSourceBuilder source = getRequestWithOptions().query(getQuery());
                 SearchRequest request = new SearchRequest()
                         .indices(index)
                         .source(source);
@@ -0,0 +1,61 @@
+package com.codingchili.core.storage;
+
+import io.vertx.core.Handler;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+
+import com.codingchili.core.context.StorageContext;
+
+/**
+ * Local registry of listeners that are notified when values are set in a storage.
+ * <p>
+ * Listeners are shared by all storages with the same identifier within the JVM,
+ * used by storages that are local to the JVM to publish changes.
+ */
+final class EntryListeners {
+    private static final Map<String, Set<Handler<?>>> listeners = new ConcurrentHashMap<>();
+
+    private EntryListeners() {
+    }
+
+    /**
+     * @param context  the context of the storage to listen on.
+     * @param listener called with each value that is set in the storage.
+     * @param <Value>  the type of the stored values.
+     */
+    static <Value extends Storable> void add(StorageContext<Value> context, Handler<Value> listener) {
+        listeners.computeIfAbsent(context.identifier(), (key) -> new CopyOnWriteArraySet<>()).add(listener);
+    }
+
+    /**
+     * @param context  the context of the storage that was listened on.
+     * @param listener the listener to remove.
+     * @param <Value>  the type of the stored values.
+     */
+    static <Value extends Storable> void remove(StorageContext<Value> context, Handler<Value> listener) {
+        Set<Handler<?>> registered = listeners.get(context.identifier());
+        if (registered != null) {
+            registered.remove(listener);
+        }
+    }
+
+    /**
+     * Notifies all listeners of the storage that a value has been set.
+     *
+     * @param context the context of the storage that the value was set in.
+     * @param value   the value that was set.
+     * @param <Value> the type of the stored values.
+     */
+    @SuppressWarnings("unchecked")
+    static <Value extends Storable> void publish(StorageContext<Value> context, Value value) {
+        Set<Handler<?>> registered = listeners.get(context.identifier());
+        if (registered != null) {
+            for (Handler<?> listener : registered) {
+                ((Handler<Value>) listener).handle(value);
+            }
+        }
+    }
+}
@@ -1,6 +1,10 @@
 package com.codingchili.core.storage;
 
-import java.util.Collection;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Handler;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
@@ -12,12 +16,24 @@ import com.codingchili.core.context.TimerSource;
  * Periodically executes a reusable query.
  * <p>
  * May be used as a near-cache.
+ * <p>
+ * Watchers created with {@link Query#watch(Consumer, TimerSource)} listens for changes
+ * in the storage if supported, see {@link AsyncStorage#addListener(Handler)}. The query
+ * is then only executed against the storage once and on each interval the query is
+ * executed by the storage only for the entries that has changed since the last interval,
+ * the consumer receives the changed entries only and removals are not reported. Changes
+ * are not recorded while the watcher is paused, the full query is executed on resume.
  */
 public class EntryWatcher<Value extends Storable> {
     private AtomicBoolean active = new AtomicBoolean(false);
     private Consumer<Collection<Value>> consumer = (collection) -> {
     };
+    private final Set<String> changed = ConcurrentHashMap.newKeySet();
+    private final Handler<Value> listener = (value) -> changed.add(value.getId());
     private Supplier<QueryBuilder<Value>> query;
+    private Query<Value> watched;
+    private volatile boolean listening = false;
+    private volatile boolean initialized = false;
     private AsyncStorage<Value> storage;
     private StorageContext context;
     private TimerSource timer;
@@ -37,6 +53,22 @@ public class EntryWatcher<Value extends Storable> {
         this.timer = timer;
     }
 
+    /**
+     * Creates a new (paused) entry watcher on the given storage that evaluates the
+     * given query against entries as they are changed. The consumer receives the
+     * full result on the first run and then only the changed entries that matches.
+     * If the storage does not support change listeners the query is executed at
+     * each interval.
+     *
+     * @param storage the storage to watch entries in
+     * @param query   a standalone query to evaluate changed entries with
+     * @param timer   interval at which changed entries are evaluated
+     */
+    public EntryWatcher(AsyncStorage<Value> storage, Query<Value> query, TimerSource timer) {
+        this(storage, () -> query, timer);
+        this.watched = query;
+    }
+
     /**
      * Changes the query of the entry watcher.
      *
@@ -45,6 +77,16 @@ public class EntryWatcher<Value extends Storable> {
      */
     public EntryWatcher<Value> setQuery(QueryBuilder<Value> query) {
         this.query = () -> query;
+        if (watched != null) {
+            // a watcher that evaluates changes polls if the new query is not standalone.
+            if (query instanceof Query) {
+                watched = (Query<Value>) query;
+            } else {
+                watched = null;
+                unlisten();
+            }
+        }
+        this.initialized = false;
         return this;
     }
 
@@ -79,10 +121,16 @@ public class EntryWatcher<Value extends Storable> {
     public EntryWatcher<Value> start(Consumer<Collection<Value>> consumer) {
         this.consumer = consumer;
         active.set(true);
+        listen();
 
         context.periodic(timer.setName(getClass().getName()), (handler) -> {
             if (active.get()) {
-                execute();
+                if (listening && initialized && watched != null) {
+                    evaluate();
+                } else {
+                    initialized = true;
+                    execute();
+                }
             }
         });
         return this;
@@ -90,14 +138,51 @@ public class EntryWatcher<Value extends Storable> {
 
     private void execute() {
         QueryBuilder<Value> query = this.query.get();
-        query.execute(q -> {
-            if (q.succeeded()) {
-                consumer.accept(q.result());
-                context.onWatcherCompleted(query.name(), q.result().size());
-            } else {
-                context.onWatcherFailed(query.name(), q.cause().getMessage());
+        query.execute(q -> handle(query.name(), q));
+    }
+
+    private void evaluate() {
+        List<String> ids = new ArrayList<>();
+
+        for (String id : changed) {
+            if (changed.remove(id)) {
+                ids.add(id);
             }
-        });
+        }
+
+        if (!ids.isEmpty()) {
+            // the storage evaluates the query natively, restricted to the changed entries.
+            Comparable[] keys = ids.toArray(new Comparable[0]);
+            watched.apply(storage.query(), builder -> builder.and(Storable.idField).in(keys))
+                    .page(0)
+                    .pageSize(keys.length)
+                    .execute(q -> handle(watched.name(), q));
+        }
+    }
+
+    private void listen() {
+        if (watched != null && !listening) {
+            listening = storage.addListener(listener);
+        }
+    }
+
+    private void unlisten() {
+        if (listening) {
+            storage.removeListener(listener);
+            listening = false;
+        }
+        // changes are not tracked while not listening, the next run executes the full query.
+        changed.clear();
+        initialized = false;
+    }
+
+    private void handle(String name, AsyncResult<Collection<Value>> q) {
+        if (q.succeeded()) {
+            consumer.accept(q.result());
+            context.onWatcherCompleted(name, q.result().size());
+        } else {
+            context.onWatcherFailed(name, q.cause().getMessage());
+        }
     }
 
     /**
@@ -105,6 +190,7 @@ public class EntryWatcher<Value extends Storable> {
      */
     public void pause() {
         active.set(false);
+        unlisten();
         context.onWatcherPaused(query.get().name());
     }
 
@@ -113,9 +199,19 @@ public class EntryWatcher<Value extends Storable> {
      */
     public void resume() {
         active.set(true);
+        listen();
         context.onWatcherResumed(query.get().name());
     }
 
+    /**
+     * Stops the watcher, a stopped watcher cannot be resumed.
+     */
+    public void stop() {
+        active.set(false);
+        unlisten();
+        timer.terminate();
+    }
+
     /**
      * Returns the state of the watcher.
      *
@@ -1,16 +1,17 @@
 package com.codingchili.core.storage;
 
 import com.hazelcast.config.IndexType;
-import com.hazelcast.core.Hazelcast;
-import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.*;
 import com.hazelcast.map.IMap;
 import com.hazelcast.query.*;
 import io.vertx.core.*;
 import io.vertx.core.impl.ConcurrentHashSet;
 import io.vertx.core.shareddata.AsyncMap;
+import io.vertx.core.streams.ReadStream;
 
 import java.io.Serializable;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Stream;
 
 import com.codingchili.core.configuration.CoreStrings;
@@ -27,6 +28,7 @@ import static com.codingchili.core.context.FutureHelper.*;
 public class HazelMap<Value extends Storable> implements AsyncStorage<Value> {
     private static final String HAZEL_ARRAY = "[any]";
     private final Set<String> indexed = new ConcurrentHashSet<>();
+    private final Map<Handler<Value>, UUID> listeners = new ConcurrentHashMap<>();
     private final StorageContext<Value> context;
     private AsyncMap<String, Value> map;
     private IMap<String, Value> imap;
@@ -125,6 +127,51 @@ public class HazelMap<Value extends Storable> implements AsyncStorage<Value> {
         });
     }
 
+    @Override
+    public void getAll(Collection<String> keys, Handler<AsyncResult<Map<String, Value>>> handler) {
+        context.blocking(blocked -> {
+            blocked.complete(imap.getAll(new HashSet<>(keys)));
+        }, handler);
+    }
+
+    @Override
+    public void putAll(Collection<Value> values, Handler<AsyncResult<Map<String, AsyncResult<Void>>>> handler) {
+        context.blocking(blocked -> {
+            Map<String, Value> entries = new HashMap<>();
+            values.forEach(value -> entries.put(value.getId(), value));
+            imap.putAll(entries);
+
+            Map<String, AsyncResult<Void>> results = new HashMap<>();
+            entries.keySet().forEach(key -> results.put(key, FutureHelper.result()));
+            blocked.complete(results);
+        }, handler);
+    }
+
+    @Override
+    public boolean addListener(Handler<Value> listener) {
+        // entry events are published for changes made by all members of the cluster.
+        listeners.put(listener, imap.addEntryListener(new EntryAdapter<String, Value>() {
+            @Override
+            public void entryAdded(EntryEvent<String, Value> event) {
+                listener.handle(event.getValue());
+            }
+
+            @Override
+            public void entryUpdated(EntryEvent<String, Value> event) {
+                listener.handle(event.getValue());
+            }
+        }, true));
+        return true;
+    }
+
+    @Override
+    public void removeListener(Handler<Value> listener) {
+        UUID registration = listeners.remove(listener);
+        if (registration != null) {
+            imap.removeEntryListener(registration);
+        }
+    }
+
     @Override
     public void values(Handler<AsyncResult<Stream<Value>>> handler) {
         context.<Stream<Value>>blocking(blocked -> {
@@ -261,6 +308,22 @@ public class HazelMap<Value extends Storable> implements AsyncStorage<Value> {
                 });
             }
 
+            @Override
+            public ReadStream<Value> stream() {
+                apply(operator, attribute());
+                // the pager iterates from the first page, the page of the query is ignored.
+                PagingPredicate<String, Value> paging = getPredicateWithPager();
+                paging.setPage(0);
+
+                return new QueryStream<>(context, getPageSize(), (count, handler) -> {
+                    context.<List<Value>>blocking(task -> {
+                        List<Value> batch = new ArrayList<>(imap.values(paging));
+                        paging.nextPage();
+                        task.complete(batch);
+                    }, true, handler);
+                });
+            }
+
             private PagingPredicate<String, Value> getPredicateWithPager() {
                 PagingPredicate<String, Value> paging;
 
@@ -0,0 +1,14 @@
+package com.codingchili.core.storage;
+
+/**
+ * Marker interface for storables that are never modified after being stored.
+ * <p>
+ * Storages that would otherwise copy values on read and write, such as
+ * {@link IndexedMapVolatile}, return the stored instance directly. Updates
+ * must be performed by storing a new instance that replaces the old one.
+ * <p>
+ * The same behavior can be enabled for any storable using
+ * {@link StorageLoader#withImmutableValues(boolean)}.
+ */
+public interface ImmutableStorable extends Storable {
+}
@@ -2,7 +2,6 @@ package com.codingchili.core.storage;
 
 import com.googlecode.cqengine.IndexedCollection;
 import com.googlecode.cqengine.attribute.*;
-import com.googlecode.cqengine.attribute.support.SimpleFunction;
 import com.googlecode.cqengine.query.option.QueryOptions;
 import com.googlecode.cqengine.resultset.ResultSet;
 import io.vertx.core.AsyncResult;
@@ -13,11 +12,11 @@ import java.util.function.Function;
 import java.util.stream.Stream;
 
 import com.codingchili.core.context.StorageContext;
-import com.codingchili.core.protocol.Serializer;
 import com.codingchili.core.storage.exception.*;
 
 import static com.codingchili.core.configuration.CoreStrings.STORAGE_ARRAY;
 import static com.googlecode.cqengine.query.QueryFactory.*;
+import static io.vertx.core.Future.failedFuture;
 import static io.vertx.core.Future.succeededFuture;
 
 /**
@@ -62,31 +61,75 @@ public abstract class IndexedMap<Value extends Storable> implements AsyncStorage
         return db;
     }
 
-    public Attribute<Value, String> getAttribute(String fieldName, boolean multiValue) {
-        if (holder.attributes.containsKey(fieldName)) {
-            return holder.attributes.get(fieldName);
-        } else {
-            Attribute<Value, String> attribute;
+    /**
+     * Gets an attribute that is typed by the field at the given path, numeric fields are
+     * represented by their native type and all other fields as strings.
+     *
+     * @param fieldName  the path of the field to get an attribute for.
+     * @param multiValue true if the field is a collection or array.
+     * @return an attribute for the given field.
+     */
+    @SuppressWarnings("unchecked")
+    public Attribute<Value, Comparable> getAttribute(String fieldName, boolean multiValue) {
+        return (Attribute<Value, Comparable>) holder.attributes.computeIfAbsent(fieldName, (key) -> {
+            AttributeAccessor accessor = AttributeAccessor.of(context.valueClass(), fieldName);
+            Class<Comparable> type = (Class<Comparable>) accessor.type();
 
             if (multiValue) {
-                attribute = new MultiValueAttribute<>(context.valueClass(), String.class, fieldName) {
+                return new MultiValueNullableAttribute<>(context.valueClass(), type, fieldName, true) {
                     @Override
-                    public Iterable<String> getValues(Value indexing, QueryOptions queryOptions) {
-                        return Serializer.getValueByPath(indexing, fieldName).stream()
-                                .map(item -> (item + ""))::iterator;
+                    public Iterable<Comparable> getNullableValues(Value indexing, QueryOptions queryOptions) {
+                        return accessor.values(indexing);
                     }
                 };
             } else {
-                attribute = attribute(context.valueClass(), String.class, fieldName,
-                        (SimpleFunction<Value, String>) (indexing) ->
-                                Serializer.getValueByPath(indexing, fieldName).iterator().next() + ""
-                );
+                return new SimpleNullableAttribute<>(context.valueClass(), type, fieldName) {
+                    @Override
+                    public Comparable getValue(Value indexing, QueryOptions queryOptions) {
+                        return accessor.value(indexing);
+                    }
+                };
             }
-            holder.attributes.put(fieldName, attribute);
-            return attribute;
+        });
+    }
+
+    /**
+     * Gets an attribute that represents the values of the given field as strings, used
+     * for text queries on fields that are not strings.
+     *
+     * @param fieldName  the path of the field to get an attribute for.
+     * @param multiValue true if the field is a collection or array.
+     * @return an attribute with the string values of the given field.
+     */
+    @SuppressWarnings("unchecked")
+    public Attribute<Value, String> getStringAttribute(String fieldName, boolean multiValue) {
+        Attribute<Value, Comparable> attribute = getAttribute(fieldName, multiValue);
+
+        if (String.class.equals(attribute.getAttributeType())) {
+            return (Attribute<Value, String>) (Attribute) attribute;
+        } else {
+            return holder.strings.computeIfAbsent(fieldName, (key) ->
+                    new MultiValueNullableAttribute<>(context.valueClass(), String.class, fieldName, true) {
+                        @Override
+                        public Iterable<String> getNullableValues(Value indexing, QueryOptions queryOptions) {
+                            List<String> values = new ArrayList<>();
+                            for (Comparable value : attribute.getValues(indexing, queryOptions)) {
+                                values.add(value.toString());
+                            }
+                            return values;
+                        }
+                    });
         }
     }
 
+    /**
+     * @param fieldName the path of the field to get an accessor for.
+     * @return an accessor that is used to convert query arguments to the type of the attribute.
+     */
+    public AttributeAccessor getAccessor(String fieldName) {
+        return AttributeAccessor.of(context.valueClass(), fieldName);
+    }
+
     @Override
     public void addIndex(String fieldName) {
         if (!holder.indexed.contains(fieldName)) {
@@ -95,9 +138,7 @@ public abstract class IndexedMap<Value extends Storable> implements AsyncStorage
                     boolean multiValued = fieldName.contains(STORAGE_ARRAY);
                     fieldName = fieldName.replace(STORAGE_ARRAY, "");
                     try {
-                        Attribute<Value, String> attribute = getAttribute(fieldName, multiValued);
-                        holder.attributes.put(fieldName, attribute);
-                        addIndexesForAttribute(attribute);
+                        addIndexesForAttribute(getAttribute(fieldName, multiValued));
                     } catch (Throwable e) {
                         context.logger(getClass()).onError(e);
                     } finally {
@@ -112,7 +153,7 @@ public abstract class IndexedMap<Value extends Storable> implements AsyncStorage
     /**
      * @param attribute the attribute to add an index for based on implementation.
      */
-    protected abstract void addIndexesForAttribute(Attribute<Value, String> attribute);
+    protected abstract void addIndexesForAttribute(Attribute<Value, Comparable> attribute);
 
     /**
      * @param mapper a mapper that is executed on all values returned from the map.
@@ -140,12 +181,14 @@ public abstract class IndexedMap<Value extends Storable> implements AsyncStorage
             try (ResultSet<Value> result = db.retrieve(equal(FIELD_ID, value.getId()))) {
                 if (result.isEmpty()) {
                     db.add(mapper.apply(value));
+                    EntryListeners.publish(context, value);
                     blocking.complete();
                 } else {
                     boolean updated = db.update(Collections.singleton(result.iterator().next()),
                             Collections.singleton(mapper.apply(value)));
 
                     if (updated) {
+                        EntryListeners.publish(context, value);
                         blocking.complete();
                     } else {
                         blocking.fail(new NothingToRemoveException(value.getId()));
@@ -163,6 +206,7 @@ public abstract class IndexedMap<Value extends Storable> implements AsyncStorage
                     blocking.fail(new ValueAlreadyPresentException(value.getId()));
                 } else {
                     db.add(mapper.apply(value));
+                    EntryListeners.publish(context, value);
                     blocking.complete();
                 }
             }
@@ -195,6 +239,7 @@ public abstract class IndexedMap<Value extends Storable> implements AsyncStorage
                     boolean updated = db.update(Collections.singleton(result.iterator().next()), Collections.singleton(mapper.apply(value)));
 
                     if (updated) {
+                        EntryListeners.publish(context, value);
                         blocking.complete();
                     } else {
                         blocking.fail(new NothingToRemoveException(value.getId()));
@@ -206,6 +251,65 @@ public abstract class IndexedMap<Value extends Storable> implements AsyncStorage
         }, handler);
     }
 
+    @Override
+    public void getAll(Collection<String> keys, Handler<AsyncResult<Map<String, Value>>> handler) {
+        context.blocking(blocking -> {
+            Map<String, Value> values = new HashMap<>();
+            try (ResultSet<Value> result = db.retrieve(in(FIELD_ID, keys))) {
+                result.forEach(value -> values.put(value.getId(), mapper.apply(value)));
+            }
+            blocking.complete(values);
+        }, handler);
+    }
+
+    @Override
+    public void putAll(Collection<Value> values, Handler<AsyncResult<Map<String, AsyncResult<Void>>>> handler) {
+        context.blocking(blocking -> {
+            Map<String, Value> added = new LinkedHashMap<>();
+            values.forEach(value -> added.put(value.getId(), mapper.apply(value)));
+
+            try (ResultSet<Value> result = db.retrieve(in(FIELD_ID, added.keySet()))) {
+                List<Value> existing = new ArrayList<>(result.size());
+                result.forEach(existing::add);
+                // replaces existing entries and adds new ones with a single update.
+                db.update(existing, added.values());
+            }
+
+            Map<String, AsyncResult<Void>> results = new HashMap<>();
+            added.keySet().forEach(key -> results.put(key, succeededFuture()));
+            values.forEach(value -> EntryListeners.publish(context, value));
+            blocking.complete(results);
+        }, handler);
+    }
+
+    @Override
+    public void removeAll(Collection<String> keys, Handler<AsyncResult<Map<String, AsyncResult<Void>>>> handler) {
+        context.blocking(blocking -> {
+            Map<String, AsyncResult<Void>> results = new HashMap<>();
+
+            try (ResultSet<Value> result = db.retrieve(in(FIELD_ID, keys))) {
+                List<Value> existing = new ArrayList<>(result.size());
+                result.forEach(existing::add);
+                db.removeAll(existing);
+                existing.forEach(value -> results.put(value.getId(), succeededFuture()));
+            }
+
+            keys.forEach(key -> results.putIfAbsent(key, failedFuture(new NothingToRemoveException(key))));
+            blocking.complete(results);
+        }, handler);
+    }
+
+    @Override
+    public boolean addListener(Handler<Value> listener) {
+        EntryListeners.add(context, listener);
+        return true;
+    }
+
+    @Override
+    public void removeListener(Handler<Value> listener) {
+        EntryListeners.remove(context, listener);
+    }
+
     @Override
     public void values(Handler<AsyncResult<Stream<Value>>> handler) {
         handler.handle(succeededFuture(db.stream()));
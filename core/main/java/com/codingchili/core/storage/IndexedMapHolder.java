@@ -4,6 +4,7 @@ import com.googlecode.cqengine.IndexedCollection;
 import com.googlecode.cqengine.attribute.Attribute;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * A holder class that holds references to shared data between instantiated storages.
@@ -11,7 +12,8 @@ import java.util.*;
 public class IndexedMapHolder<Value> {
     public final Set<String> indexed = new HashSet<>(Collections.singleton(Storable.idField));
     public final IndexedCollection<Value> db;
-    public Map<String, Attribute<Value, String>> attributes = new HashMap<>();
+    public Map<String, Attribute<Value, ?>> attributes = new ConcurrentHashMap<>();
+    public Map<String, Attribute<Value, String>> strings = new ConcurrentHashMap<>();
 
     public IndexedMapHolder(IndexedCollection<Value> db) {
         this.db = db;
@@ -23,6 +23,10 @@ import com.codingchili.core.context.StorageContext;
  * The update method for disk persistence cannot be trusted.
  * It only replaces an existing version by using the objects serialized form as its
  * composite PK.
+ * <p>
+ * Indexes on numeric fields are keyed by their numeric type. Disk indexes that were
+ * created when all fields were indexed as strings must be rebuilt by calling
+ * {@link #reindex()} once before the storage is loaded.
  */
 public class IndexedMapPersisted<Value extends Storable> extends IndexedMap<Value> {
     private static final AtomicBoolean LOADED = new AtomicBoolean(false);
@@ -56,7 +60,9 @@ public class IndexedMapPersisted<Value extends Storable> extends IndexedMap<Valu
     }
 
     @Override
-    public void addIndexesForAttribute(Attribute<Value, String> attribute) {
+    @SuppressWarnings("unchecked")
+    public void addIndexesForAttribute(Attribute<Value, Comparable> attribute) {
+        // the attribute type is one of Integer, Long, Double or String, see AttributeAccessor.
         db.addIndex(DiskIndex.onAttribute(attribute));
     }
 
@@ -7,6 +7,7 @@ import com.googlecode.cqengine.query.option.*;
 import com.googlecode.cqengine.resultset.ResultSet;
 import io.vertx.core.AsyncResult;
 import io.vertx.core.Handler;
+import io.vertx.core.streams.ReadStream;
 
 import java.util.*;
 import java.util.function.Function;
@@ -20,8 +21,10 @@ import static com.googlecode.cqengine.query.QueryFactory.*;
  *
  * @param <Value> the value that is being queried.
  */
+@SuppressWarnings("unchecked")
 public class IndexedMapQuery<Value extends Storable> extends AbstractQueryBuilder<Value> {
-    private Attribute<Value, String> field;
+    private Attribute<Value, Comparable> field;
+    private AttributeAccessor accessor;
     private List<Query<Value>> statements = new ArrayList<>();
     private IndexedMap<Value> storage;
     private Query<Value> builder;
@@ -54,6 +57,16 @@ public class IndexedMapQuery<Value extends Storable> extends AbstractQueryBuilde
     private void prepareField(String attribute) {
         setAttribute(attribute);
         field = storage.getAttribute(attribute, isAttributeArray());
+        accessor = storage.getAccessor(attribute);
+    }
+
+    private Attribute<Value, String> text() {
+        return storage.getStringAttribute(getAttribute(), isAttributeArray());
+    }
+
+    private Query<Value> none() {
+        // the query argument is not convertible to the attribute type: no matches.
+        return QueryFactory.none(storage.context.valueClass());
     }
 
     private void next() {
@@ -77,40 +90,59 @@ public class IndexedMapQuery<Value extends Storable> extends AbstractQueryBuilde
 
     @Override
     public QueryBuilder<Value> between(Long minimum, Long maximum) {
-        statements.add(QueryFactory.between(field, minimum + "", maximum + ""));
+        Comparable low = accessor.bound(minimum);
+        Comparable high = accessor.bound(maximum);
+
+        if (low != null && high != null) {
+            statements.add(QueryFactory.between(field, low, high));
+        } else {
+            statements.add(none());
+        }
         return this;
     }
 
     @Override
     public QueryBuilder<Value> like(String text) {
-        statements.add(QueryFactory.contains(field, text));
+        statements.add(QueryFactory.contains(text(), text));
         return this;
     }
 
     @Override
     public QueryBuilder<Value> startsWith(String text) {
-        statements.add(QueryFactory.startsWith(field, text));
+        statements.add(QueryFactory.startsWith(text(), text));
         return this;
     }
 
     @Override
     public QueryBuilder<Value> in(Comparable... list) {
-        statements.add(QueryFactory.in(field,
-                Arrays.stream(list)
-                        .map(Object::toString)
-                        .collect(Collectors.toList())));
+        List<Comparable> values = Arrays.stream(list)
+                .map(accessor::coerce)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+
+        if (values.isEmpty()) {
+            statements.add(none());
+        } else {
+            statements.add(QueryFactory.in(field, values));
+        }
         return this;
     }
 
     @Override
     public QueryBuilder<Value> equalTo(Comparable match) {
-        statements.add(QueryFactory.equal(field, (match + "")));
+        Comparable value = accessor.coerce(match);
+
+        if (value != null) {
+            statements.add(QueryFactory.equal(field, value));
+        } else {
+            statements.add(none());
+        }
         return this;
     }
 
     @Override
     public QueryBuilder<Value> matches(String regex) {
-        statements.add(QueryFactory.matchesRegex(field, regex));
+        statements.add(QueryFactory.matchesRegex(text(), regex));
         return this;
     }
 
@@ -132,6 +164,38 @@ public class IndexedMapQuery<Value extends Storable> extends AbstractQueryBuilde
         }, handler);
     }
 
+    @Override
+    public ReadStream<Value> stream() {
+        next();
+
+        return new QueryStream<>(storage.context, getPageSize(), new QueryStream.Cursor<>() {
+            private ResultSet<Value> values;
+            private Iterator<Value> iterator;
+
+            @Override
+            public void next(int count, Handler<AsyncResult<List<Value>>> handler) {
+                storage.context.blocking(blocking -> {
+                    if (iterator == null) {
+                        values = storage.db.retrieve(builder, getQueryOptions());
+                        iterator = values.iterator();
+                    }
+                    List<Value> batch = new ArrayList<>();
+                    while (batch.size() < count && iterator.hasNext()) {
+                        batch.add(mapper.apply(iterator.next()));
+                    }
+                    blocking.complete(batch);
+                }, handler);
+            }
+
+            @Override
+            public void close() {
+                if (values != null) {
+                    values.close();
+                }
+            }
+        });
+    }
+
     public IndexedMapQuery<Value> setMapper(Function<Value, Value> mapper) {
         this.mapper = mapper;
         return this;
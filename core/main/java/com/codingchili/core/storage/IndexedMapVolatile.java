@@ -17,6 +17,9 @@ import com.codingchili.core.protocol.Serializer;
  * A storage implementation that is local and indexed. Always use this when using queries.
  * The indexing is fully based on CQEngine. see http://github.com/npgall/cqengine
  * The db/collection is shared over multiple instances.
+ * <p>
+ * Values are deep copied on read and write unless the storage is configured
+ * with immutable values, see {@link ImmutableStorable}.
  */
 public class IndexedMapVolatile<Value extends Storable> extends IndexedMap<Value> {
 
@@ -31,16 +34,23 @@ public class IndexedMapVolatile<Value extends Storable> extends IndexedMap<Value
 
         // we perform this expensive operation to simplify clients - otherwise
         // clients would need to copy objects when using this storage and not
-        // others for updates. Should probably be removed later and documented instead.
-        setMapper((value) -> Serializer.kryo((kryo) -> {
-            Serializer.skipTransient(kryo, value.getClass());
-            return kryo.copy(value);
-        }));
+        // others for updates. Immutable values are shared and replaced on write.
+        if (!context.immutable()) {
+            setMapper((value) -> Serializer.kryo((kryo) -> {
+                Serializer.skipTransient(kryo, value.getClass());
+                return kryo.copy(value);
+            }));
+        }
     }
 
     @Override
-    public void addIndexesForAttribute(Attribute<Value, String> attribute) {
+    @SuppressWarnings("unchecked")
+    public void addIndexesForAttribute(Attribute<Value, Comparable> attribute) {
         db.addIndex(NavigableIndex.onAttribute(attribute));
-        db.addIndex(RadixTreeIndex.onAttribute(attribute));
+
+        // numeric attributes are only indexed on their native type.
+        if (String.class.equals(attribute.getAttributeType())) {
+            db.addIndex(RadixTreeIndex.onAttribute((Attribute<Value, String>) (Attribute) attribute));
+        }
     }
 }
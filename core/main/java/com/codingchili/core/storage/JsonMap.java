@@ -6,7 +6,6 @@ import io.vertx.core.json.JsonObject;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Stream;
 
 import com.codingchili.core.context.*;
@@ -21,19 +20,25 @@ import static com.codingchili.core.context.FutureHelper.*;
 /**
  * Map backed by a json-file.
  * <p>
- * Do not use for data that is changing frequently, as this is extremely inefficient.
- * The dirty-state of the map will be checked to determine when the map should be
- * persisted. This is done in intervals specified in plugin configuration.
+ * When persistence is enabled all mutations are recorded in an append-only log
+ * for each collection, see {@link JsonMapLog}. The log is written to disk in
+ * intervals specified in plugin configuration and compacted into a snapshot of
+ * the collection when it contains more records than the configured threshold.
+ * Mutations of a persisted map are completed when they are written to disk, which
+ * may take up to the persist interval.
  * <p>
- * this map flushes its contents to disk every now and then.
+ * The snapshot is loaded and the log replayed when the map is first loaded.
  */
 public class JsonMap<Value extends Storable> implements AsyncStorage<Value> {
     private static final String JSONMAP_WORKERS = "asyncjsonmap.workers";
+    private static final String ID_COMPACT_THRESHOLD = "compactThreshold";
+    private static final int DEFAULT_COMPACT_THRESHOLD = 8192;
     private static Map<String, JsonObject> maps = new ConcurrentHashMap<>();
-    private static AtomicBoolean dirty = new AtomicBoolean(false);
+    private static Map<String, JsonMapLog> logs = new ConcurrentHashMap<>();
     private WorkerExecutor fileWriter;
     private JsonObject db = new JsonObject();
     private StorageContext<Value> context;
+    private JsonMapLog log;
 
     /**
      * Creates a new possibly shared instance of the JsonMap storage plugin. It's recommended
@@ -48,12 +53,20 @@ public class JsonMap<Value extends Storable> implements AsyncStorage<Value> {
 
         if (maps.containsKey(context.identifier())) {
             this.db = maps.get(context.identifier());
+            this.log = logs.get(context.identifier());
         } else {
-            try {
-                this.db = ConfigurationFactory.readObject(dbPath());
-            } catch (NoSuchResourceException e) {
-                logger.log(getFileReadError(dbPath()));
+            this.log = new JsonMapLog(dbPath());
+
+            if (context.storage().isPersisted()) {
+                this.db = log.load();
+            } else {
+                try {
+                    this.db = ConfigurationFactory.readObject(dbPath());
+                } catch (NoSuchResourceException e) {
+                    logger.log(getFileReadError(dbPath()));
+                }
             }
+            logs.put(context.identifier(), log);
             maps.put(context.identifier(), db);
         }
         this.fileWriter = context.vertx().createSharedWorkerExecutor(JSONMAP_WORKERS);
@@ -73,12 +86,7 @@ public class JsonMap<Value extends Storable> implements AsyncStorage<Value> {
         TimerSource timer = TimerSource.of(context.storage()::getPersistInterval)
                 .setName(context.identifier());
 
-        context.periodic(timer, event -> {
-            if (dirty.get()) {
-                save();
-                dirty.set(false);
-            }
-        });
+        context.periodic(timer, event -> save());
     }
 
     @Override
@@ -99,8 +107,7 @@ public class JsonMap<Value extends Storable> implements AsyncStorage<Value> {
 
     @Override
     public void put(Value value, Handler<AsyncResult<Void>> handler) {
-        put(value);
-        handler.handle(FutureHelper.result());
+        write(value, handler);
     }
 
     @Override
@@ -110,8 +117,7 @@ public class JsonMap<Value extends Storable> implements AsyncStorage<Value> {
         if (current.isPresent()) {
             handler.handle(error(new ValueAlreadyPresentException(value.getId())));
         } else {
-            put(value);
-            handler.handle(FutureHelper.result());
+            write(value, handler);
         }
     }
 
@@ -120,9 +126,7 @@ public class JsonMap<Value extends Storable> implements AsyncStorage<Value> {
         Optional<Value> current = get(key);
 
         if (current.isPresent()) {
-            remove(key);
-            handler.handle(FutureHelper.result());
-            dirty();
+            delete(key, handler);
         } else {
             handler.handle(error(new NothingToRemoveException(key)));
         }
@@ -133,13 +137,23 @@ public class JsonMap<Value extends Storable> implements AsyncStorage<Value> {
         Optional<Value> current = get(value.getId());
 
         if (current.isPresent()) {
-            put(value);
-            handler.handle(FutureHelper.result());
+            write(value, handler);
         } else {
             handler.handle(error(new NothingToUpdateException(value.getId())));
         }
     }
 
+    @Override
+    public boolean addListener(Handler<Value> listener) {
+        EntryListeners.add(context, listener);
+        return true;
+    }
+
+    @Override
+    public void removeListener(Handler<Value> listener) {
+        EntryListeners.remove(context, listener);
+    }
+
     @Override
     public void values(Handler<AsyncResult<Stream<Value>>> handler) {
         context.blocking((blocking) -> {
@@ -153,8 +167,12 @@ public class JsonMap<Value extends Storable> implements AsyncStorage<Value> {
     @Override
     public void clear(Handler<AsyncResult<Void>> handler) {
         db.clear();
-        handler.handle(FutureHelper.result());
-        dirty();
+
+        if (context.storage().isPersisted()) {
+            log.clear(handler);
+        } else {
+            handler.handle(FutureHelper.result());
+        }
     }
 
     @Override
@@ -190,26 +208,49 @@ public class JsonMap<Value extends Storable> implements AsyncStorage<Value> {
         }
     }
 
-    private void put(Value value) {
-        db.put(value.getId(), context.toJson(value));
-        dirty();
+    private void write(Value value, Handler<AsyncResult<Void>> handler) {
+        JsonObject json = context.toJson(value);
+        db.put(value.getId(), json);
+        // listeners are notified before the handler, as by the other local storages.
+        EntryListeners.publish(context, value);
+
+        if (context.storage().isPersisted()) {
+            log.put(value.getId(), json, handler);
+        } else {
+            handler.handle(FutureHelper.result());
+        }
     }
 
-    private void remove(String key) {
+    private void delete(String key, Handler<AsyncResult<Void>> handler) {
         db.remove(key);
-        dirty();
+
+        if (context.storage().isPersisted()) {
+            log.remove(key, handler);
+        } else {
+            handler.handle(FutureHelper.result());
+        }
     }
 
     private void save() {
         if (context.storage().isPersisted()) {
-            fileWriter.executeBlocking(execute -> {
-                ConfigurationFactory.writeObject(db, dbPath());
-            }, true, result -> {
-            });
+            boolean compact = log.isCompactable(compactThreshold());
+
+            if (compact || log.hasPending()) {
+                // the copy is taken before the records are drained, see JsonMapLog.
+                JsonObject snapshot = (compact) ? db.copy() : null;
+                fileWriter.<Void>executeBlocking(execute -> {
+                    log.commit(snapshot);
+                    execute.complete();
+                }, false, done -> {
+                    if (done.failed()) {
+                        context.logger(getClass()).onError(done.cause());
+                    }
+                });
+            }
         }
     }
 
-    private void dirty() {
-        dirty.set(true);
+    private int compactThreshold() {
+        return context.properties().getInteger(ID_COMPACT_THRESHOLD, DEFAULT_COMPACT_THRESHOLD);
     }
 }
\ No newline at end of file
@@ -0,0 +1,305 @@
+package com.codingchili.core.storage;
+
+import io.vertx.core.*;
+import io.vertx.core.json.DecodeException;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.json.jackson.JacksonCodec;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.codingchili.core.configuration.CoreStrings;
+import com.codingchili.core.context.CoreRuntimeException;
+import com.codingchili.core.files.ConfigurationFactory;
+import com.codingchili.core.files.exception.NoSuchResourceException;
+
+import static com.codingchili.core.configuration.CoreStrings.ID_KEY;
+
+/**
+ * Append-only mutation log for a single {@link JsonMap} collection.
+ * <p>
+ * Mutations are recorded in memory and appended to the log file in batches,
+ * each batch is synced to disk once. The handler of a mutation is completed on
+ * the context that recorded it when its batch has been synced, or failed if the
+ * batch could not be written. The log is compacted by atomically replacing the
+ * snapshot of the collection and then truncating the log. On startup the snapshot
+ * is read and the log replayed on top of it.
+ * <p>
+ * Records are newline delimited json objects. Batches are drained and written under
+ * a single lock, so records are written in the order they were recorded by all
+ * instances of a collection. The snapshot is taken before the batch that is written
+ * after it is drained, it may therefore already contain some of the records in the log.
+ * Records set or remove a key, so replaying the records in order on such a snapshot
+ * gives the same result. A record that was partially written is truncated from the
+ * log when it is loaded.
+ */
+public class JsonMapLog {
+    private static final String LOG_EXTENSION = ".log";
+    private static final String TMP_EXTENSION = ".tmp";
+    private static final String ID_OPERATION = "op";
+    private static final String ID_VALUE = "value";
+    private static final String PUT = "put";
+    private static final String REMOVE = "remove";
+    private static final String CLEAR = "clear";
+    // the shared object mapper is configured to indent, records must be on a single line.
+    private static final JacksonCodec codec = new JacksonCodec();
+    private final Object writer = new Object();
+    private Batch pending = new Batch();
+    private final String snapshot;
+    private final Path log;
+    private long logged = 0;
+
+    /**
+     * @param snapshot the path to the snapshot of the collection, the log
+     *                 is stored next to the snapshot.
+     */
+    public JsonMapLog(String snapshot) {
+        this.snapshot = snapshot;
+        this.log = Paths.get(snapshot + LOG_EXTENSION).toAbsolutePath();
+    }
+
+    /**
+     * Reads the snapshot and replays the log on top of it.
+     *
+     * @return the contents of the collection.
+     */
+    public JsonObject load() {
+        JsonObject db;
+        try {
+            db = ConfigurationFactory.readObject(snapshot);
+        } catch (NoSuchResourceException e) {
+            db = new JsonObject();
+        }
+        if (log.toFile().exists()) {
+            try {
+                byte[] bytes = Files.readAllBytes(log);
+                int start = 0;
+                for (int i = 0; i < bytes.length; i++) {
+                    if (bytes[i] == '\n') {
+                        replay(db, new String(bytes, start, i - start, StandardCharsets.UTF_8));
+                        logged++;
+                        start = i + 1;
+                    }
+                }
+                if (start < bytes.length) {
+                    // the last record is incomplete if a write was interrupted, it is removed
+                    // so that the next record is not appended to it.
+                    try (FileChannel channel = FileChannel.open(log, StandardOpenOption.WRITE)) {
+                        channel.truncate(start);
+                        channel.force(false);
+                    }
+                }
+            } catch (IOException e) {
+                throw new CoreRuntimeException(CoreStrings.getFileReadError(log.toString()));
+            }
+        }
+        return db;
+    }
+
+    private void replay(JsonObject db, String line) {
+        JsonObject record;
+        try {
+            record = new JsonObject(line);
+        } catch (DecodeException e) {
+            // only the last record may be incomplete, complete records are never corrupt.
+            throw new CoreRuntimeException(CoreStrings.getFileReadError(log.toString()));
+        }
+        switch (record.getString(ID_OPERATION, "")) {
+            case PUT:
+                db.put(record.getString(ID_KEY), record.getJsonObject(ID_VALUE));
+                break;
+            case REMOVE:
+                db.remove(record.getString(ID_KEY));
+                break;
+            case CLEAR:
+                db.clear();
+                break;
+        }
+    }
+
+    /**
+     * @param key     the key of the value that was set.
+     * @param value   the value that was set.
+     * @param handler completed when the record is written to disk.
+     */
+    public synchronized void put(String key, JsonObject value, Handler<AsyncResult<Void>> handler) {
+        pending.add(new JsonObject()
+                .put(ID_OPERATION, PUT)
+                .put(ID_KEY, key)
+                .put(ID_VALUE, value), handler);
+    }
+
+    /**
+     * @param key     the key of the value that was removed.
+     * @param handler completed when the record is written to disk.
+     */
+    public synchronized void remove(String key, Handler<AsyncResult<Void>> handler) {
+        pending.add(new JsonObject()
+                .put(ID_OPERATION, REMOVE)
+                .put(ID_KEY, key), handler);
+    }
+
+    /**
+     * Records that all values has been removed.
+     *
+     * @param handler completed when the record is written to disk.
+     */
+    public synchronized void clear(Handler<AsyncResult<Void>> handler) {
+        pending.add(new JsonObject().put(ID_OPERATION, CLEAR), handler);
+    }
+
+    /**
+     * @return true if there are records that has not yet been written to the log.
+     */
+    public synchronized boolean hasPending() {
+        return !pending.isEmpty();
+    }
+
+    /**
+     * Drains the pending records and writes them to the log, the log is compacted
+     * first if a snapshot is given. The records of all instances of a collection must
+     * be written with this method to keep them in order. Must not be called from an
+     * event loop.
+     *
+     * @param snapshot a copy of the collection to compact the log with, or null
+     *                 if the log is not compacted.
+     * @throws CoreRuntimeException if the records could not be written, the handlers
+     *                              of the records are failed.
+     */
+    public void commit(JsonObject snapshot) {
+        synchronized (writer) {
+            Batch batch = drain();
+            try {
+                if (snapshot != null) {
+                    compact(snapshot);
+                }
+                append(batch);
+                batch.complete(Future.succeededFuture());
+            } catch (CoreRuntimeException e) {
+                batch.complete(Future.failedFuture(e));
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * @return records that has not yet been written to the log, the pending
+     * records are reset.
+     */
+    public synchronized Batch drain() {
+        Batch batch = pending;
+        pending = new Batch();
+        return batch;
+    }
+
+    /**
+     * @param threshold the maximum number of records in the log before compaction.
+     * @return true if the log contains more records than the given threshold.
+     */
+    public synchronized boolean isCompactable(int threshold) {
+        return logged >= threshold;
+    }
+
+    /**
+     * Appends the given records to the log as a single write and syncs it to disk.
+     * Must not be called from an event loop.
+     *
+     * @param records the records to write, see {@link #drain()}.
+     */
+    public void append(Batch records) {
+        if (!records.isEmpty()) {
+            StringBuilder batch = new StringBuilder();
+            for (JsonObject record : records.records) {
+                batch.append(codec.toString(record, false)).append('\n');
+            }
+            synchronized (writer) {
+                try {
+                    Files.createDirectories(log.getParent());
+                    try (FileChannel channel = FileChannel.open(log,
+                            StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+                        ByteBuffer buffer = ByteBuffer.wrap(batch.toString().getBytes(StandardCharsets.UTF_8));
+                        while (buffer.hasRemaining()) {
+                            channel.write(buffer);
+                        }
+                        channel.force(false);
+                    }
+                    synchronized (this) {
+                        logged += records.records.size();
+                    }
+                } catch (IOException e) {
+                    throw new CoreRuntimeException(CoreStrings.getFileWriteError(log.toString()));
+                }
+            }
+        }
+    }
+
+    /**
+     * Replaces the snapshot and truncates the log. Must not be called from an event loop.
+     * <p>
+     * The snapshot is written to a temporary file that is synced to disk and moved over
+     * the previous snapshot, the log is only truncated when the snapshot is replaced.
+     *
+     * @param db a copy of the collection that contains all records that has been drained.
+     */
+    public void compact(JsonObject db) {
+        Path target = Paths.get(snapshot).toAbsolutePath();
+        Path temporary = Paths.get(target + TMP_EXTENSION);
+        synchronized (writer) {
+            compact(db, target, temporary);
+        }
+    }
+
+    private void compact(JsonObject db, Path target, Path temporary) {
+        try {
+            Files.createDirectories(target.getParent());
+            // the file store is resolved by the extension of the snapshot.
+            ConfigurationFactory.get(snapshot).writeObject(db, temporary);
+
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+                channel.force(true);
+            }
+            Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE);
+            Files.deleteIfExists(log);
+            synchronized (this) {
+                logged = 0;
+            }
+        } catch (IOException e) {
+            throw new CoreRuntimeException(CoreStrings.getFileWriteError(target.toString()));
+        }
+    }
+
+    /**
+     * Records drained from the log together with the handlers that are completed
+     * when the records are written to disk.
+     */
+    public static class Batch {
+        private final List<JsonObject> records = new ArrayList<>();
+        private final List<Handler<AsyncResult<Void>>> handlers = new ArrayList<>();
+
+        private void add(JsonObject record, Handler<AsyncResult<Void>> handler) {
+            Context context = Vertx.currentContext();
+            records.add(record);
+            handlers.add((context == null) ? handler :
+                    result -> context.runOnContext(v -> handler.handle(result)));
+        }
+
+        /**
+         * @return true if the batch does not contain any records.
+         */
+        public boolean isEmpty() {
+            return records.isEmpty();
+        }
+
+        /**
+         * @param result the result of writing the batch, passed to the handler of each record.
+         */
+        public void complete(AsyncResult<Void> result) {
+            handlers.forEach(handler -> handler.handle(result));
+        }
+    }
+}
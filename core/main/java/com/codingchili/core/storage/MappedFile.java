@@ -0,0 +1,438 @@
+package com.codingchili.core.storage;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.codingchili.core.configuration.CoreStrings;
+import com.codingchili.core.context.CoreRuntimeException;
+
+/**
+ * Record store for a single {@link MappedMap} collection, the records are kept
+ * in a memory-mapped file outside of the heap.
+ * <p>
+ * The file is mapped in segments of a fixed size, records are appended and never
+ * span two segments. Records that are replaced or removed are marked as dead and
+ * the space is reclaimed by copying the live records into a new file that replaces
+ * the current file when complete, a crash during compaction leaves the current file
+ * intact. The write position is kept in the header of the file, on startup the
+ * records are scanned to rebuild the index.
+ * <p>
+ * Keys are indexed with an open addressing table of record offsets, the key of
+ * the record is read from the file on lookup. The heap cost of the index is
+ * one long for each slot regardless of the size of keys and values.
+ */
+public class MappedFile {
+    private static final String EXT_COMPACT = ".compact";
+    private static final int HEADER = Long.BYTES;
+    // length of the record, the state and the length of the key.
+    private static final int RECORD_HEADER = Integer.BYTES + 1 + Integer.BYTES;
+    private static final byte LIVE = 1;
+    private static final byte DEAD = 0;
+    private static final long EMPTY = 0;
+    private static final long TOMBSTONE = -1;
+    private static final int MIN_SLOTS = 16;
+    private final int segmentSize;
+    private final Path path;
+    private final Path compacted;
+    private List<ByteBuffer> segments = new ArrayList<>();
+    private FileChannel channel;
+    private long[] slots = new long[MIN_SLOTS];
+    private int used = 0;
+    private int count = 0;
+    private long dead = 0;
+    private long end = HEADER;
+
+    /**
+     * Opens the given file and rebuilds the index from the records in it.
+     *
+     * @param path        the file to map, created if it does not exist.
+     * @param segmentSize the size of each mapped segment, records must fit in one segment.
+     */
+    public MappedFile(Path path, int segmentSize) {
+        this.path = path;
+        this.compacted = path.resolveSibling(path.getFileName() + EXT_COMPACT);
+        this.segmentSize = segmentSize;
+        try {
+            Files.createDirectories(path.toAbsolutePath().getParent());
+            // left over from a compaction that did not complete.
+            Files.deleteIfExists(compacted);
+            this.channel = FileChannel.open(path,
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            map(0);
+            long written = segments.get(0).getLong(0);
+            if (written > HEADER) {
+                // records may have been written to any of the segments before the end.
+                map((int) ((written - 1) / segmentSize));
+                scan(written);
+            }
+            writeHeader();
+        } catch (IOException e) {
+            throw new CoreRuntimeException(CoreStrings.getFileReadError(path.toString()), e);
+        }
+    }
+
+    private void scan(long written) {
+        long offset = HEADER;
+        while (offset < written) {
+            int position = position(offset);
+            ByteBuffer segment = segment(offset);
+
+            if (segmentSize - position < Integer.BYTES || segment.getInt(position) == 0) {
+                offset = next(offset);
+            } else {
+                int length = segment.getInt(position);
+                if (segment.get(position + Integer.BYTES) == LIVE) {
+                    index(offset);
+                } else {
+                    dead += Integer.BYTES + length;
+                }
+                offset += Integer.BYTES + length;
+            }
+        }
+        end = written;
+    }
+
+    private void index(long offset) {
+        int slot = find(key(offset));
+        if (slot >= 0) {
+            // the record was replaced but not yet marked as dead when the file was closed.
+            kill(slots[slot] - 1);
+            slots[slot] = offset + 1;
+        } else {
+            insert(offset);
+        }
+    }
+
+    /**
+     * @param key the key of the value to get.
+     * @return the serialized value or null if the key is not present.
+     */
+    public synchronized byte[] get(String key) {
+        int slot = find(bytes(key));
+        if (slot >= 0) {
+            return value(slots[slot] - 1);
+        } else {
+            return null;
+        }
+    }
+
+    /**
+     * @param key the key to check.
+     * @return true if the key is present.
+     */
+    public synchronized boolean contains(String key) {
+        return find(bytes(key)) >= 0;
+    }
+
+    /**
+     * Sets the value of the given key.
+     *
+     * @param key   the key of the value.
+     * @param value the serialized value.
+     * @return true if the key was present.
+     */
+    public synchronized boolean put(String key, byte[] value) {
+        byte[] bytes = bytes(key);
+        long offset = append(bytes, value);
+        int slot = find(bytes);
+
+        if (slot >= 0) {
+            kill(slots[slot] - 1);
+            slots[slot] = offset + 1;
+            return true;
+        } else {
+            insert(offset);
+            return false;
+        }
+    }
+
+    /**
+     * @param key the key of the value to remove.
+     * @return true if the key was present.
+     */
+    public synchronized boolean remove(String key) {
+        int slot = find(bytes(key));
+
+        if (slot >= 0) {
+            kill(slots[slot] - 1);
+            slots[slot] = TOMBSTONE;
+            count--;
+            return true;
+        } else {
+            return false;
+        }
+    }
+
+    /**
+     * Removes all records.
+     */
+    public synchronized void clear() {
+        slots = new long[MIN_SLOTS];
+        used = 0;
+        count = 0;
+        dead = 0;
+        end = HEADER;
+        writeHeader();
+    }
+
+    /**
+     * @return the number of keys present.
+     */
+    public synchronized int size() {
+        return count;
+    }
+
+    /**
+     * @return a snapshot of the keys that are present.
+     */
+    public synchronized List<String> keys() {
+        List<String> keys = new ArrayList<>(count);
+        for (long slot : slots) {
+            if (slot > 0) {
+                keys.add(new String(key(slot - 1), StandardCharsets.UTF_8));
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * @return true if more space is used by dead records than by live records.
+     */
+    public synchronized boolean isCompactable() {
+        return dead > segmentSize / 2 && dead > (end - dead);
+    }
+
+    /**
+     * Copies all live records into a new file that replaces the current file,
+     * reclaiming the space used by dead records. The current file is kept until
+     * the new file is written and flushed. Must not be called from an event loop.
+     */
+    public synchronized void compact() {
+        List<ByteBuffer> source = segments;
+        FileChannel previous = channel;
+        long[] moved = slots.clone();
+        long written = end;
+        FileChannel target = null;
+
+        try {
+            target = FileChannel.open(compacted, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            channel = target;
+            segments = new ArrayList<>();
+            map(0);
+            end = HEADER;
+
+            for (int i = 0; i < moved.length; i++) {
+                if (moved[i] > 0) {
+                    long read = moved[i] - 1;
+                    ByteBuffer segment = source.get((int) (read / segmentSize));
+                    int position = position(read);
+                    byte[] record = new byte[Integer.BYTES + segment.getInt(position)];
+                    segment.duplicate().position(position).get(record);
+
+                    long write = reserve(end, record.length);
+                    segment(write).duplicate().position(position(write)).put(record);
+                    moved[i] = write + 1;
+                    end = write + record.length;
+                }
+            }
+            writeHeader();
+            force();
+            Files.move(compacted, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException | RuntimeException e) {
+            // the current file is untouched, the partially written file is discarded.
+            channel = previous;
+            segments = source;
+            end = written;
+            discard(target);
+            throw (e instanceof RuntimeException) ? (RuntimeException) e :
+                    new CoreRuntimeException(CoreStrings.getFileWriteError(compacted.toString()), e);
+        }
+        discard(previous);
+        slots = moved;
+        dead = 0;
+    }
+
+    private void discard(FileChannel discarded) {
+        try {
+            if (discarded != null) {
+                discarded.close();
+            }
+            Files.deleteIfExists(compacted);
+        } catch (IOException e) {
+            // the file is replaced or removed on the next compaction or startup.
+        }
+    }
+
+    /**
+     * Flushes changes to disk. Must not be called from an event loop.
+     */
+    public synchronized void force() {
+        for (ByteBuffer segment : segments) {
+            ((MappedByteBuffer) segment).force();
+        }
+    }
+
+    private long append(byte[] key, byte[] value) {
+        int length = 1 + Integer.BYTES + key.length + value.length;
+        long offset = reserve(end, Integer.BYTES + length);
+
+        segment(offset).duplicate().position(position(offset))
+                .putInt(length)
+                .put(LIVE)
+                .putInt(key.length)
+                .put(key)
+                .put(value);
+
+        end = offset + Integer.BYTES + length;
+        writeHeader();
+        return offset;
+    }
+
+    private long reserve(long offset, int total) {
+        if (total > segmentSize - HEADER) {
+            throw new CoreRuntimeException(CoreStrings.getStorageRecordTooLarge(path.toString(), total, segmentSize));
+        }
+        int position = position(offset);
+
+        if (position + total > segmentSize) {
+            if (segmentSize - position >= Integer.BYTES) {
+                // marks the end of the segment for scanning.
+                segment(offset).putInt(position, 0);
+            }
+            offset = next(offset);
+        }
+        map((int) (offset / segmentSize));
+        return offset;
+    }
+
+    private void map(int segment) {
+        try {
+            while (segments.size() <= segment) {
+                segments.add(channel.map(FileChannel.MapMode.READ_WRITE,
+                        (long) segments.size() * segmentSize, segmentSize));
+            }
+        } catch (IOException e) {
+            throw new CoreRuntimeException(CoreStrings.getFileWriteError(path.toString()), e);
+        }
+    }
+
+    private void writeHeader() {
+        segments.get(0).putLong(0, end);
+    }
+
+    private long next(long offset) {
+        return (offset / segmentSize + 1) * segmentSize;
+    }
+
+    private ByteBuffer segment(long offset) {
+        return segments.get((int) (offset / segmentSize));
+    }
+
+    private int position(long offset) {
+        return (int) (offset % segmentSize);
+    }
+
+    private void kill(long offset) {
+        ByteBuffer segment = segment(offset);
+        int position = position(offset);
+        segment.put(position + Integer.BYTES, DEAD);
+        dead += Integer.BYTES + segment.getInt(position);
+    }
+
+    private byte[] key(long offset) {
+        ByteBuffer segment = segment(offset);
+        int position = position(offset);
+        byte[] key = new byte[segment.getInt(position + Integer.BYTES + 1)];
+        segment.duplicate().position(position + RECORD_HEADER).get(key);
+        return key;
+    }
+
+    private byte[] value(long offset) {
+        ByteBuffer segment = segment(offset);
+        int position = position(offset);
+        int keyLength = segment.getInt(position + Integer.BYTES + 1);
+        byte[] value = new byte[segment.getInt(position) - 1 - Integer.BYTES - keyLength];
+        segment.duplicate().position(position + RECORD_HEADER + keyLength).get(value);
+        return value;
+    }
+
+    private boolean matches(long offset, byte[] key) {
+        ByteBuffer segment = segment(offset);
+        int position = position(offset);
+
+        if (segment.getInt(position + Integer.BYTES + 1) != key.length) {
+            return false;
+        }
+        position += RECORD_HEADER;
+        for (int i = 0; i < key.length; i++) {
+            if (segment.get(position + i) != key[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int find(byte[] key) {
+        int mask = slots.length - 1;
+        int slot = hash(key) & mask;
+
+        while (slots[slot] != EMPTY) {
+            if (slots[slot] != TOMBSTONE && matches(slots[slot] - 1, key)) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private void insert(long offset) {
+        if ((used + 1) * 4L > slots.length * 3L) {
+            rehash();
+        }
+        int mask = slots.length - 1;
+        int slot = hash(key(offset)) & mask;
+
+        while (slots[slot] != EMPTY && slots[slot] != TOMBSTONE) {
+            slot = (slot + 1) & mask;
+        }
+        if (slots[slot] == EMPTY) {
+            used++;
+        }
+        slots[slot] = offset + 1;
+        count++;
+    }
+
+    private void rehash() {
+        long[] previous = slots;
+        // grows the table only if it is not mostly filled with tombstones.
+        int capacity = Math.max(MIN_SLOTS, Integer.highestOneBit(Math.max(1, count) * 4));
+        slots = new long[capacity];
+        used = 0;
+        count = 0;
+
+        for (long slot : previous) {
+            if (slot > 0) {
+                insert(slot - 1);
+            }
+        }
+    }
+
+    private static byte[] bytes(String key) {
+        return key.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static int hash(byte[] key) {
+        int hash = 1;
+        for (byte b : key) {
+            hash = 31 * hash + b;
+        }
+        return hash ^ (hash >>> 16);
+    }
+}
@@ -0,0 +1,251 @@
+package com.codingchili.core.storage;
+
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+import io.vertx.core.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import com.codingchili.core.context.*;
+import com.codingchili.core.protocol.Serializer;
+import com.codingchili.core.storage.exception.*;
+
+import static com.codingchili.core.configuration.CoreStrings.*;
+
+/**
+ * Map that keeps serialized values in a memory-mapped file, see {@link MappedFile}.
+ * <p>
+ * Values are serialized with kryo and are not held on the heap, which makes this
+ * storage suitable for large local collections where the garbage collector would
+ * otherwise have to trace every stored value. Only the index of the collection is
+ * kept on the heap.
+ * <p>
+ * The file is shared within the JVM. When persistence is enabled the file is stored
+ * in the database directory and flushed to disk in intervals, otherwise a temporary
+ * file is used. Queries are executed by scanning the collection.
+ */
+public class MappedMap<Value extends Storable> implements AsyncStorage<Value> {
+    private static final String ID_SEGMENT_SIZE = "segmentSize";
+    private static final String EXT_MAPPED = ".mapped";
+    private static final int DEFAULT_SEGMENT_SIZE = 32 * 1024 * 1024;
+    private static final int BUFFER_SIZE = 256;
+    private static Map<String, MappedFile> files = new ConcurrentHashMap<>();
+    private final StorageContext<Value> context;
+    private final MappedFile file;
+
+    /**
+     * Creates a new possibly shared instance of the MappedMap storage plugin. It's recommended
+     * to use the storage loader instead of invoking this constructor.
+     *
+     * @param promise completed when the storage is loaded and ready.
+     * @param context contains metadata about the stored objects.
+     */
+    public MappedMap(Promise<AsyncStorage<Value>> promise, StorageContext<Value> context) {
+        this.context = context;
+        this.file = files.computeIfAbsent(context.identifier(), (key) ->
+                new MappedFile(dbPath(), context.properties().getInteger(ID_SEGMENT_SIZE, DEFAULT_SEGMENT_SIZE)));
+
+        TimerSource timer = TimerSource.of(context.storage()::getPersistInterval)
+                .setName(context.identifier());
+
+        context.periodic(timer, event -> maintain());
+        promise.complete(this);
+    }
+
+    private Path dbPath() {
+        if (context.storage().isPersisted()) {
+            return Paths.get(context.database(), context.collection() + EXT_MAPPED);
+        } else {
+            try {
+                File temporary = File.createTempFile(context.collection(), EXT_MAPPED);
+                temporary.deleteOnExit();
+                return temporary.toPath();
+            } catch (IOException e) {
+                throw new CoreRuntimeException(getFileWriteError(context.collection() + EXT_MAPPED), e);
+            }
+        }
+    }
+
+    private void maintain() {
+        context.blocking(blocking -> {
+            if (file.isCompactable()) {
+                file.compact();
+            }
+            if (context.storage().isPersisted()) {
+                file.force();
+            }
+            blocking.complete();
+        }, done -> {
+            if (done.failed()) {
+                context.logger(getClass()).onError(done.cause());
+            }
+        });
+    }
+
+    private byte[] serialize(Value value) {
+        return Serializer.kryo((kryo) -> {
+            Output output = new Output(BUFFER_SIZE, -1);
+            kryo.writeObject(output, value);
+            return output.toBytes();
+        });
+    }
+
+    private Value deserialize(byte[] bytes) {
+        return Serializer.kryo((kryo) -> kryo.readObject(new Input(bytes), context.valueClass()));
+    }
+
+    private Stream<Value> scan() {
+        // values are read when consumed, keys removed after the snapshot are skipped.
+        return file.keys().stream()
+                .map(file::get)
+                .filter(Objects::nonNull)
+                .map(this::deserialize);
+    }
+
+    @Override
+    public void get(String key, Handler<AsyncResult<Value>> handler) {
+        context.blocking(blocking -> {
+            byte[] value = file.get(key);
+
+            if (value == null) {
+                blocking.fail(new ValueMissingException(key));
+            } else {
+                blocking.complete(deserialize(value));
+            }
+        }, handler);
+    }
+
+    @Override
+    public void getAll(Collection<String> keys, Handler<AsyncResult<Map<String, Value>>> handler) {
+        context.blocking(blocking -> {
+            Map<String, Value> values = new HashMap<>();
+
+            for (String key : keys) {
+                byte[] value = file.get(key);
+                if (value != null) {
+                    values.put(key, deserialize(value));
+                }
+            }
+            blocking.complete(values);
+        }, handler);
+    }
+
+    @Override
+    public void contains(String key, Handler<AsyncResult<Boolean>> handler) {
+        // the file is locked while compacting or flushing.
+        context.blocking(blocking -> blocking.complete(file.contains(key)), handler);
+    }
+
+    @Override
+    public void put(Value value, Handler<AsyncResult<Void>> handler) {
+        context.blocking(blocking -> {
+            file.put(value.getId(), serialize(value));
+            EntryListeners.publish(context, value);
+            blocking.complete();
+        }, handler);
+    }
+
+    @Override
+    public void putIfAbsent(Value value, Handler<AsyncResult<Void>> handler) {
+        context.blocking(blocking -> {
+            byte[] bytes = serialize(value);
+            boolean absent;
+            // the check and the write must be atomic.
+            synchronized (file) {
+                absent = !file.contains(value.getId());
+                if (absent) {
+                    file.put(value.getId(), bytes);
+                }
+            }
+            if (absent) {
+                EntryListeners.publish(context, value);
+                blocking.complete();
+            } else {
+                blocking.fail(new ValueAlreadyPresentException(value.getId()));
+            }
+        }, handler);
+    }
+
+    @Override
+    public void remove(String key, Handler<AsyncResult<Void>> handler) {
+        context.blocking(blocking -> {
+            if (file.remove(key)) {
+                blocking.complete();
+            } else {
+                blocking.fail(new NothingToRemoveException(key));
+            }
+        }, handler);
+    }
+
+    @Override
+    public void update(Value value, Handler<AsyncResult<Void>> handler) {
+        context.blocking(blocking -> {
+            byte[] bytes = serialize(value);
+            boolean updated;
+            synchronized (file) {
+                updated = file.contains(value.getId());
+                if (updated) {
+                    file.put(value.getId(), bytes);
+                }
+            }
+            if (updated) {
+                EntryListeners.publish(context, value);
+                blocking.complete();
+            } else {
+                blocking.fail(new NothingToUpdateException(value.getId()));
+            }
+        }, handler);
+    }
+
+    @Override
+    public boolean addListener(Handler<Value> listener) {
+        EntryListeners.add(context, listener);
+        return true;
+    }
+
+    @Override
+    public void removeListener(Handler<Value> listener) {
+        EntryListeners.remove(context, listener);
+    }
+
+    @Override
+    public void values(Handler<AsyncResult<Stream<Value>>> handler) {
+        // values are read on the worker, the stream is not consumed on the event loop.
+        context.blocking(blocking -> blocking.complete(scan().collect(Collectors.toList()).stream()), handler);
+    }
+
+    @Override
+    public void clear(Handler<AsyncResult<Void>> handler) {
+        context.blocking(blocking -> {
+            file.clear();
+            blocking.complete();
+        }, handler);
+    }
+
+    @Override
+    public QueryBuilder<Value> query() {
+        return new StreamQuery<Value, Value>(this, this::scan).query();
+    }
+
+    @Override
+    public StorageContext<Value> context() {
+        return context;
+    }
+
+    @Override
+    public void addIndex(String field) {
+        // no-op.
+    }
+
+    @Override
+    public void size(Handler<AsyncResult<Integer>> handler) {
+        context.blocking(blocking -> blocking.complete(file.size()), handler);
+    }
+}
@@ -4,6 +4,7 @@ import io.vertx.core.*;
 import io.vertx.core.impl.ConcurrentHashSet;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
+import io.vertx.core.streams.ReadStream;
 import io.vertx.ext.mongo.*;
 
 import java.util.*;
@@ -127,6 +128,72 @@ public class MongoDBMap<Value extends Storable> implements AsyncStorage<Value> {
         });
     }
 
+    @Override
+    public void getAll(Collection<String> keys, Handler<AsyncResult<Map<String, Value>>> handler) {
+        client.find(collection, ids(keys), found -> {
+            if (found.succeeded()) {
+                Map<String, Value> values = new HashMap<>();
+                found.result().forEach(json -> {
+                    Value value = context.toValue(json);
+                    values.put(value.getId(), value);
+                });
+                handler.handle(result(values));
+            } else {
+                handler.handle(error(found.cause()));
+            }
+        });
+    }
+
+    @Override
+    public void putAll(Collection<Value> values, Handler<AsyncResult<Map<String, AsyncResult<Void>>>> handler) {
+        List<BulkOperation> operations = values.stream()
+                .map(value -> BulkOperation.createReplace(id(value), document(value), true))
+                .collect(Collectors.toList());
+
+        if (operations.isEmpty()) {
+            handler.handle(result(new HashMap<>()));
+        } else {
+            client.bulkWriteWithOptions(collection, operations, new BulkWriteOptions(false), bulk -> {
+                if (bulk.succeeded()) {
+                    Map<String, AsyncResult<Void>> results = new HashMap<>();
+                    values.forEach(value -> results.put(value.getId(), result()));
+                    handler.handle(result(results));
+                } else {
+                    handler.handle(error(bulk.cause()));
+                }
+            });
+        }
+    }
+
+    @Override
+    public void removeAll(Collection<String> keys, Handler<AsyncResult<Map<String, AsyncResult<Void>>>> handler) {
+        // find the keys that are present first, the removal result only contains a count.
+        client.findWithOptions(collection, ids(keys), new FindOptions().setFields(new JsonObject().put(ID, true)), found -> {
+            if (found.succeeded()) {
+                List<String> present = found.result().stream()
+                        .map(json -> json.getString(ID))
+                        .collect(Collectors.toList());
+
+                client.removeDocuments(collection, ids(present), remove -> {
+                    if (remove.succeeded()) {
+                        Map<String, AsyncResult<Void>> results = new HashMap<>();
+                        present.forEach(key -> results.put(key, result()));
+                        keys.forEach(key -> results.putIfAbsent(key, error(new NothingToRemoveException(key))));
+                        handler.handle(result(results));
+                    } else {
+                        handler.handle(error(remove.cause()));
+                    }
+                });
+            } else {
+                handler.handle(error(found.cause()));
+            }
+        });
+    }
+
+    private JsonObject ids(Collection<String> keys) {
+        return new JsonObject().put(ID, new JsonObject().put(IN, new JsonArray(new ArrayList<>(keys))));
+    }
+
     @Override
     public void values(Handler<AsyncResult<Stream<Value>>> handler) {
         client.find(collection, new JsonObject(), found -> {
@@ -271,6 +338,17 @@ public class MongoDBMap<Value extends Storable> implements AsyncStorage<Value> {
                 });
             }
 
+            @Override
+            public ReadStream<Value> stream() {
+                apply();
+
+                ReadStream<JsonObject> cursor = client.findBatchWithOptions(collection,
+                        new JsonObject().put(OR, statements),
+                        new FindOptions().setBatchSize(getPageSize()).setSort(getSortOptions()));
+
+                return new QueryStream<>(context, getPageSize(), QueryStream.cursor(cursor, json -> context.toValue(json)));
+            }
+
             private FindOptions getOptions() {
                 return new FindOptions()
                     .setLimit(getPageSize())
@@ -0,0 +1,314 @@
+package com.codingchili.core.storage;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.MetricRegistry;
+import io.vertx.core.*;
+import io.vertx.core.eventbus.DeliveryOptions;
+import io.vertx.core.eventbus.Message;
+import io.vertx.core.json.JsonArray;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import com.codingchili.core.context.StorageContext;
+import com.codingchili.core.protocol.Serializer;
+
+import static com.codingchili.core.context.FutureHelper.*;
+
+/**
+ * A bounded on-heap cache in front of a storage, used to avoid round trips
+ * for values that are read often and rarely changed.
+ * <p>
+ * Values are cached when retrieved by key and invalidated on writes. Writes are
+ * published on the event bus so that the caches of the same collection on other
+ * instances, or cluster members when clustered, are invalidated. Changes that are
+ * made without passing through a near cache are visible once the entry expires.
+ * <p>
+ * Queries are always executed on the storage. Hits, misses and evictions are
+ * counted in the metric registry of the context.
+ *
+ * @param <Value> the type of the stored values.
+ */
+public class NearCache<Value extends Storable> implements AsyncStorage<Value> {
+    private static final String ADDRESS = "storage.cache.invalidate.";
+    private static final String METRIC_FORMAT = "storage.cache.%s.%s.%s";
+    private static final String HEADER_CLEAR = "clear";
+    private static final String HITS = "hits";
+    private static final String MISSES = "misses";
+    private static final String EVICTIONS = "evictions";
+    private static final int LFU_SAMPLES = 8;
+    private final LinkedHashMap<String, Entry<Value>> cache = new LinkedHashMap<>(16, 0.75f, true);
+    private final AtomicLong generation = new AtomicLong();
+    private final AsyncStorage<Value> storage;
+    private final NearCacheSettings settings;
+    private final StorageContext<Value> context;
+    private final String address;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    private static class Entry<Value> {
+        private final Value value;
+        private final long expires;
+        private long hits = 0;
+
+        Entry(Value value, long expires) {
+            this.value = value;
+            this.expires = expires;
+        }
+    }
+
+    /**
+     * @param storage  the storage to cache values from.
+     * @param settings the size, expiry and eviction of the cache.
+     */
+    public NearCache(AsyncStorage<Value> storage, NearCacheSettings settings) {
+        this.storage = storage;
+        this.settings = settings;
+        this.context = storage.context();
+        this.address = ADDRESS + context.identifier();
+
+        MetricRegistry registry = context.metrics().registry();
+        this.hits = registry.counter(metric(HITS));
+        this.misses = registry.counter(metric(MISSES));
+        this.evictions = registry.counter(metric(EVICTIONS));
+
+        context.vertx().eventBus().<JsonArray>consumer(address, this::onInvalidate);
+    }
+
+    private String metric(String name) {
+        return String.format(METRIC_FORMAT, context.database(), context.collection(), name);
+    }
+
+    private void onInvalidate(Message<JsonArray> message) {
+        if (message.headers().contains(HEADER_CLEAR)) {
+            invalidateAll();
+        } else {
+            message.body().forEach(key -> invalidate((String) key));
+        }
+    }
+
+    private synchronized Value lookup(String key) {
+        Entry<Value> entry = cache.get(key);
+
+        if (entry == null) {
+            return null;
+        } else if (entry.expires < System.currentTimeMillis()) {
+            cache.remove(key);
+            return null;
+        } else {
+            entry.hits++;
+            return entry.value;
+        }
+    }
+
+    private synchronized void cache(Value value, long version) {
+        // a write may have been made while the value was retrieved.
+        if (generation.get() == version) {
+            cache.put(value.getId(), new Entry<>(copy(value), System.currentTimeMillis() + settings.getTtl()));
+
+            while (cache.size() > settings.getMaxSize()) {
+                evict();
+            }
+        }
+    }
+
+    private void evict() {
+        Iterator<Map.Entry<String, Entry<Value>>> iterator = cache.entrySet().iterator();
+
+        if (settings.getEviction() == NearCacheSettings.Eviction.LFU) {
+            // samples the least recently used entries to avoid scanning the cache.
+            String victim = null;
+            long fewest = Long.MAX_VALUE;
+            for (int i = 0; i < LFU_SAMPLES && iterator.hasNext(); i++) {
+                Map.Entry<String, Entry<Value>> entry = iterator.next();
+                if (entry.getValue().hits < fewest) {
+                    fewest = entry.getValue().hits;
+                    victim = entry.getKey();
+                }
+            }
+            cache.remove(victim);
+        } else {
+            iterator.next();
+            iterator.remove();
+        }
+        evictions.inc();
+    }
+
+    private synchronized void invalidate(String key) {
+        generation.incrementAndGet();
+        cache.remove(key);
+    }
+
+    private synchronized void invalidateAll() {
+        generation.incrementAndGet();
+        cache.clear();
+    }
+
+    private Value copy(Value value) {
+        if (context.immutable()) {
+            return value;
+        } else {
+            // cached values must not be shared with callers that may modify them.
+            return Serializer.kryo((kryo) -> {
+                Serializer.skipTransient(kryo, value.getClass());
+                return kryo.copy(value);
+            });
+        }
+    }
+
+    private void publish(Collection<String> keys) {
+        keys.forEach(this::invalidate);
+        context.vertx().eventBus().publish(address, new JsonArray(new ArrayList<>(keys)));
+    }
+
+    private <T> Handler<AsyncResult<T>> written(Collection<String> keys, Handler<AsyncResult<T>> handler) {
+        keys.forEach(this::invalidate);
+        return (done) -> {
+            publish(keys);
+            handler.handle(done);
+        };
+    }
+
+    @Override
+    public void get(String key, Handler<AsyncResult<Value>> handler) {
+        Value cached = lookup(key);
+
+        if (cached != null) {
+            hits.inc();
+            handler.handle(result(copy(cached)));
+        } else {
+            misses.inc();
+            long version = generation.get();
+
+            storage.get(key, get -> {
+                if (get.succeeded()) {
+                    cache(get.result(), version);
+                }
+                handler.handle(get);
+            });
+        }
+    }
+
+    @Override
+    public void contains(String key, Handler<AsyncResult<Boolean>> handler) {
+        if (lookup(key) != null) {
+            hits.inc();
+            handler.handle(result(true));
+        } else {
+            storage.contains(key, handler);
+        }
+    }
+
+    @Override
+    public void getAll(Collection<String> keys, Handler<AsyncResult<Map<String, Value>>> handler) {
+        Map<String, Value> values = new HashMap<>();
+        List<String> missing = new ArrayList<>();
+
+        for (String key : keys) {
+            Value cached = lookup(key);
+            if (cached != null) {
+                values.put(key, copy(cached));
+            } else {
+                missing.add(key);
+            }
+        }
+        hits.inc(values.size());
+
+        if (missing.isEmpty()) {
+            handler.handle(result(values));
+        } else {
+            misses.inc(missing.size());
+            long version = generation.get();
+
+            storage.getAll(missing, get -> {
+                if (get.succeeded()) {
+                    get.result().values().forEach(value -> cache(value, version));
+                    values.putAll(get.result());
+                    handler.handle(result(values));
+                } else {
+                    handler.handle(error(get.cause()));
+                }
+            });
+        }
+    }
+
+    @Override
+    public void put(Value value, Handler<AsyncResult<Void>> handler) {
+        storage.put(value, written(Collections.singleton(value.getId()), handler));
+    }
+
+    @Override
+    public void putIfAbsent(Value value, Handler<AsyncResult<Void>> handler) {
+        storage.putIfAbsent(value, written(Collections.singleton(value.getId()), handler));
+    }
+
+    @Override
+    public void putAll(Collection<Value> values, Handler<AsyncResult<Map<String, AsyncResult<Void>>>> handler) {
+        List<String> keys = new ArrayList<>();
+        values.forEach(value -> keys.add(value.getId()));
+        storage.putAll(values, written(keys, handler));
+    }
+
+    @Override
+    public void remove(String key, Handler<AsyncResult<Void>> handler) {
+        storage.remove(key, written(Collections.singleton(key), handler));
+    }
+
+    @Override
+    public void removeAll(Collection<String> keys, Handler<AsyncResult<Map<String, AsyncResult<Void>>>> handler) {
+        storage.removeAll(keys, written(keys, handler));
+    }
+
+    @Override
+    public void update(Value value, Handler<AsyncResult<Void>> handler) {
+        storage.update(value, written(Collections.singleton(value.getId()), handler));
+    }
+
+    @Override
+    public void clear(Handler<AsyncResult<Void>> handler) {
+        invalidateAll();
+        storage.clear(done -> {
+            invalidateAll();
+            context.vertx().eventBus().publish(address, new JsonArray(),
+                    new DeliveryOptions().addHeader(HEADER_CLEAR, HEADER_CLEAR));
+            handler.handle(done);
+        });
+    }
+
+    @Override
+    public boolean addListener(Handler<Value> listener) {
+        return storage.addListener(listener);
+    }
+
+    @Override
+    public void removeListener(Handler<Value> listener) {
+        storage.removeListener(listener);
+    }
+
+    @Override
+    public void values(Handler<AsyncResult<Stream<Value>>> handler) {
+        storage.values(handler);
+    }
+
+    @Override
+    public void size(Handler<AsyncResult<Integer>> handler) {
+        storage.size(handler);
+    }
+
+    @Override
+    public StorageContext<Value> context() {
+        return context;
+    }
+
+    @Override
+    public void addIndex(String field) {
+        storage.addIndex(field);
+    }
+
+    @Override
+    public QueryBuilder<Value> query() {
+        return storage.query();
+    }
+}
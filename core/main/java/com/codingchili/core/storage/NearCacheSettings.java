@@ -0,0 +1,73 @@
+package com.codingchili.core.storage;
+
+/**
+ * Settings for the near cache that may be placed in front of a storage,
+ * see {@link StorageLoader#withNearCache(NearCacheSettings)}.
+ */
+public class NearCacheSettings {
+    private Eviction eviction = Eviction.LRU;
+    private int maxSize = 1024;
+    private long ttl = 60_000;
+
+    /**
+     * Determines which entry is evicted when the cache is full.
+     */
+    public enum Eviction {
+        /**
+         * evicts the entry that was least recently used.
+         */
+        LRU,
+        /**
+         * evicts the least frequently used entry among the least recently used entries.
+         */
+        LFU
+    }
+
+    /**
+     * @return the eviction policy used when the cache is full.
+     */
+    public Eviction getEviction() {
+        return eviction;
+    }
+
+    /**
+     * @param eviction the eviction policy used when the cache is full.
+     * @return fluent
+     */
+    public NearCacheSettings setEviction(Eviction eviction) {
+        this.eviction = eviction;
+        return this;
+    }
+
+    /**
+     * @return the maximum number of entries in the cache.
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * @param maxSize the maximum number of entries in the cache.
+     * @return fluent
+     */
+    public NearCacheSettings setMaxSize(int maxSize) {
+        this.maxSize = maxSize;
+        return this;
+    }
+
+    /**
+     * @return the time in milliseconds that an entry is cached.
+     */
+    public long getTtl() {
+        return ttl;
+    }
+
+    /**
+     * @param ttl the time in milliseconds that an entry is cached.
+     * @return fluent
+     */
+    public NearCacheSettings setTtl(long ttl) {
+        this.ttl = ttl;
+        return this;
+    }
+}
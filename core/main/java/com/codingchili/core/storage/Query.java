@@ -2,9 +2,9 @@ package com.codingchili.core.storage;
 
 import io.vertx.core.AsyncResult;
 import io.vertx.core.Handler;
+import io.vertx.core.streams.ReadStream;
 
-import java.util.Collection;
-import java.util.LinkedList;
+import java.util.*;
 import java.util.function.Consumer;
 
 import com.codingchili.core.context.*;
@@ -33,12 +33,15 @@ public class Query<Value extends Storable> implements QueryBuilder<Value> {
     public static final String QUERY = "QUERY";
     public static final String NAMED = "NAMED";
 
-    private LinkedList<Runnable> proxy = new LinkedList<>();
+    private LinkedList<Consumer<QueryBuilder<Value>>> proxy = new LinkedList<>();
+    // the operations that start a new clause, used to add statements to each clause.
+    private Set<Consumer<QueryBuilder<Value>>> clauses = new HashSet<>();
     private StringBuilder query = new StringBuilder();
     private StringBuilder options = new StringBuilder();
     private QueryBuilder<Value> builder;
     private AsyncStorage<Value> storage;
-    private Consumer<Value> mapper;
+    private Consumer<Value> mapper = (value) -> {
+    };
     private String name = NO_NAME;
 
     private void append(String format, Object... params) {
@@ -48,21 +51,23 @@ public class Query<Value extends Storable> implements QueryBuilder<Value> {
 
     @Override
     public Query<Value> and(String attribute) {
-        proxy.add(() -> builder.and(attribute));
+        proxy.add(target -> target.and(attribute));
         append("%s %s", AND, attribute);
         return this;
     }
 
     @Override
     public Query<Value> or(String attribute) {
-        proxy.add(() -> builder.or(attribute));
+        Consumer<QueryBuilder<Value>> clause = target -> target.or(attribute);
+        proxy.add(clause);
+        clauses.add(clause);
         append("\n\t%s %s", OR, attribute);
         return this;
     }
 
     @Override
     public Query<Value> on(String attribute) {
-        proxy.add(() -> builder.on(attribute));
+        proxy.add(target -> target.on(attribute));
         append("\n\t%s %s", ON, attribute);
 
         if (NO_NAME.equals(name)) {
@@ -74,42 +79,42 @@ public class Query<Value extends Storable> implements QueryBuilder<Value> {
 
     @Override
     public Query<Value> page(int page) {
-        proxy.add(() -> builder.page(page));
+        proxy.add(target -> target.page(page));
         option("%s %d", PAGE, page);
         return this;
     }
 
     @Override
     public Query<Value> pageSize(int pageSize) {
-        proxy.add(() -> builder.pageSize(pageSize));
+        proxy.add(target -> target.pageSize(pageSize));
         option("%s %d", PAGESIZE, pageSize);
         return this;
     }
 
     @Override
     public Query<Value> between(Long minimum, Long maximum) {
-        proxy.add(() -> builder.between(minimum, maximum));
+        proxy.add(target -> target.between(minimum, maximum));
         append("%s %d %d", BETWEEN, minimum, maximum);
         return this;
     }
 
     @Override
     public Query<Value> like(String text) {
-        proxy.add(() -> builder.like(text));
+        proxy.add(target -> target.like(text));
         append("%s %s", LIKE, text);
         return this;
     }
 
     @Override
     public Query<Value> startsWith(String text) {
-        proxy.add(() -> builder.startsWith(text));
+        proxy.add(target -> target.startsWith(text));
         append("%s %s", STARTSWITH, text);
         return this;
     }
 
     @Override
     public Query<Value> in(Comparable... list) {
-        proxy.add(() -> builder.in(list));
+        proxy.add(target -> target.in(list));
         StringBuilder in = new StringBuilder();
         in.append("(");
         for (int i = 0; i < list.length; i++) {
@@ -125,38 +130,86 @@ public class Query<Value extends Storable> implements QueryBuilder<Value> {
 
     @Override
     public Query<Value> equalTo(Comparable match) {
-        proxy.add(() -> builder.equalTo(match));
+        proxy.add(target -> target.equalTo(match));
         append("%s %s", EQ, match + "");
         return this;
     }
 
     @Override
     public Query<Value> matches(String regex) {
-        proxy.add(() -> builder.matches(regex));
+        proxy.add(target -> target.matches(regex));
         append("%s(%s)", REGEX, regex);
         return this;
     }
 
     @Override
     public Query<Value> orderBy(String orderByAttribute) {
-        proxy.add(() -> builder.orderBy(orderByAttribute));
+        proxy.add(target -> target.orderBy(orderByAttribute));
         option("%s %s", ORDERBY, orderByAttribute);
         return this;
     }
 
     @Override
     public Query<Value> order(SortOrder order) {
-        proxy.add(() -> builder.order(order));
+        proxy.add(target -> target.order(order));
         option("%s", order.name());
         return this;
     }
 
+    /**
+     * Applies all operations that has been added to this query onto the given builder.
+     * This allows a query to be created or parsed once and then applied to any number
+     * of builders, see {@link QueryParser#compile(String)}.
+     *
+     * @param target the builder to apply the operations of this query onto.
+     * @return the given builder.
+     */
+    public QueryBuilder<Value> apply(QueryBuilder<Value> target) {
+        proxy.forEach(operation -> operation.accept(target));
+        return target;
+    }
+
+    /**
+     * Applies all operations of this query onto the given builder and adds the
+     * statements of the given restriction to each clause of the query.
+     *
+     * @param target      the builder to apply the operations of this query onto.
+     * @param restriction adds statements to the current clause of the builder,
+     *                    for example and(attribute).equalTo(value).
+     * @return the given builder.
+     */
+    public QueryBuilder<Value> apply(QueryBuilder<Value> target, Consumer<QueryBuilder<Value>> restriction) {
+        for (Consumer<QueryBuilder<Value>> operation : proxy) {
+            if (clauses.contains(operation)) {
+                restriction.accept(target);
+            }
+            operation.accept(target);
+        }
+        restriction.accept(target);
+        return target;
+    }
+
+    /**
+     * @return a copy of this query that contains the operations added so far, the
+     * storage is not copied. Operations added to the copy does not affect this query.
+     */
+    public Query<Value> copy() {
+        Query<Value> copy = new Query<>();
+        copy.proxy.addAll(proxy);
+        copy.clauses.addAll(clauses);
+        copy.query.append(query);
+        copy.options.append(options);
+        copy.name = name;
+        return copy;
+    }
+
     private void option(String format, Comparable... values) {
         options.append(String.format("%s ", String.format(format, (Object[]) values)));
     }
 
     /**
-     * If intending to invoke either #{@link #execute(Handler)} or #{@link #poll(Consumer, TimerSource)}
+     * If intending to invoke either #{@link #execute(Handler)}, #{@link #poll(Consumer, TimerSource)}
+     * or #{@link #watch(Consumer, TimerSource)}
      * this method must be called first.
      *
      * @param storage the storage to use if the standalone query is executed.
@@ -173,8 +226,7 @@ public class Query<Value extends Storable> implements QueryBuilder<Value> {
 
         // allow calling execute multiple times.
         if (builder == null) {
-            builder = storage.query();
-            proxy.forEach(Runnable::run);
+            builder = apply(storage.query());
         }
 
         builder.execute(execute -> {
@@ -189,6 +241,12 @@ public class Query<Value extends Storable> implements QueryBuilder<Value> {
 
     }
 
+    @Override
+    public ReadStream<Value> stream() {
+        assertStorageIsSet();
+        return apply(storage.query()).stream();
+    }
+
     /**
      * Sets a mapping function that can be used to intercept results.
      *
@@ -203,7 +261,24 @@ public class Query<Value extends Storable> implements QueryBuilder<Value> {
     @Override
     public EntryWatcher<Value> poll(Consumer<Collection<Value>> consumer, TimerSource timer) {
         assertStorageIsSet();
-        return new EntryWatcher<>(storage, () -> this, timer);
+        return new EntryWatcher<>(storage, () -> this, timer).start(consumer);
+    }
+
+    /**
+     * Watches the storage for entries that matches the query. The query is executed
+     * once and after that the consumer only receives the entries that has changed
+     * since the last interval and still matches the query. Removed entries are not
+     * reported, use #{@link #poll(Consumer, TimerSource)} to receive the full result.
+     * <p>
+     * Falls back to polling if the storage does not support change listeners.
+     *
+     * @param consumer a consumer that receives the matching changed entries.
+     * @param timer    the source of the interval.
+     * @return fluent.
+     */
+    public EntryWatcher<Value> watch(Consumer<Collection<Value>> consumer, TimerSource timer) {
+        assertStorageIsSet();
+        return new EntryWatcher<>(storage, this, timer).start(consumer);
     }
 
     private void assertStorageIsSet() {
@@ -220,6 +295,7 @@ public class Query<Value extends Storable> implements QueryBuilder<Value> {
     @Override
     public Query<Value> setName(String name) {
         this.name = name;
+        proxy.add(target -> target.setName(name));
         query.insert(0, String.format("%s %s '%s' ", NAMED, QUERY, name));
         return this;
     }
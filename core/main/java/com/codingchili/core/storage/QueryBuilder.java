@@ -2,6 +2,7 @@ package com.codingchili.core.storage;
 
 import io.vertx.core.AsyncResult;
 import io.vertx.core.Handler;
+import io.vertx.core.streams.ReadStream;
 
 import java.util.Collection;
 import java.util.function.Consumer;
@@ -163,6 +164,15 @@ public interface QueryBuilder<Value extends Storable> {
      */
     void execute(Handler<AsyncResult<Collection<Value>>> handler);
 
+    /**
+     * Executes the constructed query and streams the results. All matching values
+     * are streamed, the page is ignored and the page size is used as the number of
+     * values that are retrieved from the storage at a time.
+     *
+     * @return a stream of the results that only retrieves values on demand.
+     */
+    ReadStream<Value> stream();
+
     /**
      * Executes the query periodically.
      *
@@ -14,10 +14,22 @@ import com.codingchili.core.context.CoreRuntimeException;
  * parses a query in string format.
  * <p>
  * Implementation is pluggable.
+ * <p>
+ * Expressions are compiled once into a {@link Query} that records the operations,
+ * compiled queries are cached by their expression and applied to a new builder
+ * each time the expression is parsed. Expressions are not cached by a parser
+ * with custom operations, see {@link #customize()}, or when operations has been
+ * added to the {@link #defaults()}. Operations are then invoked with the builder
+ * of the storage each time the expression is parsed.
  */
 public class QueryParser<T extends Storable> implements StringQueryParser<T> {
     private static final String DECIMAL_SEPARATOR =
             new DecimalFormatSymbols(Locale.getDefault()).getDecimalSeparator() + "";
+    private static final Pattern BOOLEAN = Pattern.compile("true|false|TRUE|FALSE");
+    private static final Pattern INTEGER = Pattern.compile("[0-9]+");
+    private static final Pattern DECIMAL = Pattern.compile("[0-9.,]+");
+    private static final Pattern SEPARATOR = Pattern.compile("[,.]");
+    private static final int PLAN_CACHE_SIZE = 256;
 
     private static Map<String, BiConsumer<QueryBuilder<?>, Matcher>> operations = new ConcurrentHashMap<>();
     // matches a regex and everything within the following parenthesis, quoted strings and regular tokens.
@@ -25,7 +37,15 @@ public class QueryParser<T extends Storable> implements StringQueryParser<T> {
             Pattern.CASE_INSENSITIVE & Pattern.MULTILINE);
 
     private Map<String, BiConsumer<QueryBuilder<?>, Matcher>> custom = new ConcurrentHashMap<>();
+    private Map<String, Query<T>> plans = Collections.synchronizedMap(
+            new LinkedHashMap<String, Query<T>>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Query<T>> eldest) {
+                    return size() > PLAN_CACHE_SIZE;
+                }
+            });
     private Supplier<QueryBuilder<T>> builders;
+    private static final Set<String> BUILTIN;
 
     static {
         operations.put(Query.QUERY, (builder, matcher) -> {
@@ -55,6 +75,7 @@ public class QueryParser<T extends Storable> implements StringQueryParser<T> {
                 builder.between(from, Long.parseLong(value(matcher)));
             }
         });
+        BUILTIN = new HashSet<>(operations.keySet());
     }
 
     /**
@@ -73,14 +94,14 @@ public class QueryParser<T extends Storable> implements StringQueryParser<T> {
      */
     public static Comparable toComparable(String string) {
         Comparable comparable = string;
-        if (string.matches("true|false|TRUE|FALSE")) {
+        if (BOOLEAN.matcher(string).matches()) {
             comparable = Boolean.parseBoolean(string);
         } else {
-            if (string.matches("[0-9]+")) {
+            if (INTEGER.matcher(string).matches()) {
                 comparable = Integer.parseInt(string);
             } else {
-                if (string.matches("[0-9.,]+")) {
-                    string = string.replaceAll("[,.]", DECIMAL_SEPARATOR);
+                if (DECIMAL.matcher(string).matches()) {
+                    string = SEPARATOR.matcher(string).replaceAll(DECIMAL_SEPARATOR);
                     comparable = Double.parseDouble(string);
                 }
             }
@@ -111,9 +132,47 @@ public class QueryParser<T extends Storable> implements StringQueryParser<T> {
 
     @Override
     public QueryBuilder<T> parse(String expression) {
-        // we can reuse the string-based query builder to verify Query.on(null)
-        QueryBuilder<T> builder = builders.get();
+        if (isCacheable()) {
+            return plan(expression).apply(builders.get());
+        } else {
+            // custom operations may depend on the type of the builder.
+            return tokenize(expression, builders.get());
+        }
+    }
+
+    /**
+     * Compiles the given expression into a query that can be applied to any number of
+     * builders using {@link Query#apply(QueryBuilder)}. Compiled queries are cached,
+     * each invocation returns a copy that may be modified.
+     * <p>
+     * Custom operations are invoked with the returned query as the builder.
+     *
+     * @param expression the query expression to compile.
+     * @return a query that contains the operations of the given expression.
+     */
+    public Query<T> compile(String expression) {
+        if (isCacheable()) {
+            return plan(expression).copy();
+        } else {
+            return tokenize(expression, new Query<>());
+        }
+    }
+
+    private boolean isCacheable() {
+        return custom.isEmpty() && operations.size() == BUILTIN.size();
+    }
+
+    private Query<T> plan(String expression) {
+        Query<T> plan = plans.get(expression);
+        if (plan == null) {
+            // cached plans are never modified, they are applied or copied.
+            plan = tokenize(expression, new Query<>());
+            plans.put(expression, plan);
+        }
+        return plan;
+    }
 
+    private <B extends QueryBuilder<T>> B tokenize(String expression, B builder) {
         Matcher matcher = pattern.matcher(expression);
         while (matcher.find()) {
             String operation = value(matcher);
@@ -171,7 +230,8 @@ public class QueryParser<T extends Storable> implements StringQueryParser<T> {
     }
 
     /**
-     * Allow injection of custom operations for all QueryParser instances.
+     * Allow injection of custom operations for all QueryParser instances. Replacing a
+     * default operation does not invalidate expressions that are already compiled.
      *
      * @return a map of defaults operations.
      */
@@ -185,6 +245,7 @@ public class QueryParser<T extends Storable> implements StringQueryParser<T> {
      * @return a map of custom operations which may be modified.
      */
     public Map<String, BiConsumer<QueryBuilder<?>, Matcher>> customize() {
+        // cached plans are not used while the parser has custom operations.
         return custom;
     }
 }
\ No newline at end of file
@@ -0,0 +1,298 @@
+package com.codingchili.core.storage;
+
+import io.vertx.core.*;
+import io.vertx.core.streams.ReadStream;
+
+import java.util.*;
+import java.util.function.Function;
+
+import com.codingchili.core.context.CoreContext;
+
+import static com.codingchili.core.context.FutureHelper.*;
+
+/**
+ * A read stream of query results that are retrieved from a cursor in batches.
+ * <p>
+ * Batches are only retrieved when there is demand, the stream holds at most
+ * one batch in memory. Pausing the stream stops retrieval until the stream
+ * is resumed or more items are fetched. The cursor is closed when the stream
+ * ends or fails, when the handler is removed, when {@link #close()} is called or
+ * when the stream has been idle without demand for {@value #IDLE_TIMEOUT}ms.
+ *
+ * @param <Value> the type of the streamed values.
+ */
+public class QueryStream<Value> implements ReadStream<Value> {
+    /**
+     * The time in milliseconds a stream without demand is kept open.
+     */
+    public static final long IDLE_TIMEOUT = 60_000;
+    private final Deque<Value> buffer = new ArrayDeque<>();
+    private final Context context;
+    private final Vertx vertx;
+    private final Cursor<Value> cursor;
+    private final int batchSize;
+    private Handler<Value> handler;
+    private Handler<Void> endHandler;
+    private Handler<Throwable> exceptionHandler;
+    private volatile long demand = Long.MAX_VALUE;
+    private boolean fetching = false;
+    private boolean exhausted = false;
+    private boolean closed = false;
+    private boolean emitting = false;
+    private long idle = -1;
+
+    /**
+     * Retrieves query results in batches.
+     *
+     * @param <Value> the type of the retrieved values.
+     */
+    @FunctionalInterface
+    public interface Cursor<Value> {
+        /**
+         * Retrieves the next batch of results. The cursor is exhausted when
+         * a batch contains less values than requested.
+         *
+         * @param count   the maximum number of values to retrieve.
+         * @param handler completed with the next batch of values.
+         */
+        void next(int count, Handler<AsyncResult<List<Value>>> handler);
+
+        /**
+         * Releases any resources held by the cursor.
+         */
+        default void close() {
+        }
+    }
+
+    /**
+     * @param core      the context on which the stream emits values.
+     * @param batchSize the number of values to retrieve from the cursor at a time.
+     * @param cursor    the cursor to retrieve values from.
+     */
+    public QueryStream(CoreContext core, int batchSize, Cursor<Value> cursor) {
+        this.vertx = core.vertx();
+        this.context = vertx.getOrCreateContext();
+        this.batchSize = Math.max(1, batchSize);
+        this.cursor = cursor;
+        // closes streams that are never read from.
+        context.runOnContext(v -> emit());
+    }
+
+    /**
+     * Creates a cursor from a read stream, the read stream is paused and values are
+     * only fetched when the cursor requests a batch.
+     *
+     * @param source the stream to read values from.
+     * @param mapper maps the values of the source stream.
+     * @param <T>    the type of the source stream.
+     * @param <V>    the type of the values returned by the cursor.
+     * @return a cursor that reads from the given source.
+     */
+    public static <T, V> Cursor<V> cursor(ReadStream<T> source, Function<T, V> mapper) {
+        return new Cursor<>() {
+            private List<V> batch = new ArrayList<>();
+            private Handler<AsyncResult<List<V>>> pending;
+            private Throwable failure;
+            private int count;
+            private boolean ended = false;
+
+            {
+                source.pause();
+                source.handler(item -> {
+                    batch.add(mapper.apply(item));
+                    if (batch.size() >= count) {
+                        complete();
+                    }
+                });
+                source.endHandler(done -> {
+                    ended = true;
+                    complete();
+                });
+                source.exceptionHandler(e -> {
+                    failure = e;
+                    complete();
+                });
+            }
+
+            private void complete() {
+                if (pending != null) {
+                    Handler<AsyncResult<List<V>>> handler = pending;
+                    List<V> values = batch;
+                    pending = null;
+                    batch = new ArrayList<>();
+
+                    if (failure != null) {
+                        handler.handle(error(failure));
+                    } else {
+                        handler.handle(result(values));
+                    }
+                }
+            }
+
+            @Override
+            public void next(int count, Handler<AsyncResult<List<V>>> handler) {
+                this.count = count;
+                this.pending = handler;
+
+                if (ended || failure != null) {
+                    complete();
+                } else {
+                    source.fetch(count - batch.size());
+                }
+            }
+        };
+    }
+
+    @Override
+    public QueryStream<Value> exceptionHandler(Handler<Throwable> handler) {
+        this.exceptionHandler = handler;
+        return this;
+    }
+
+    @Override
+    public QueryStream<Value> handler(Handler<Value> handler) {
+        boolean removed = (handler == null && this.handler != null);
+        this.handler = handler;
+        if (removed) {
+            close();
+        } else {
+            context.runOnContext(v -> emit());
+        }
+        return this;
+    }
+
+    @Override
+    public QueryStream<Value> pause() {
+        demand = 0L;
+        context.runOnContext(v -> emit());
+        return this;
+    }
+
+    @Override
+    public QueryStream<Value> resume() {
+        return fetch(Long.MAX_VALUE);
+    }
+
+    @Override
+    public QueryStream<Value> fetch(long amount) {
+        context.runOnContext(v -> {
+            demand = (Long.MAX_VALUE - demand < amount) ? Long.MAX_VALUE : demand + amount;
+            emit();
+        });
+        return this;
+    }
+
+    @Override
+    public QueryStream<Value> endHandler(Handler<Void> endHandler) {
+        this.endHandler = endHandler;
+        return this;
+    }
+
+    /**
+     * Closes the stream and releases the cursor, no more values or events are emitted.
+     */
+    public void close() {
+        context.runOnContext(v -> {
+            if (!closed) {
+                closed = true;
+                release();
+            }
+        });
+    }
+
+    private void emit() {
+        if (emitting || closed) {
+            return;
+        }
+        if (handler == null) {
+            idle();
+            return;
+        }
+        emitting = true;
+        try {
+            while (demand > 0L && !buffer.isEmpty() && handler != null) {
+                if (demand != Long.MAX_VALUE) {
+                    demand--;
+                }
+                handler.handle(buffer.poll());
+            }
+        } finally {
+            emitting = false;
+        }
+        if (buffer.isEmpty()) {
+            if (exhausted) {
+                end();
+            } else if (demand > 0L && !fetching) {
+                next();
+            }
+        }
+        if (!closed) {
+            if (demand == 0L) {
+                idle();
+            } else {
+                active();
+            }
+        }
+    }
+
+    private void next() {
+        fetching = true;
+        cursor.next(batchSize, batch -> context.runOnContext(v -> {
+            fetching = false;
+            if (closed) {
+                // the stream was closed while the batch was retrieved.
+                cursor.close();
+            } else if (batch.succeeded()) {
+                buffer.addAll(batch.result());
+                exhausted = batch.result().size() < batchSize;
+                emit();
+            } else {
+                fail(batch.cause());
+            }
+        }));
+    }
+
+    private void idle() {
+        if (idle == -1) {
+            idle = vertx.setTimer(IDLE_TIMEOUT, id -> {
+                idle = -1;
+                close();
+            });
+        }
+    }
+
+    private void active() {
+        if (idle != -1) {
+            vertx.cancelTimer(idle);
+            idle = -1;
+        }
+    }
+
+    private void release() {
+        active();
+        // a cursor that is retrieving a batch is closed when the batch completes.
+        if (!fetching) {
+            cursor.close();
+        }
+    }
+
+    private void end() {
+        if (!closed) {
+            closed = true;
+            release();
+            if (endHandler != null) {
+                endHandler.handle(null);
+            }
+        }
+    }
+
+    private void fail(Throwable e) {
+        if (!closed) {
+            closed = true;
+            release();
+            if (exceptionHandler != null) {
+                exceptionHandler.handle(e);
+            }
+        }
+    }
+}
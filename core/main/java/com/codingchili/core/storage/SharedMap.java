@@ -54,12 +54,14 @@ public class SharedMap<Value extends Storable> implements AsyncStorage<Value> {
     @Override
     public void put(Value value, Handler<AsyncResult<Void>> handler) {
         map.put(value.getId(), value);
+        EntryListeners.publish(context, value);
         handler.handle(FutureHelper.result());
     }
 
     @Override
     public void putIfAbsent(Value value, Handler<AsyncResult<Void>> handler) {
         if (map.putIfAbsent(value.getId(), value) == null) {
+            EntryListeners.publish(context, value);
             handler.handle(FutureHelper.result());
         } else {
             handler.handle(error(new ValueAlreadyPresentException(value.getId())));
@@ -80,12 +82,24 @@ public class SharedMap<Value extends Storable> implements AsyncStorage<Value> {
     @Override
     public void update(Value value, Handler<AsyncResult<Void>> handler) {
         if (map.replace(value.getId(), value) != null) {
+            EntryListeners.publish(context, value);
             handler.handle(FutureHelper.result());
         } else {
             handler.handle(error(new NothingToUpdateException(value.getId())));
         }
     }
 
+    @Override
+    public boolean addListener(Handler<Value> listener) {
+        EntryListeners.add(context, listener);
+        return true;
+    }
+
+    @Override
+    public void removeListener(Handler<Value> listener) {
+        EntryListeners.remove(context, listener);
+    }
+
     @Override
     public void values(Handler<AsyncResult<Stream<Value>>> handler) {
         handler.handle(Future.succeededFuture(map.values().stream()));
@@ -26,6 +26,8 @@ public class StorageLoader<Value extends Storable> {
     private String pluginString;
     private String database;
     private String collection;
+    private boolean immutable;
+    private NearCacheSettings nearCache;
 
     public StorageLoader() {
     }
@@ -43,7 +45,9 @@ public class StorageLoader<Value extends Storable> {
         Promise<AsyncStorage<Value>> promise = Promise.promise();
         context.blocking(blocking -> {
             try {
-                promise.future().onComplete(handler);
+                promise.future()
+                        .map(this::decorate)
+                        .onComplete(handler);
 
                 prepare();
                 StorageContext<Value> storage = new StorageContext<Value>(context)
@@ -51,7 +55,8 @@ public class StorageLoader<Value extends Storable> {
                         .setCollection(collection)
                         .setClass(valueClass)
                         .setPlugin(plugin)
-                        .setProperties(properties);
+                        .setProperties(properties)
+                        .setImmutable(immutable);
 
                 plugin.getConstructor(Promise.class, StorageContext.class)
                         .<Value>newInstance(promise, storage);
@@ -69,6 +74,14 @@ public class StorageLoader<Value extends Storable> {
         });
     }
 
+    private AsyncStorage<Value> decorate(AsyncStorage<Value> storage) {
+        if (nearCache != null) {
+            return new NearCache<>(storage, nearCache);
+        } else {
+            return storage;
+        }
+    }
+
     @SuppressWarnings("unchecked")
     private void prepare() throws ClassNotFoundException {
         checkIsSet(context, ID_CONTEXT);
@@ -144,6 +157,28 @@ public class StorageLoader<Value extends Storable> {
         return this;
     }
 
+    /**
+     * @param immutable true if stored values are never modified after being stored,
+     *                  allows local storages to skip copying values on read and write.
+     *                  Implied when the value class implements {@link ImmutableStorable}.
+     * @return fluent.
+     */
+    public StorageLoader<Value> withImmutableValues(boolean immutable) {
+        this.immutable = immutable;
+        return this;
+    }
+
+    /**
+     * @param settings places a bounded cache in front of the storage, used to
+     *                 avoid round trips to remote storages for values that are
+     *                 read often and rarely changed, see {@link NearCache}.
+     * @return fluent.
+     */
+    public StorageLoader<Value> withNearCache(NearCacheSettings settings) {
+        this.nearCache = settings;
+        return this;
+    }
+
     /**
      * @param plugin a plugin to store the given class, must implement
      *               #{@link AsyncStorage}
@@ -2,11 +2,16 @@ package com.codingchili.core.storage;
 
 import io.vertx.core.AsyncResult;
 import io.vertx.core.Handler;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.streams.ReadStream;
 
 import java.util.*;
 import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.regex.Pattern;
+import java.util.stream.Collector;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import com.codingchili.core.context.StorageContext;
 import com.codingchili.core.protocol.Serializer;
@@ -21,11 +26,18 @@ import com.codingchili.core.protocol.Serializer;
  * <p>
  * If the types of Value and Streaming are disjoint,
  * a mapper must be supplied to map the Streaming values to the Value type.
+ * <p>
+ * Queries only retain the entries required for the requested page. Ordered queries
+ * keep the best entries in a heap bounded by the end of the page, unordered queries
+ * stop consuming the source once the page is filled. The source may be split over
+ * the common fork join pool by setting the "parallel" property of the storage.
  */
 public class StreamQuery<Value extends Storable, Streaming> {
+    private static final String ID_PARALLEL = "parallel";
     private StreamSource<Streaming> source;
     private AsyncStorage<Value> storage;
     private StorageContext<Value> context;
+    private boolean parallel;
 
     // if no mapper is set, the streaming source must be the same as the value.
     @SuppressWarnings("unchecked")
@@ -35,6 +47,7 @@ public class StreamQuery<Value extends Storable, Streaming> {
         this.storage = storage;
         this.source = stream;
         this.context = storage.context();
+        this.parallel = context.properties().getBoolean(ID_PARALLEL, false);
     }
 
     public StreamQuery<Value, Streaming> setMapper(Function<Streaming, Value> mapper) {
@@ -42,6 +55,16 @@ public class StreamQuery<Value extends Storable, Streaming> {
         return this;
     }
 
+    /**
+     * @param parallel true if the source should be queried using a parallel stream,
+     *                 only recommended for large sources.
+     * @return fluent
+     */
+    public StreamQuery<Value, Streaming> setParallel(boolean parallel) {
+        this.parallel = parallel;
+        return this;
+    }
+
     public QueryBuilder<Value> query() {
         return new AbstractQueryBuilder<Value>(storage) {
             List<List<StatementPredicate>> statements = new ArrayList<>();
@@ -93,7 +116,8 @@ public class StreamQuery<Value extends Storable, Streaming> {
 
             @Override
             public QueryBuilder<Value> like(String text) {
-                apply(entry -> (entry.toString().toLowerCase().contains(text.toLowerCase())));
+                String needle = text.toLowerCase();
+                apply(entry -> (entry.toString().toLowerCase().contains(needle)));
                 return this;
             }
 
@@ -123,48 +147,115 @@ public class StreamQuery<Value extends Storable, Streaming> {
 
             @Override
             public QueryBuilder<Value> matches(String regex) {
-                apply(entry -> entry.toString().matches(regex));
+                Pattern pattern = Pattern.compile(regex);
+                apply(entry -> pattern.matcher(entry.toString()).matches());
                 return this;
             }
 
-            @SuppressWarnings("unchecked")
             @Override
             public void execute(Handler<AsyncResult<Collection<Value>>> handler) {
-                context.blocking(task -> {
+                context.blocking(task -> task.complete(results()), handler);
+            }
+
+            @Override
+            public ReadStream<Value> stream() {
+                return new QueryStream<>(context, getPageSize(), new QueryStream.Cursor<>() {
+                    private Iterator<Value> iterator;
+
+                    @Override
+                    public void next(int count, Handler<AsyncResult<List<Value>>> handler) {
+                        context.blocking(blocking -> {
+                            if (iterator == null) {
+                                iterator = all().iterator();
+                            }
+                            List<Value> batch = new ArrayList<>();
+                            while (batch.size() < count && iterator.hasNext()) {
+                                batch.add(iterator.next());
+                            }
+                            blocking.complete(batch);
+                        }, handler);
+                    }
+                });
+            }
 
-                    task.complete(results().stream()
-                            .sorted(this::sortByAttribute)
-                            .skip(getPage() * getPageSize())
+            private Stream<Value> all() {
+                Stream<Streaming> matches = source(true);
+
+                if (isOrdered()) {
+                    // all matches must be ranked before the first value can be emitted.
+                    return matches.distinct().map(entry -> new Ranked<>(getSortValue(entry), entry))
+                            .sorted(this::compare)
+                            .map(ranked -> mapper.apply(ranked.entry));
+                } else {
+                    return matches.distinct().map(mapper);
+                }
+            }
+
+            private List<Value> results() {
+                long offset = (long) getPage() * getPageSize();
+
+                if (isOrdered()) {
+                    int limit = (int) Math.min(Integer.MAX_VALUE, offset + getPageSize());
+                    // results are ranked by the sort key, so the encounter order is irrelevant.
+                    return source(true).distinct().map(entry -> new Ranked<>(getSortValue(entry), entry))
+                            .collect(Bounded.collector(limit, this::compare))
+                            .stream()
+                            .skip(offset)
+                            .map(ranked -> mapper.apply(ranked.entry))
+                            .collect(Collectors.toList());
+                } else {
+                    // keeps the encounter order so that consecutive pages never overlap.
+                    return source(false).distinct()
+                            .skip(offset)
                             .limit(getPageSize())
                             .map(mapper)
-                            .collect(Collectors.toList()));
+                            .collect(Collectors.toList());
+                }
+            }
 
-                }, handler);
+            private Stream<Streaming> source(boolean unordered) {
+                Stream<Streaming> stream = source.stream();
+
+                if (parallel) {
+                    stream = stream.parallel();
+                }
+                if (parallel && unordered) {
+                    // unordered allows parallel skip and limit to terminate early.
+                    stream = stream.unordered();
+                }
+                return stream.filter(this::matches);
             }
 
-            private Set<Streaming> results() {
-                return source.stream().filter(entry -> {
+            private int compare(Ranked<Streaming> first, Ranked<Streaming> second) {
+                int order = first.key.compareTo(second.key);
+                if (order == 0) {
+                    // entries with equal keys are ranked by id so that pages never overlap.
+                    order = first.id().compareTo(second.id());
+                }
+                return order * getSortDirection();
+            }
 
-                    if (statements.size() > 0) {
-                        // if an entry matches any of the classes it is a hit
-                        for (List<StatementPredicate> clause : statements) {
-                            boolean match = true;
-                            // check if the entry matches all statements in the clause
-                            for (StatementPredicate statement : clause) {
-                                if (!anyMatch(entry, statement)) {
-                                    match = false;
-                                }
-                            }
-                            if (match) {
-                                return true;
+            private boolean matches(Streaming entry) {
+                if (statements.size() > 0) {
+                    // if an entry matches any of the classes it is a hit
+                    for (List<StatementPredicate> clause : statements) {
+                        boolean match = true;
+                        // check if the entry matches all statements in the clause
+                        for (StatementPredicate statement : clause) {
+                            if (!anyMatch(entry, statement)) {
+                                match = false;
+                                break;
                             }
                         }
-                        return false;
-                    } else {
-                        // if there are no constraints - consider everything as matching.
-                        return true;
+                        if (match) {
+                            return true;
+                        }
                     }
-                }).collect(Collectors.toSet());
+                    return false;
+                } else {
+                    // if there are no constraints - consider everything as matching.
+                    return true;
+                }
             }
 
             // match function that tests all elements in an array if statement.attribute points to one.
@@ -178,6 +269,80 @@ public class StreamQuery<Value extends Storable, Streaming> {
         };
     }
 
+    /**
+     * An entry with its sort key, the key is only extracted once per entry.
+     */
+    private static class Ranked<T> {
+        private final String key;
+        private final T entry;
+        private String id;
+
+        Ranked(String key, T entry) {
+            this.key = key;
+            this.entry = entry;
+        }
+
+        /**
+         * @return the id of the entry, only extracted when sort keys are equal.
+         */
+        String id() {
+            if (id == null) {
+                if (entry instanceof Storable) {
+                    id = ((Storable) entry).getId();
+                } else if (entry instanceof JsonObject) {
+                    id = String.valueOf(((JsonObject) entry).getValue(Storable.idField));
+                } else {
+                    id = String.valueOf(entry);
+                }
+            }
+            return id;
+        }
+    }
+
+    /**
+     * Retains the given number of entries that are first in the given order.
+     */
+    private static class Bounded<T> {
+        private final PriorityQueue<T> heap;
+        private final Comparator<T> comparator;
+        private final int limit;
+
+        Bounded(int limit, Comparator<T> comparator) {
+            this.limit = limit;
+            this.comparator = comparator;
+            // the head of the heap is the last retained entry.
+            this.heap = new PriorityQueue<>(Math.max(1, Math.min(limit, 256)), comparator.reversed());
+        }
+
+        static <T> Collector<T, Bounded<T>, List<T>> collector(int limit, Comparator<T> comparator) {
+            return Collector.of(
+                    () -> new Bounded<>(limit, comparator),
+                    Bounded::add,
+                    Bounded::merge,
+                    Bounded::sorted);
+        }
+
+        void add(T entry) {
+            if (heap.size() < limit) {
+                heap.add(entry);
+            } else if (limit > 0 && comparator.compare(entry, heap.peek()) < 0) {
+                heap.poll();
+                heap.add(entry);
+            }
+        }
+
+        Bounded<T> merge(Bounded<T> other) {
+            other.heap.forEach(this::add);
+            return this;
+        }
+
+        List<T> sorted() {
+            List<T> list = new ArrayList<>(heap);
+            list.sort(comparator);
+            return list;
+        }
+    }
+
     private class StatementPredicate {
         private final String attribute;
         private final Predicate<Comparable> predicate;
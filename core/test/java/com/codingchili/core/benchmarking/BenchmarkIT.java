@@ -70,6 +70,44 @@ public class BenchmarkIT {
                 });
     }
 
+    @Test
+    public void testRunUdpBenchmarks(TestContext test) {
+        Async async = test.async();
+
+        new CoreBenchmarkSuite().setIterations(ITERATIONS).udp(context, new MockListener(test))
+                .onComplete(done -> {
+                    test.assertTrue(done.succeeded());
+                    test.assertFalse(done.result().get(0).getImplementations().isEmpty());
+                    async.complete();
+                });
+    }
+
+    @Test
+    public void testRunTokenBenchmarks(TestContext test) {
+        Async async = test.async();
+        MockListener listener = new MockListener(test);
+
+        new CoreBenchmarkSuite().setIterations(ITERATIONS).tokens(context, listener)
+                .onComplete(done -> {
+                    test.assertTrue(done.succeeded());
+                    listener.assertAllEventsTriggered();
+                    async.complete();
+                });
+    }
+
+    @Test
+    public void testRunProtocolBenchmarks(TestContext test) {
+        Async async = test.async();
+        MockListener listener = new MockListener(test);
+
+        new CoreBenchmarkSuite().setIterations(ITERATIONS).protocols(context, listener)
+                .onComplete(done -> {
+                    test.assertTrue(done.succeeded());
+                    listener.assertAllEventsTriggered();
+                    async.complete();
+                });
+    }
+
     /*
      * Executes the benchmark suite as if it were executed from the commandline.
      */
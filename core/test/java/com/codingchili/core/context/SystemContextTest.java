@@ -40,6 +40,12 @@ public class SystemContextTest {
             @Override
             public Logger logger(Class aClass) {
                 return new AbstractLogger(getClass()) {
+                    @Override
+                    public Logger log(JsonObject json) {
+                        // the logger is published to startup listeners, other events are discarded.
+                        return this;
+                    }
+
                     @Override
                     public void onMetricsSnapshot(JsonObject metrics) {
                         listener.onMetric(metrics);
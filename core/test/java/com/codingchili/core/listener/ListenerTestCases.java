@@ -70,6 +70,7 @@ public abstract class ListenerTestCases {
                 .setHttpOptions(new HttpServerOptions().setCompressionSupported(false))
                 .addMapping(PATCHING_ROOT, new Endpoint(NODE_PATCHING));
 
+        configure(settings);
         context.listener(() -> listener.get().settings(settings).handler(new TestHandler())).onComplete(deploy -> {
             if (deploy.failed()) {
                 deploy.cause().printStackTrace();
@@ -107,6 +108,14 @@ public abstract class ListenerTestCases {
                 .put(CoreStrings.PROTOCOL_ROUTE, CoreStrings.ID_PING));
     }
 
+    /**
+     * Allows implementing classes to configure transport specific settings.
+     *
+     * @param settings the settings used for the listener under test.
+     */
+    protected void configure(ListenerSettings settings) {
+    }
+
     /**
      * Implementing class must provide transport specific implementation.
      *
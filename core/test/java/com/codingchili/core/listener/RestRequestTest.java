@@ -24,6 +24,8 @@ import java.nio.charset.Charset;
 import java.util.*;
 
 import com.codingchili.core.listener.transport.RestRequest;
+import com.codingchili.core.protocol.Serializer;
+import com.codingchili.core.security.Token;
 
 import static com.codingchili.core.configuration.CoreStrings.*;
 
@@ -87,6 +89,15 @@ public class RestRequestTest {
         test.assertEquals(getRequest(BASEPATH).target(), DEFAULT_TARGET);
     }
 
+    @Test
+    public void tokenParsedOnce(TestContext test) {
+        RestRequest request = getRequest(BODY_ROUTE.copy()
+                .put(ID_TOKEN, Serializer.json(new Token(TARGET))));
+
+        test.assertEquals(TARGET, request.token().getDomain());
+        test.assertTrue(request.token() == request.token());
+    }
+
     private void assertRoute(RestRequest request, TestContext test) {
         test.assertEquals(TARGET, request.target());
         test.assertEquals(ROUTE, request.route());
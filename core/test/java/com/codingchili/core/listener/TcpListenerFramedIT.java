@@ -0,0 +1,97 @@
+package com.codingchili.core.listener;
+
+import io.vertx.core.Handler;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.net.NetSocket;
+import io.vertx.core.parsetools.RecordParser;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import com.codingchili.core.configuration.CoreStrings;
+import com.codingchili.core.listener.transport.TcpListener;
+
+/**
+ * Test cases for TCP transport with length prefixed framing.
+ */
+@RunWith(VertxUnitRunner.class)
+public class TcpListenerFramedIT extends ListenerTestCases {
+    private static final int PIPELINED = 16;
+
+    public TcpListenerFramedIT() {
+        super(WireType.TCP, TcpListener::new);
+    }
+
+    @Override
+    protected void configure(ListenerSettings settings) {
+        settings.setFraming(WireFraming.LENGTH);
+    }
+
+    private static Buffer frame(JsonObject data) {
+        Buffer message = data.toBuffer();
+        return Buffer.buffer().appendInt(message.length()).appendBuffer(message);
+    }
+
+    private void connect(RecordParser parser, Buffer data) {
+        context.vertx().createNetClient().connect(port, HOST, connect -> {
+            if (connect.succeeded()) {
+                NetSocket socket = connect.result();
+                socket.handler(parser);
+                socket.write(data);
+            } else {
+                throw new RuntimeException(connect.cause());
+            }
+        });
+    }
+
+    private RecordParser parser(ResponseListener listener) {
+        RecordParser parser = RecordParser.newFixed(Integer.BYTES);
+        parser.handler(new Handler<>() {
+            private boolean header = true;
+
+            @Override
+            public void handle(Buffer record) {
+                if (header) {
+                    parser.fixedSizeMode(record.getInt(0));
+                } else {
+                    parser.fixedSizeMode(Integer.BYTES);
+                    handleBody(listener, record);
+                }
+                header = !header;
+            }
+        });
+        return parser;
+    }
+
+    @Override
+    public void sendRequest(ResponseListener listener, JsonObject data) {
+        connect(parser(listener), frame(data));
+    }
+
+    @Test
+    public void testPipelinedRequests(TestContext test) {
+        Async async = test.async();
+        Set<Integer> correlations = new HashSet<>();
+        Buffer requests = Buffer.buffer();
+
+        for (int i = 0; i < PIPELINED; i++) {
+            requests.appendBuffer(frame(new JsonObject()
+                    .put(CoreStrings.PROTOCOL_TARGET, NODE_ROUTER)
+                    .put(CoreStrings.PROTOCOL_ROUTE, CoreStrings.ID_PING)
+                    .put(CoreStrings.PROTOCOL_CORRELATION, i)));
+        }
+
+        connect(parser((result, status) -> {
+            correlations.add(result.getInteger(CoreStrings.PROTOCOL_CORRELATION));
+            if (correlations.size() == PIPELINED) {
+                async.complete();
+            }
+        }), requests);
+    }
+}
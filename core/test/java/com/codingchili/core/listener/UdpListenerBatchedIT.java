@@ -0,0 +1,77 @@
+package com.codingchili.core.listener;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.datagram.DatagramSocket;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import com.codingchili.core.configuration.CoreStrings;
+import com.codingchili.core.listener.transport.UdpListener;
+
+/**
+ * Test cases for UDP transport with responses coalesced into datagrams.
+ */
+@RunWith(VertxUnitRunner.class)
+public class UdpListenerBatchedIT extends ListenerTestCases {
+    private static final int FLUSH_WINDOW = 50;
+    private static final int REQUESTS = 8;
+
+    public UdpListenerBatchedIT() {
+        super(WireType.UDP, UdpListener::new);
+    }
+
+    @Override
+    protected void configure(ListenerSettings settings) {
+        settings.setFraming(WireFraming.LENGTH)
+                .setFlushWindow(FLUSH_WINDOW);
+    }
+
+    private static void frames(Buffer datagram, Consumer<Buffer> handler) {
+        int offset = 0;
+        while (offset < datagram.length()) {
+            int length = datagram.getInt(offset);
+            offset += Integer.BYTES;
+            handler.accept(datagram.getBuffer(offset, offset + length));
+            offset += length;
+        }
+    }
+
+    @Override
+    public void sendRequest(ResponseListener listener, JsonObject data) {
+        DatagramSocket socket = context.vertx().createDatagramSocket();
+
+        socket.handler(packet -> frames(packet.data(), frame -> handleBody(listener, frame)));
+        socket.send(data.encode(), port, HOST);
+    }
+
+    @Test
+    public void testResponsesCoalesced(TestContext test) {
+        Async async = test.async();
+        DatagramSocket socket = context.vertx().createDatagramSocket();
+        AtomicInteger datagrams = new AtomicInteger();
+        AtomicInteger responses = new AtomicInteger();
+
+        socket.handler(packet -> {
+            datagrams.incrementAndGet();
+            frames(packet.data(), frame -> {
+                if (responses.incrementAndGet() == REQUESTS) {
+                    test.assertTrue(datagrams.get() < REQUESTS);
+                    async.complete();
+                }
+            });
+        });
+
+        for (int i = 0; i < REQUESTS; i++) {
+            socket.send(new JsonObject()
+                    .put(CoreStrings.PROTOCOL_TARGET, NODE_ROUTER)
+                    .put(CoreStrings.PROTOCOL_ROUTE, CoreStrings.ID_PING).encode(), port, HOST);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.codingchili.core.listener;
+
+import io.vertx.core.datagram.DatagramSocket;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import org.junit.runner.RunWith;
+
+import java.net.SocketException;
+
+import com.codingchili.core.listener.transport.UdpListener;
+
+/**
+ * Test cases for UDP transport with multiple listener instances bound to the same port.
+ */
+@RunWith(VertxUnitRunner.class)
+public class UdpListenerInstancesIT extends ListenerTestCases {
+    private static final int INSTANCES = 2;
+
+    public UdpListenerInstancesIT() {
+        super(WireType.UDP, UdpListener::new);
+    }
+
+    @Override
+    protected void configure(ListenerSettings settings) {
+        // instances must bind to the same port.
+        try (java.net.DatagramSocket socket = new java.net.DatagramSocket(0)) {
+            settings.setPort(socket.getLocalPort())
+                    .setInstances(INSTANCES);
+        } catch (SocketException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public void sendRequest(ResponseListener listener, JsonObject data) {
+        DatagramSocket socket = context.vertx().createDatagramSocket();
+
+        socket.handler(packet -> handleBody(listener, packet.data()));
+        socket.send(data.encode(), port, HOST);
+    }
+}
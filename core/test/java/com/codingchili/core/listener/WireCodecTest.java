@@ -0,0 +1,137 @@
+package com.codingchili.core.listener;
+
+import com.esotericsoftware.kryo.io.Output;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.*;
+
+import com.codingchili.core.context.CoreRuntimeException;
+import com.codingchili.core.listener.transport.TcpListener;
+import com.codingchili.core.listener.transport.UdpListener;
+import com.codingchili.core.protocol.ResponseStatus;
+import com.codingchili.core.protocol.Serializer;
+import com.codingchili.core.testing.ContextMock;
+
+import static com.codingchili.core.configuration.CoreStrings.*;
+
+/**
+ * Tests that messages are encoded and decoded by all wire codecs.
+ */
+@RunWith(VertxUnitRunner.class)
+public class WireCodecTest {
+    private static final String TARGET = "target.node";
+    private static final String ROUTE = "route";
+    private static final String NESTED = "nested";
+    private static final String LIST = "list";
+    private static final String VALUE = "value";
+
+    private JsonObject message() {
+        return new JsonObject()
+                .put(VALUE, 42)
+                .put(NESTED, new JsonObject().put(VALUE, "text"))
+                .put(LIST, new JsonArray().add(1).add("two"));
+    }
+
+    @Test
+    public void testCodecsRoundTrip(TestContext test) {
+        for (WireCodec codec : WireCodec.values()) {
+            Buffer buffer = codec.encode(TARGET, ROUTE, message());
+            JsonObject decoded = codec.decode(buffer);
+
+            test.assertEquals(codec, WireCodec.detect(buffer, codec));
+            test.assertEquals(TARGET, decoded.getString(PROTOCOL_TARGET));
+            test.assertEquals(ROUTE, decoded.getString(PROTOCOL_ROUTE));
+            test.assertEquals(ResponseStatus.ACCEPTED.name(), decoded.getString(PROTOCOL_STATUS));
+            test.assertEquals(42, decoded.getInteger(VALUE));
+            test.assertEquals("text", decoded.getJsonObject(NESTED).getString(VALUE));
+            test.assertEquals("two", decoded.getJsonArray(LIST).getString(1));
+        }
+    }
+
+    @Test
+    public void testJsonAlwaysDetected(TestContext test) {
+        for (WireCodec codec : WireCodec.values()) {
+            test.assertEquals(WireCodec.JSON, WireCodec.detect(message().toBuffer(), codec));
+        }
+    }
+
+    @Test
+    public void testKryoRejectsUnregisteredClasses(TestContext test) {
+        Map<String, Object> message = new LinkedHashMap<>();
+        message.put(VALUE, new Date());
+
+        // written with the shared kryo pool which does not require registration.
+        byte[] bytes = Serializer.kryo(kryo -> {
+            Output output = new Output(256, -1);
+            kryo.writeObject(output, message);
+            return output.toBytes();
+        });
+
+        try {
+            WireCodec.KRYO.decode(Buffer.buffer(bytes));
+            test.fail("classes that are not json values must not be instantiated.");
+        } catch (CoreRuntimeException e) {
+            // expected.
+        }
+    }
+
+    @Test
+    public void testLengthFramingPreservesNewlines(TestContext test) {
+        // cbor encodes the small integer 10 as the byte 0x0A.
+        Buffer encoded = WireCodec.CBOR.encode(TARGET, ROUTE, new JsonObject().put(VALUE, (int) '\n'));
+        test.assertTrue(contains(encoded, (byte) '\n'));
+
+        Buffer framed = WireFraming.LENGTH.frame(encoded);
+        Buffer message = framed.getBuffer(Integer.BYTES, Integer.BYTES + framed.getInt(0));
+        test.assertEquals((int) '\n', WireCodec.CBOR.decode(message).getInteger(VALUE));
+    }
+
+    @Test
+    public void testNewlineFramingOnlySupportsJson(TestContext test) {
+        for (WireCodec codec : WireCodec.values()) {
+            test.assertEquals(codec == WireCodec.JSON, WireFraming.NEWLINE.supports(codec));
+            test.assertTrue(WireFraming.LENGTH.supports(codec));
+        }
+    }
+
+    @Test
+    public void testListenerRejectsNewlineFramingWithBinaryCodec(TestContext test) {
+        ContextMock context = new ContextMock();
+        ListenerSettings settings = new ListenerSettings()
+                .setPort(0)
+                .setFraming(WireFraming.NEWLINE)
+                .setCodec(WireCodec.CBOR);
+
+        context.listener(() -> new TcpListener().settings(settings).handler(request -> {
+        })).onComplete(tcp -> {
+            test.assertTrue(tcp.failed());
+
+            context.listener(() -> new UdpListener().settings(settings).handler(request -> {
+            })).onComplete(udp -> {
+                test.assertTrue(udp.failed());
+                context.close(test.asyncAssertSuccess());
+            });
+        });
+    }
+
+    private static boolean contains(Buffer buffer, byte value) {
+        for (int i = 0; i < buffer.length(); i++) {
+            if (buffer.getByte(i) == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Test
+    public void testBuffersNotReencoded(TestContext test) {
+        Buffer encoded = WireCodec.CBOR.encode(TARGET, ROUTE, message());
+        test.assertTrue(encoded == WireCodec.CBOR.encode(TARGET, ROUTE, encoded));
+    }
+}
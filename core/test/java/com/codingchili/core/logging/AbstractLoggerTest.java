@@ -1,11 +1,17 @@
 package com.codingchili.core.logging;
 
+import io.vertx.core.json.JsonObject;
 import io.vertx.ext.unit.TestContext;
 import io.vertx.ext.unit.junit.VertxUnitRunner;
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.codingchili.core.configuration.system.LoggingSettings;
+import com.codingchili.core.files.Configurations;
 import com.codingchili.core.testing.LoggerMock;
 
 import static com.codingchili.core.configuration.CoreStrings.*;
@@ -23,6 +29,11 @@ public class AbstractLoggerTest {
         });
     }
 
+    @After
+    public void tearDown() {
+        Configurations.system().setLogging(new LoggingSettings());
+    }
+
     @Test
     public void testGenerateLogEvent(TestContext context) {
         LogMessage event = logger.event(LOG_MESSAGE, Level.ERROR);
@@ -30,6 +41,68 @@ public class AbstractLoggerTest {
         context.assertEquals(LOG_MESSAGE, event.toJson().getString(LOG_EVENT));
         context.assertEquals(Level.ERROR.toString(), event.toJson().getString(LOG_LEVEL));
         context.assertTrue(event.toJson().containsKey(LOG_TIME));
+        context.assertTrue(event.toJson().containsKey(LOG_SOURCE));
     }
 
+    @Test
+    public void testDisabledLevelNotCreated(TestContext context) {
+        AtomicInteger evaluated = new AtomicInteger();
+        logger.setMetadataValue(ID_NAME, () -> String.valueOf(evaluated.incrementAndGet()));
+        Configurations.system().getLogging().getDisabled().add(Level.INFO.getName());
+
+        LogMessage first = logger.event(LOG_MESSAGE, Level.INFO).put(LOG_MESSAGE, "text");
+        LogMessage second = logger.event(LOG_MESSAGE, Level.INFO);
+        first.send();
+
+        context.assertFalse(logger.isEnabled(Level.INFO));
+        context.assertTrue(logger.isEnabled(Level.ERROR));
+        context.assertTrue(first == second);
+        context.assertTrue(first.toJson().isEmpty());
+        context.assertEquals(0, evaluated.get());
+    }
+
+    @Test
+    public void testMetadataEvaluatedOnSend(TestContext context) {
+        AtomicInteger evaluated = new AtomicInteger();
+        logger.setMetadataValue(ID_NAME, () -> String.valueOf(evaluated.incrementAndGet()));
+
+        LogMessage event = logger.event(LOG_MESSAGE, Level.ERROR);
+        context.assertEquals(0, evaluated.get());
+        context.assertFalse(event.toJson().containsKey(ID_NAME));
+
+        event.send();
+        context.assertEquals(1, evaluated.get());
+    }
+
+    @Test
+    public void testEventValuesNotReplacedByMetadata(TestContext context) {
+        JsonObject[] logged = new JsonObject[1];
+        logger = new LoggerMock(line -> {
+        }) {
+            @Override
+            public Logger log(JsonObject json) {
+                logged[0] = json;
+                return this;
+            }
+        };
+        logger.setMetadataValue(ID_NAME, () -> "metadata");
+        logger.setMetadataValue(ID_DB, () -> "metadata");
+
+        logger.event(LOG_MESSAGE, Level.ERROR).put(ID_NAME, "event").send();
+
+        context.assertEquals("event", logged[0].getString(ID_NAME));
+        context.assertEquals("metadata", logged[0].getString(ID_DB));
+    }
+
+    @Test
+    public void testLauncherResolvedWhenLoaded(TestContext context) {
+        String application = Configurations.launcher().getApplication();
+        try {
+            context.assertEquals(application, logger.event(LOG_MESSAGE).toJson().getString(LOG_APPLICATION));
+            Configurations.launcher().setApplication("loaded");
+            context.assertEquals("loaded", logger.event(LOG_MESSAGE).toJson().getString(LOG_APPLICATION));
+        } finally {
+            Configurations.launcher().setApplication(application);
+        }
+    }
 }
@@ -1,12 +1,19 @@
 package com.codingchili.core.logging;
 
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.SharedMetricRegistries;
+import io.vertx.ext.unit.Async;
 import io.vertx.ext.unit.TestContext;
 import io.vertx.ext.unit.junit.VertxUnitRunner;
 import org.fusesource.jansi.Ansi;
 import org.junit.*;
 import org.junit.runner.RunWith;
 
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
 import com.codingchili.core.context.SystemContext;
+import com.codingchili.core.metrics.MetricSettings;
 import com.codingchili.core.testing.ContextMock;
 
 /**
@@ -53,6 +60,79 @@ public class ConsoleLoggerTest {
         new ConsoleLogger(getClass()).log("");
     }
 
+    @Test
+    public void testWriterOverflowPolicy(TestContext test) throws InterruptedException {
+        Counter dropped = SharedMetricRegistries.getOrCreate(MetricSettings.REGISTRY_NAME)
+                .counter(ConsoleWriter.METRIC_DROPPED);
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        StringBuilder output = new StringBuilder();
+
+        ConsoleWriter writer = new ConsoleWriter(2, text -> {
+            writing.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            synchronized (output) {
+                output.append(text);
+            }
+        });
+
+        // blocks the writer thread so that following lines are queued.
+        writer.write(() -> "first", OverflowPolicy.DROP_NEW);
+        test.assertTrue(writing.await(5, TimeUnit.SECONDS));
+        long initial = dropped.getCount();
+
+        writer.write(() -> "second", OverflowPolicy.DROP_NEW);
+        writer.write(() -> "third", OverflowPolicy.DROP_NEW);
+        writer.write(() -> "fourth", OverflowPolicy.DROP_NEW);
+        writer.write(() -> "fifth", OverflowPolicy.DROP_OLDEST);
+        test.assertEquals(initial + 2, dropped.getCount());
+
+        release.countDown();
+        writer.close();
+        test.assertTrue(writer.isClosed());
+
+        synchronized (output) {
+            String text = output.toString();
+            test.assertTrue(text.contains("first"));
+            test.assertFalse(text.contains("second"));
+            test.assertTrue(text.contains("third"));
+            test.assertFalse(text.contains("fourth"));
+            test.assertTrue(text.contains("fifth"));
+        }
+    }
+
+    @Test
+    public void testWriterNeverBlocksEventLoop(TestContext test) throws InterruptedException {
+        Async async = test.async();
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        ConsoleWriter writer = new ConsoleWriter(1, text -> {
+            writing.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        // blocks the writer thread and fills the queue.
+        writer.write(() -> "first", OverflowPolicy.BLOCK);
+        test.assertTrue(writing.await(5, TimeUnit.SECONDS));
+        writer.write(() -> "second", OverflowPolicy.BLOCK);
+
+        context.vertx().runOnContext(v -> {
+            writer.write(() -> "third", OverflowPolicy.BLOCK);
+            release.countDown();
+            writer.close();
+            async.complete();
+        });
+    }
+
     private static LogLevel create(String name) {
         return new LogLevel() {
             @Override
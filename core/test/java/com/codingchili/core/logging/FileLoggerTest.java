@@ -0,0 +1,156 @@
+package com.codingchili.core.logging;
+
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import org.junit.*;
+import org.junit.runner.RunWith;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import com.codingchili.core.context.CoreContext;
+import com.codingchili.core.context.CoreRuntimeException;
+import com.codingchili.core.protocol.Serializer;
+import com.codingchili.core.testing.ContextMock;
+
+import static com.codingchili.core.configuration.CoreStrings.ID_COUNT;
+
+/**
+ * Verifies that the file logger writes, rolls and compresses log segments.
+ */
+@RunWith(VertxUnitRunner.class)
+public class FileLoggerTest {
+    private static final String NAME = "test";
+    private CoreContext context;
+    private Path directory;
+
+    @Before
+    public void setUp() throws IOException {
+        context = new ContextMock();
+        directory = Files.createTempDirectory(NAME);
+    }
+
+    @After
+    public void tearDown(TestContext test) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.collect(Collectors.toList())) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(directory);
+        context.close(test.asyncAssertSuccess());
+    }
+
+    @Test
+    public void testLogEventsInOrder(TestContext test) throws IOException {
+        FileLogger logger = new FileLogger(context, settings());
+
+        for (int i = 0; i < 100; i++) {
+            logger.log(new JsonObject().put(ID_COUNT, i));
+        }
+        logger.close();
+
+        List<String> lines = Files.readAllLines(logger.getActiveSegment());
+        test.assertEquals(100, lines.size());
+        for (int i = 0; i < lines.size(); i++) {
+            test.assertEquals(i, new JsonObject(lines.get(i)).getInteger(ID_COUNT));
+        }
+    }
+
+    @Test
+    public void testCommitOnInterval(TestContext test) {
+        Async async = test.async();
+        FileLogger logger = new FileLogger(context, settings().setCommitInterval(50));
+        logger.log(new JsonObject().put(ID_COUNT, 0));
+
+        context.vertx().setPeriodic(50, id -> {
+            try {
+                if (Files.size(logger.getActiveSegment()) > 0) {
+                    context.vertx().cancelTimer(id);
+                    logger.close();
+                    async.complete();
+                }
+            } catch (IOException e) {
+                test.fail(e);
+            }
+        });
+    }
+
+    @Test
+    public void testRollAndCompressSegments(TestContext test) {
+        Async async = test.async();
+        FileLogger logger = new FileLogger(context, settings().setSegmentSize(16));
+
+        // each commit exceeds the segment size and rolls the previous segment.
+        for (int i = 0; i < 3; i++) {
+            logger.log(new JsonObject().put(ID_COUNT, i));
+            logger.commit();
+        }
+        logger.close();
+
+        context.vertx().setPeriodic(50, id -> {
+            List<Path> compressed = segments(".gz");
+            if (compressed.size() == 2 && segments(".log").size() == 1) {
+                context.vertx().cancelTimer(id);
+                Set<Integer> counts = new HashSet<>();
+
+                for (Path segment : compressed) {
+                    try {
+                        String text = new String(Serializer.ungzip(Files.readAllBytes(segment)), StandardCharsets.UTF_8);
+                        counts.add(new JsonObject(text.trim()).getInteger(ID_COUNT));
+                    } catch (IOException e) {
+                        test.fail(e);
+                    }
+                }
+                test.assertEquals(new HashSet<>(Arrays.asList(0, 1)), counts);
+                async.complete();
+            }
+        });
+    }
+
+    @Test
+    public void testFailedRollRetainsEvents(TestContext test) throws IOException {
+        FileLogger logger = new FileLogger(context, settings().setSegmentSize(16).setCompress(false));
+        logger.log(new JsonObject().put(ID_COUNT, 0));
+        logger.commit();
+
+        // the active segment cannot be moved when it is rolled.
+        Files.delete(logger.getActiveSegment());
+        logger.log(new JsonObject().put(ID_COUNT, 1));
+        try {
+            logger.commit();
+            test.fail("commit must fail when the segment cannot be rolled.");
+        } catch (CoreRuntimeException e) {
+            // expected.
+        }
+        logger.log(new JsonObject().put(ID_COUNT, 2));
+        logger.close();
+
+        List<String> lines = Files.readAllLines(logger.getActiveSegment());
+        test.assertEquals(2, lines.size());
+        test.assertEquals(1, new JsonObject(lines.get(0)).getInteger(ID_COUNT));
+        test.assertEquals(2, new JsonObject(lines.get(1)).getInteger(ID_COUNT));
+    }
+
+    private List<Path> segments(String extension) {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.toString().endsWith(extension))
+                    .collect(Collectors.toList());
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private FileLoggerSettings settings() {
+        return new FileLoggerSettings()
+                .setDirectory(directory.toString())
+                .setName(NAME)
+                .setCommitInterval(60000);
+    }
+}
@@ -1,15 +1,26 @@
 package com.codingchili.core.logging;
 
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.SharedMetricRegistries;
+import io.vertx.core.AbstractVerticle;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
 import io.vertx.ext.unit.Async;
 import io.vertx.ext.unit.TestContext;
 import io.vertx.ext.unit.junit.VertxUnitRunner;
 import org.junit.*;
 import org.junit.runner.RunWith;
 
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.codingchili.core.configuration.system.LoggingSettings;
 import com.codingchili.core.context.CoreContext;
+import com.codingchili.core.context.CoreRuntimeException;
+import com.codingchili.core.files.Configurations;
+import com.codingchili.core.metrics.MetricSettings;
 import com.codingchili.core.testing.ContextMock;
 
-import static com.codingchili.core.configuration.CoreStrings.NODE_LOGGING;
+import static com.codingchili.core.configuration.CoreStrings.*;
 
 /**
  * Verify that the remote logger is pushing events to a remote.
@@ -25,6 +36,7 @@ public class RemoteLoggerTest {
 
     @After
     public void tearDown(TestContext test) {
+        Configurations.system().setLogging(new LoggingSettings());
         context.close(test.asyncAssertSuccess());
     }
 
@@ -34,6 +46,105 @@ public class RemoteLoggerTest {
         new RemoteLogger(context, getClass()).log("text");
     }
 
+    @Test
+    public void testLogBatchOnSize(TestContext test) {
+        Async async = test.async();
+        RemoteLogger logger = batching(new LoggingSettings()
+                .setBatchSize(4)
+                .setFlushInterval(60000));
+
+        context.bus().<JsonObject>consumer(NODE_LOGGING).handler(message -> {
+            JsonObject batch = message.body();
+            test.assertEquals(PROTOCOL_LOGGING_BATCH, batch.getString(PROTOCOL_ROUTE));
+            test.assertEquals(4, batch.getInteger(ID_COUNT));
+            test.assertEquals(4, RemoteLogger.unpack(batch).size());
+            async.complete();
+        });
+
+        for (int i = 0; i < 4; i++) {
+            logger.log("text");
+        }
+    }
+
+    @Test
+    public void testLogBatchOnInterval(TestContext test) {
+        Async async = test.async();
+        RemoteLogger logger = batching(new LoggingSettings()
+                .setFlushInterval(50));
+
+        context.bus().<JsonObject>consumer(NODE_LOGGING).handler(message -> {
+            JsonArray events = RemoteLogger.unpack(message.body());
+            if (events.stream().anyMatch(event -> "text".equals(((JsonObject) event).getString(LOG_MESSAGE)))) {
+                async.complete();
+            }
+        });
+
+        logger.log("text");
+    }
+
+    @Test
+    public void testLogBatchOnIntervalAfterUndeploy(TestContext test) {
+        Async async = test.async();
+        AtomicReference<RemoteLogger> logger = new AtomicReference<>();
+
+        // the buffer is created by a logger in a deployment that is undeployed.
+        context.vertx().deployVerticle(new AbstractVerticle() {
+            @Override
+            public void start() {
+                logger.set(batching(new LoggingSettings().setFlushInterval(50)));
+            }
+        }, test.asyncAssertSuccess(deployment -> context.vertx().undeploy(deployment,
+                test.asyncAssertSuccess(undeployed -> {
+                    context.bus().<JsonObject>consumer(NODE_LOGGING).handler(message -> {
+                        JsonArray events = RemoteLogger.unpack(message.body());
+                        if (events.stream().anyMatch(event -> "text".equals(((JsonObject) event).getString(LOG_MESSAGE)))) {
+                            async.complete();
+                        }
+                    });
+                    logger.get().log("text");
+                }))));
+    }
+
+    @Test
+    public void testShedLowSeverityWhenFull(TestContext test) {
+        Async async = test.async();
+        Counter dropped = SharedMetricRegistries.getOrCreate(MetricSettings.REGISTRY_NAME)
+                .counter(LogBuffer.METRIC_DROPPED);
+        long initial = dropped.getCount();
+
+        RemoteLogger logger = batching(new LoggingSettings()
+                .setCapacity(8)
+                .setBatchSize(8)
+                .setFlushInterval(60000));
+
+        context.bus().<JsonObject>consumer(NODE_LOGGING).handler(message -> {
+            JsonArray events = RemoteLogger.unpack(message.body());
+            test.assertEquals(8, events.size());
+            test.assertEquals(Level.ERROR.getName(), events.getJsonObject(7).getString(LOG_LEVEL));
+            test.assertTrue(dropped.getCount() - initial >= 2);
+            async.complete();
+        });
+
+        // events with a shed level are dropped when the buffer is three quarters full.
+        for (int i = 0; i < 8; i++) {
+            logger.log("info", Level.INFO);
+        }
+        logger.log("error", Level.ERROR);
+        logger.log("error", Level.ERROR);
+    }
+
+    @Test(expected = CoreRuntimeException.class)
+    public void testCapacityBelowBatchSizeRejected() {
+        batching(new LoggingSettings()
+                .setCapacity(0)
+                .setBatchSize(8));
+    }
+
+    private RemoteLogger batching(LoggingSettings settings) {
+        Configurations.system().setLogging(settings.setBatching(true));
+        return new RemoteLogger(context, getClass());
+    }
+
     private void mockNode(Async async) {
         context.bus().consumer(NODE_LOGGING).handler(message -> {
             async.complete();
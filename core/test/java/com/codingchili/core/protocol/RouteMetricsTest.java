@@ -0,0 +1,138 @@
+package com.codingchili.core.protocol;
+
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.SharedMetricRegistries;
+import com.codahale.metrics.Timer;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import org.junit.*;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.codingchili.core.files.Configurations;
+import com.codingchili.core.listener.Request;
+import com.codingchili.core.listener.RequestWrapper;
+import com.codingchili.core.metrics.MetricSettings;
+import com.codingchili.core.testing.EmptyRequest;
+
+import static com.codingchili.core.protocol.Role.*;
+
+/**
+ * Verifies that the protocol records metrics for each route.
+ */
+@RunWith(VertxUnitRunner.class)
+public class RouteMetricsTest {
+    private static final String ROUTE = "route";
+    private static final int SIZE = 42;
+    private static final int RESPONSE = 128;
+    private final MetricRegistry registry = SharedMetricRegistries.getOrCreate(MetricSettings.REGISTRY_NAME);
+
+    @Before
+    public void setUp() {
+        Configurations.system().getMetrics().setRoutes(true);
+    }
+
+    @After
+    public void tearDown() {
+        Configurations.system().getMetrics().setRoutes(false);
+    }
+
+    @Test
+    public void testRequestNotWrappedWhenDisabled(TestContext test) {
+        Configurations.system().getMetrics().setRoutes(false);
+        SizedRequest request = new SizedRequest();
+        List<Request> received = new ArrayList<>();
+
+        new Protocol<Request>()
+                .endpoint("disabled")
+                .routeMapper(any -> ROUTE)
+                .use(ROUTE, received::add, PUBLIC)
+                .process(request);
+
+        test.assertTrue(received.get(0) == request);
+        test.assertEquals(0L, registry.timer("protocol.disabled.route.accepted").getCount());
+    }
+
+    @Test
+    public void testRecordLatencyAndSize(TestContext test) {
+        protocol("latency", ROUTE, PUBLIC).process(new SizedRequest());
+
+        test.assertEquals(1L, registry.timer("protocol.latency.route.accepted").getCount());
+        test.assertEquals(1L, registry.histogram("protocol.latency.route.size").getCount());
+        test.assertEquals((long) SIZE, registry.histogram("protocol.latency.route.size").getSnapshot().getMax());
+        test.assertEquals((long) RESPONSE, registry.histogram("protocol.latency.route.response").getSnapshot().getMax());
+    }
+
+    @Test
+    public void testRecordedWhenCompleted(TestContext test) {
+        List<Request> pending = new ArrayList<>();
+        new Protocol<Request>()
+                .endpoint("completed")
+                .routeMapper(request -> ROUTE)
+                .use(ROUTE, pending::add, PUBLIC)
+                .process(new SizedRequest());
+
+        Timer timer = registry.timer("protocol.completed.route.accepted");
+        test.assertEquals(0L, timer.getCount());
+
+        pending.get(0).accept();
+        pending.get(0).write(Buffer.buffer());
+        test.assertEquals(1L, timer.getCount());
+    }
+
+    @Test
+    public void testRecordStatusOfFailure(TestContext test) {
+        protocol("unauthorized", ROUTE, ADMIN).process(new SizedRequest());
+
+        test.assertEquals(1L, registry.timer("protocol.unauthorized.route.unauthorized").getCount());
+    }
+
+    @Test
+    public void testUnregisteredRouteIsUnmapped(TestContext test) {
+        protocol("unmapped", "not-registered", PUBLIC).process(new SizedRequest());
+
+        test.assertEquals(1L, registry.timer("protocol.unmapped.unmapped.error").getCount());
+        test.assertTrue(registry.getNames().stream().noneMatch(name -> name.contains("not-registered")));
+    }
+
+    @Test
+    public void testRecordHandlerSpecificRequest(TestContext test) {
+        new Protocol<TypedRequest>()
+                .endpoint("typed")
+                .routeMapper(request -> ROUTE)
+                .use(ROUTE, TypedRequest::accept, PUBLIC)
+                .process(new SizedRequest(), TypedRequest::new);
+
+        test.assertEquals(1L, registry.timer("protocol.typed.route.accepted").getCount());
+    }
+
+    private static Protocol<Request> protocol(String target, String route, RoleType role) {
+        return new Protocol<Request>()
+                .endpoint(target)
+                .routeMapper(request -> route)
+                .use(ROUTE, request -> request.write(Buffer.buffer(new byte[RESPONSE])), role);
+    }
+
+    private static class TypedRequest implements RequestWrapper {
+        private final Request request;
+
+        TypedRequest(Request request) {
+            this.request = request;
+        }
+
+        @Override
+        public Request request() {
+            return request;
+        }
+    }
+
+    private static class SizedRequest extends EmptyRequest {
+        @Override
+        public int size() {
+            return SIZE;
+        }
+    }
+}
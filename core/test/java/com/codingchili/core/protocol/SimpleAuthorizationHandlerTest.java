@@ -0,0 +1,79 @@
+package com.codingchili.core.protocol;
+
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.codingchili.core.protocol.exception.AuthorizationRequiredException;
+import com.codingchili.core.protocol.exception.HandlerMissingException;
+
+import static com.codingchili.core.protocol.Role.*;
+
+/**
+ * Tests the mapping of routes to roles.
+ */
+@RunWith(VertxUnitRunner.class)
+public class SimpleAuthorizationHandlerTest {
+    private static final String ROUTE = "route";
+    private static final int THREADS = 4;
+    private static final int ROUTES = 250;
+    private final SimpleAuthorizationHandler<Object> authorizer = new SimpleAuthorizationHandler<>();
+
+    @Test
+    public void testHigherLevelHasAccess(TestContext test) throws Exception {
+        RequestHandler<Object> handler = request -> {};
+        authorizer.use(new Route<>(ROUTE, handler, USER));
+
+        test.assertTrue(handler == authorizer.get(ROUTE, USER));
+        test.assertTrue(handler == authorizer.get(ROUTE, ADMIN));
+    }
+
+    @Test(expected = AuthorizationRequiredException.class)
+    public void testLowerLevelHasNoAccess() throws Exception {
+        authorizer.use(new Route<>(ROUTE, request -> {}, ADMIN));
+        authorizer.get(ROUTE, USER);
+    }
+
+    @Test(expected = HandlerMissingException.class)
+    public void testRouteMissing() throws Exception {
+        authorizer.get(ROUTE, ADMIN);
+    }
+
+    @Test
+    public void testReplaceRouteForRole(TestContext test) throws Exception {
+        RequestHandler<Object> replaced = request -> {};
+        RequestHandler<Object> kept = request -> {};
+        authorizer.use(new Route<>(ROUTE, request -> {}, USER));
+        authorizer.use(new Route<>(ROUTE, kept, ADMIN));
+        authorizer.use(new Route<>(ROUTE, replaced, USER));
+
+        test.assertTrue(replaced == authorizer.get(ROUTE, USER));
+        test.assertTrue(kept == authorizer.get(ROUTE, ADMIN));
+        test.assertEquals(2, authorizer.list().size());
+    }
+
+    @Test
+    public void testConcurrentRegistration(TestContext test) throws Exception {
+        List<Thread> threads = new ArrayList<>();
+
+        for (int i = 0; i < THREADS; i++) {
+            int thread = i;
+            threads.add(new Thread(() -> {
+                for (int route = 0; route < ROUTES; route++) {
+                    authorizer.use(new Route<>(thread + ROUTE + route, request -> {}, PUBLIC));
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        test.assertEquals(THREADS * ROUTES, authorizer.list().size());
+        test.assertNotNull(authorizer.get((THREADS - 1) + ROUTE + (ROUTES - 1), PUBLIC));
+    }
+}
@@ -1,5 +1,6 @@
 package com.codingchili.core.security;
 
+import io.vertx.core.Future;
 import io.vertx.core.WorkerExecutor;
 import io.vertx.ext.unit.Async;
 import io.vertx.ext.unit.TestContext;
@@ -10,8 +11,12 @@ import org.junit.runner.RunWith;
 import java.time.Instant;
 import java.util.concurrent.atomic.AtomicInteger;
 
+import com.codingchili.core.configuration.system.SecuritySettings;
 import com.codingchili.core.context.CoreContext;
 import com.codingchili.core.context.SystemContext;
+import com.codingchili.core.files.Configurations;
+import com.codingchili.core.security.exception.HashMismatchException;
+import com.codingchili.core.security.exception.HashRejectedException;
 
 /**
  * Tests for the HashHelper
@@ -116,6 +121,89 @@ public class HashFactoryTest {
         });
     }
 
+    @Test
+    public void testRejectedWhenSaturated(TestContext test) {
+        Async async = test.async();
+        HashFactory bounded = bounded();
+        Future<String> first = bounded.hash(PLAINTEXT);
+
+        bounded.hash(PLAINTEXT).onComplete(rejected -> {
+            test.assertTrue(rejected.cause() instanceof HashRejectedException);
+            first.onComplete(test.asyncAssertSuccess(hash -> async.complete()));
+        });
+    }
+
+    @Test
+    public void testPoolsDoNotShareLimit(TestContext test) {
+        Async async = test.async();
+        Future<String> pending = hasher.hash(PLAINTEXT);
+
+        // the bounded pool accepts one operation even when other pools are busy.
+        bounded().hash(PLAINTEXT).onComplete(test.asyncAssertSuccess(hash ->
+                pending.onComplete(test.asyncAssertSuccess(other -> async.complete()))));
+    }
+
+    @Test
+    public void testVerifyAndRehash(TestContext test) {
+        Async async = test.async();
+        ArgonSettings argon = Configurations.security().getArgon();
+        int iterations = argon.getIterations();
+
+        hasher.hash(PLAINTEXT).onComplete(test.asyncAssertSuccess(hash ->
+                hasher.verifyAndRehash(hash, PLAINTEXT).onComplete(test.asyncAssertSuccess(same -> {
+                    test.assertEquals(hash, same);
+                    argon.setIterations(iterations + 1);
+
+                    hasher.verifyAndRehash(hash, PLAINTEXT).onComplete(rehashed -> {
+                        argon.setIterations(iterations);
+                        test.assertTrue(rehashed.succeeded());
+                        test.assertNotEquals(hash, rehashed.result());
+                        async.complete();
+                    });
+                }))));
+    }
+
+    @Test
+    public void testRehashAfterReload(TestContext test) {
+        Async async = test.async();
+        SecuritySettings previous = Configurations.security();
+
+        hasher.hash(PLAINTEXT).onComplete(test.asyncAssertSuccess(hash -> {
+            // a reload replaces the settings instance.
+            SecuritySettings reloaded = new SecuritySettings();
+            reloaded.getArgon().setIterations(previous.getArgon().getIterations() + 1);
+            Configurations.put(reloaded);
+
+            hasher.verifyAndRehash(hash, PLAINTEXT).onComplete(rehashed -> {
+                Configurations.put(previous);
+                test.assertTrue(rehashed.succeeded());
+                test.assertNotEquals(hash, rehashed.result());
+                async.complete();
+            });
+        }));
+    }
+
+    @Test
+    public void testVerifyAndRehashWrongPassword(TestContext test) {
+        hasher.hash(PLAINTEXT).onComplete(test.asyncAssertSuccess(hash ->
+                hasher.verifyAndRehash(hash, PLAINTEXT_WRONG).onComplete(test.asyncAssertFailure(e ->
+                        test.assertTrue(e instanceof HashMismatchException)))));
+    }
+
+    private HashFactory bounded() {
+        ArgonSettings argon = Configurations.security().getArgon();
+        int workers = argon.getWorkers();
+        int queue = argon.getQueueSize();
+        try {
+            argon.setWorkers(1);
+            argon.setQueueSize(0);
+            return new HashFactory(context);
+        } finally {
+            argon.setWorkers(workers);
+            argon.setQueueSize(queue);
+        }
+    }
+
     private long getTimeMS() {
         return Instant.now().toEpochMilli();
     }
@@ -6,19 +6,26 @@ import io.vertx.ext.unit.junit.VertxUnitRunner;
 import org.junit.*;
 import org.junit.runner.RunWith;
 
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
 import java.time.Instant;
 import java.util.Arrays;
 
+import com.codingchili.core.configuration.system.SecuritySettings;
 import com.codingchili.core.context.CoreContext;
 import com.codingchili.core.context.SystemContext;
+import com.codingchili.core.files.Configurations;
 import com.codingchili.core.protocol.Serializer;
 
+import static io.vertx.core.json.impl.JsonUtil.BASE64_ENCODER;
+
 /**
  * Tests for the Token Factory
  */
 @RunWith(VertxUnitRunner.class)
 public class TokenFactoryTest {
     private static final String TEST_KEYSTORE = "test_key.jks";
+    private static final int CACHE_SIZE = 16;
     private static CoreContext context;
     private static TokenFactory tokenFactory;
     private static TokenFactory tokenFactory2;
@@ -182,6 +189,88 @@ public class TokenFactoryTest {
         });
     }
 
+    @Test
+    public void testVerifiedTokenCached(TestContext test) {
+        Async async = test.async();
+        TokenFactory cached = cachedFactory();
+        Token token = getTokenWithProperties();
+
+        cached.sign(token, TEST_KEYSTORE).compose(sign -> cached.verify(token)).onComplete(verify -> {
+            test.assertTrue(verify.succeeded());
+
+            // cached signatures are verified without blocking.
+            test.assertTrue(cached.verify(token).succeeded());
+            async.complete();
+        });
+    }
+
+    @Test
+    public void failVerifyCachedTokenPropertiesModified(TestContext test) {
+        Async async = test.async();
+        TokenFactory cached = cachedFactory();
+        Token token = getTokenWithProperties();
+
+        cached.hmac(token).compose(hmac -> cached.verify(token)).onComplete(verify -> {
+            test.assertTrue(verify.succeeded());
+            token.addProperty("roles", Arrays.asList("programmer", "root", "sysadmin"));
+
+            cached.verify(token).onComplete(done -> {
+                test.assertTrue(done.failed());
+                async.complete();
+            });
+        });
+    }
+
+    @Test
+    public void failVerifyCachedTokenChangedDomain(TestContext test) {
+        Async async = test.async();
+        TokenFactory cached = cachedFactory();
+        Token token = new Token(domain);
+
+        cached.hmac(token).compose(hmac -> cached.verify(token)).onComplete(verify -> {
+            test.assertTrue(verify.succeeded());
+            token.setDomain("domain2");
+
+            cached.verify(token).onComplete(done -> {
+                test.assertTrue(done.failed());
+                async.complete();
+            });
+        });
+    }
+
+    @Test
+    public void testHmacVerifiedWithoutBlocking(TestContext test) {
+        Token token = getTokenWithProperties();
+
+        test.assertTrue(tokenFactory.hmac(token).succeeded());
+        test.assertTrue(tokenFactory.verify(token).succeeded());
+    }
+
+    @Test
+    public void testHmacCanonicalFormUnchanged(TestContext test) throws Exception {
+        Token token = getTokenWithProperties();
+        test.assertTrue(tokenFactory.hmac(token).succeeded());
+
+        String algorithm = Configurations.security().getHmacAlgorithm();
+        Mac mac = Mac.getInstance(algorithm);
+        mac.init(new SecretKeySpec(secret, algorithm));
+        mac.update(Serializer.buffer(token.getProperties()).getBytes());
+        mac.update(token.getDomain().getBytes());
+        mac.update((token.getExpiry() + "").getBytes());
+
+        test.assertEquals(BASE64_ENCODER.encodeToString(mac.doFinal()), token.getKey());
+    }
+
+    private TokenFactory cachedFactory() {
+        SecuritySettings security = Configurations.security();
+        security.setVerifiedTokenCache(CACHE_SIZE);
+        try {
+            return new TokenFactory(context, secret);
+        } finally {
+            security.setVerifiedTokenCache(0);
+        }
+    }
+
     private Token getTokenWithProperties() {
         return new Token()
                 .addProperty("version", 0)
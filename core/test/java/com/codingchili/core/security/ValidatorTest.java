@@ -164,6 +164,27 @@ public class ValidatorTest {
         }
     }
 
+    @Test
+    public void testAllValidatorsAppliedToField(TestContext test) {
+        try {
+            getMessage("!");
+            test.fail("validators without keys are not applied to fields with validators.");
+        } catch (RequestValidationException ignored) {
+        }
+    }
+
+    @Test
+    public void testValidatorAddedAfterValidation(TestContext test) throws RequestValidationException {
+        getMessage("hello test meow");
+        validator.add(new ValidatorSettings("no-meow")
+            .addRegex(REJECT, ".*meow.*"));
+        try {
+            getMessage("hello test meow");
+            test.fail("validator added after validation was not applied.");
+        } catch (RequestValidationException ignored) {
+        }
+    }
+
     private JsonObject getNestedObject(String value) {
         return new JsonObject().put(NESTED, new JsonObject().put(KEY, value));
     }
@@ -0,0 +1,103 @@
+package com.codingchili.core.storage;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import com.codingchili.core.testing.StorageObject;
+
+/**
+ * Tests for the typed attribute accessors used by the indexed storages.
+ */
+public class AttributeAccessorTest {
+    private static final String NAME = "accessor";
+    private static final int LEVEL = 42;
+
+    @Test
+    public void numericFieldHasNativeType() {
+        AttributeAccessor accessor = AttributeAccessor.of(StorageObject.class, StorageObject.levelField);
+        Assert.assertEquals(Integer.class, accessor.type());
+        Assert.assertTrue(accessor.isNumeric());
+        Assert.assertEquals(LEVEL, accessor.value(new StorageObject(NAME, LEVEL)));
+    }
+
+    @Test
+    public void nestedFieldValue() {
+        AttributeAccessor accessor = AttributeAccessor.of(StorageObject.class, "nested.name");
+        Assert.assertEquals(String.class, accessor.type());
+        Assert.assertEquals(StorageObject.NESTED_PREFIX + NAME, accessor.value(new StorageObject(NAME, LEVEL)));
+    }
+
+    @Test
+    public void nestedArrayElementType() {
+        AttributeAccessor accessor = AttributeAccessor.of(StorageObject.class, "nested.numbers[]");
+        Assert.assertEquals(Integer.class, accessor.type());
+        Assert.assertEquals(Arrays.asList(0, 7, 42), accessor.values(new StorageObject(NAME, LEVEL)));
+    }
+
+    @Test
+    public void idFieldUsesStorableId() {
+        AttributeAccessor accessor = AttributeAccessor.of(StorageObject.class, Storable.idField);
+        Assert.assertEquals(NAME, accessor.value(new StorageObject(NAME, LEVEL)));
+    }
+
+    @Test
+    public void missingValueIsNull() {
+        AttributeAccessor accessor = AttributeAccessor.of(StorageObject.class, "nested.name");
+        StorageObject object = new StorageObject(NAME, LEVEL);
+        object.setNested(null);
+        Assert.assertNull(accessor.value(object));
+    }
+
+    @Test
+    public void jsonFieldFallsBackToString() {
+        AttributeAccessor accessor = AttributeAccessor.of(JsonStorable.class, "level");
+        JsonStorable json = new JsonStorable(NAME);
+        json.put("level", LEVEL);
+
+        Assert.assertEquals(String.class, accessor.type());
+        Assert.assertEquals(LEVEL + "", accessor.value(json));
+    }
+
+    @Test
+    public void coerceQueryArguments() {
+        AttributeAccessor accessor = AttributeAccessor.of(StorageObject.class, StorageObject.levelField);
+        List<Comparable> values = Arrays.asList(accessor.coerce(5L), accessor.coerce("5"), accessor.coerce(5));
+
+        for (Comparable value : values) {
+            Assert.assertEquals(5, value);
+        }
+        Assert.assertNull(accessor.coerce(3_000_000_000L));
+        Assert.assertNull(accessor.coerce("five"));
+        Assert.assertNull(accessor.coerce(1.5));
+        Assert.assertEquals(2, accessor.coerce(2.0));
+    }
+
+    @Test
+    public void floatsWidenedByDecimalValue() {
+        AttributeAccessor accessor = AttributeAccessor.of(FloatStorable.class, "ratio");
+        Assert.assertEquals(Double.class, accessor.type());
+        Assert.assertEquals(0.1, accessor.value(new FloatStorable()));
+        Assert.assertEquals(0.1, accessor.coerce(0.1f));
+    }
+
+    @Test
+    public void clampRangeBounds() {
+        AttributeAccessor accessor = AttributeAccessor.of(StorageObject.class, StorageObject.levelField);
+        Assert.assertEquals(Integer.MAX_VALUE, accessor.bound(3_000_000_000L));
+        Assert.assertEquals(Integer.MIN_VALUE, accessor.bound(-3_000_000_000L));
+    }
+
+    @Test
+    public void accessorsAreCached() {
+        Assert.assertSame(
+                AttributeAccessor.of(StorageObject.class, StorageObject.levelField),
+                AttributeAccessor.of(StorageObject.class, StorageObject.levelField));
+    }
+
+    private static class FloatStorable implements Storable {
+        private float ratio = 0.1f;
+    }
+}
@@ -9,6 +9,8 @@ import org.junit.*;
 import org.junit.runner.RunWith;
 
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import com.codingchili.core.context.StorageContext;
 import com.codingchili.core.context.TimerSource;
@@ -28,6 +30,9 @@ public class EntryWatcherTest {
     private static final int REMOVE_INTERVAL = 50;
     private static final int LEVEL_PERSIST = 50;
     private static final int LEVEL_REMOVE = 0;
+    private static final int LEVEL_WATCHED = 75;
+    private static final String CHANGED_NAME = "CHANGED_NAME";
+    private static final String UNCHANGED_NAME = "UNCHANGED_NAME";
     @Rule
     public Timeout timeout = new Timeout(10, TimeUnit.SECONDS);
     private AsyncStorage<StorageObject> storage;
@@ -106,6 +111,82 @@ public class EntryWatcherTest {
         }));
     }
 
+    @Test
+    public void testChangedEntryEvaluated(TestContext test) {
+        Async async = test.async();
+        AtomicBoolean initialized = new AtomicBoolean(false);
+        StorageObject unchanged = new StorageObject(UNCHANGED_NAME, LEVEL_WATCHED);
+        StorageObject changed = new StorageObject(CHANGED_NAME, LEVEL_WATCHED);
+
+        storage.put(unchanged, done -> {
+            test.assertTrue(done.succeeded());
+
+            EntryWatcher<StorageObject> watcher = new Query<StorageObject>()
+                    .on(LEVEL).between(LEVEL_WATCHED - 1L, LEVEL_WATCHED + 1L)
+                    .storage(storage)
+                    .watch(entries -> {
+                        if (!initialized.getAndSet(true)) {
+                            // the full query is executed on the first run.
+                            test.assertEquals(1, entries.size());
+                            storage.put(changed, put -> test.assertTrue(put.succeeded()));
+                        } else {
+                            // only the changed entry is received, polling would include both.
+                            test.assertEquals(1, entries.size());
+                            test.assertEquals(CHANGED_NAME, entries.iterator().next().getId());
+                            async.complete();
+                        }
+                    }, TimerSource.of(REMOVE_INTERVAL));
+
+            async.handler(complete -> watcher.stop());
+        });
+    }
+
+    @Test
+    public void testPollReceivesFullResult(TestContext test) {
+        Async async = test.async();
+        StorageObject unchanged = new StorageObject(UNCHANGED_NAME, LEVEL_WATCHED);
+
+        storage.put(unchanged, done -> {
+            test.assertTrue(done.succeeded());
+            AtomicInteger runs = new AtomicInteger(0);
+
+            EntryWatcher<StorageObject> watcher = new Query<StorageObject>()
+                    .on(LEVEL).between(LEVEL_WATCHED - 1L, LEVEL_WATCHED + 1L)
+                    .storage(storage)
+                    .poll(entries -> {
+                        // the unchanged entry is included on every run.
+                        test.assertEquals(1, entries.size());
+                        if (runs.incrementAndGet() == 3) {
+                            async.complete();
+                        }
+                    }, TimerSource.of(REMOVE_INTERVAL));
+
+            async.handler(complete -> watcher.stop());
+        });
+    }
+
+    @Test
+    public void testChangedWhilePausedEvaluatedOnResume(TestContext test) {
+        Async async = test.async();
+        StorageObject changed = new StorageObject(CHANGED_NAME, LEVEL_WATCHED);
+
+        EntryWatcher<StorageObject> watcher = new Query<StorageObject>()
+                .on(LEVEL).between(LEVEL_WATCHED - 1L, LEVEL_WATCHED + 1L)
+                .storage(storage)
+                .watch(entries -> {
+                    if (entries.stream().anyMatch(entry -> entry.getId().equals(CHANGED_NAME))) {
+                        async.complete();
+                    }
+                }, TimerSource.of(REMOVE_INTERVAL));
+
+        watcher.pause();
+        storage.put(changed, put -> {
+            test.assertTrue(put.succeeded());
+            watcher.resume();
+        });
+        async.handler(done -> watcher.stop());
+    }
+
     @Test
     public void testRealmNotRemovedWhenNotStale(TestContext test) {
         Async async = test.async();
@@ -1,11 +1,15 @@
 package com.codingchili.core.storage;
 
+import io.vertx.ext.unit.Async;
 import io.vertx.ext.unit.TestContext;
 import io.vertx.ext.unit.junit.VertxUnitRunner;
 import org.junit.After;
 import org.junit.Before;
+import org.junit.Test;
 import org.junit.runner.RunWith;
 
+import com.codingchili.core.testing.StorageObject;
+
 
 /**
  * Tests for the CQEngine indexed storage.
@@ -22,4 +26,54 @@ public class IndexedMapVolatileTest extends MapTestCases {
     public void tearDown(TestContext test) {
         super.tearDown(test);
     }
+
+    @Test
+    public void testImmutableValuesNotCopied(TestContext test) {
+        Async async = test.async();
+        StorageObject object = new StorageObject("immutable", 1);
+
+        new StorageLoader<StorageObject>(context)
+                .withDB(plugin.getSimpleName(), "immutable")
+                .withValue(StorageObject.class)
+                .withPlugin(plugin)
+                .withImmutableValues(true)
+                .build(loaded -> {
+                    AsyncStorage<StorageObject> immutable = loaded.result();
+
+                    immutable.put(object, put -> immutable.get(object.getId(), get -> {
+                        test.assertTrue(get.succeeded());
+                        test.assertTrue(object == get.result());
+                        async.complete();
+                    }));
+                });
+    }
+
+    @Test
+    public void testNumericRangeNotLexical(TestContext test) {
+        Async async = test.async();
+
+        // lexically "5" is greater than "10": the query must compare the native type.
+        store.query(StorageObject.levelField).between(5L, 10L).execute(query -> {
+            test.assertTrue(query.succeeded());
+            test.assertFalse(query.result().isEmpty());
+
+            for (StorageObject item : query.result()) {
+                test.assertTrue(item.getLevel() >= 5 && item.getLevel() <= 10);
+            }
+            async.complete();
+        });
+    }
+
+    @Test
+    public void testMutableValuesCopied(TestContext test) {
+        Async async = test.async();
+        StorageObject object = new StorageObject("mutable", 1);
+
+        store.put(object, put -> store.get(object.getId(), get -> {
+            test.assertTrue(get.succeeded());
+            test.assertEquals(object, get.result());
+            test.assertFalse(object == get.result());
+            async.complete();
+        }));
+    }
 }
@@ -0,0 +1,159 @@
+package com.codingchili.core.storage;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Handler;
+import io.vertx.core.json.JsonObject;
+import org.junit.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.codingchili.core.context.CoreRuntimeException;
+import com.codingchili.core.context.FutureHelper;
+
+/**
+ * Tests for the append-only log of the json map.
+ */
+public class JsonMapLogTest {
+    private static final String ONE = "one";
+    private static final String TWO = "two";
+    private static final String VALUE = "value";
+    private static final Handler<AsyncResult<Void>> NOOP = done -> {
+    };
+    private Path directory;
+    private String snapshot;
+
+    @Before
+    public void setUp() {
+        // snapshots are read relative to the current working directory.
+        directory = Paths.get(getClass().getSimpleName(), UUID.randomUUID().toString());
+        snapshot = directory.resolve("collection.json").toString();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        Files.walk(directory.getParent())
+                .map(Path::toFile)
+                .sorted((a, b) -> b.compareTo(a))
+                .forEach(File::delete);
+    }
+
+    @Test
+    public void replayLogOnLoad() {
+        JsonMapLog log = new JsonMapLog(snapshot);
+        log.put(ONE, new JsonObject().put(VALUE, 1), NOOP);
+        log.put(TWO, new JsonObject().put(VALUE, 2), NOOP);
+        log.remove(ONE, NOOP);
+        log.append(log.drain());
+
+        JsonObject db = new JsonMapLog(snapshot).load();
+        Assert.assertFalse(db.containsKey(ONE));
+        Assert.assertEquals(2, (int) db.getJsonObject(TWO).getInteger(VALUE));
+    }
+
+    @Test
+    public void replayClear() {
+        JsonMapLog log = new JsonMapLog(snapshot);
+        log.put(ONE, new JsonObject(), NOOP);
+        log.clear(NOOP);
+        log.put(TWO, new JsonObject(), NOOP);
+        log.append(log.drain());
+
+        JsonObject db = new JsonMapLog(snapshot).load();
+        Assert.assertEquals(1, db.size());
+        Assert.assertTrue(db.containsKey(TWO));
+    }
+
+    @Test
+    public void compactWritesSnapshot() {
+        JsonMapLog log = new JsonMapLog(snapshot);
+        log.put(ONE, new JsonObject(), NOOP);
+        log.append(log.drain());
+        Assert.assertTrue(log.isCompactable(1));
+
+        log.compact(new JsonObject().put(ONE, new JsonObject()));
+        Assert.assertFalse(log.isCompactable(1));
+        Assert.assertFalse(Files.exists(Paths.get(snapshot + ".log")));
+        Assert.assertFalse(Files.exists(Paths.get(snapshot + ".tmp")));
+
+        log.put(TWO, new JsonObject(), NOOP);
+        log.append(log.drain());
+
+        JsonObject db = new JsonMapLog(snapshot).load();
+        Assert.assertTrue(db.containsKey(ONE));
+        Assert.assertTrue(db.containsKey(TWO));
+    }
+
+    @Test
+    public void failedAppendFailsHandlers() throws IOException {
+        AtomicReference<AsyncResult<Void>> result = new AtomicReference<>();
+        JsonMapLog log = new JsonMapLog(snapshot);
+        log.put(ONE, new JsonObject(), result::set);
+
+        // the log can not be created when its directory is a file.
+        Files.createDirectories(directory.getParent());
+        Files.createFile(directory);
+
+        JsonMapLog.Batch batch = log.drain();
+        try {
+            log.append(batch);
+            Assert.fail("append must fail when the log is not writable.");
+        } catch (CoreRuntimeException e) {
+            batch.complete(FutureHelper.error(e));
+        }
+        Assert.assertTrue(result.get().failed());
+    }
+
+    @Test
+    public void incompleteRecordIgnored() throws IOException {
+        JsonMapLog log = new JsonMapLog(snapshot);
+        log.put(ONE, new JsonObject(), NOOP);
+        log.append(log.drain());
+
+        Files.write(Paths.get(snapshot + ".log"), "{\"op\":\"put\",\"ke".getBytes(StandardCharsets.UTF_8),
+                StandardOpenOption.APPEND);
+
+        JsonObject db = new JsonMapLog(snapshot).load();
+        Assert.assertEquals(1, db.size());
+
+        // the incomplete record is truncated, so the next record is readable.
+        log = new JsonMapLog(snapshot);
+        log.put(TWO, new JsonObject(), NOOP);
+        log.commit(null);
+
+        db = new JsonMapLog(snapshot).load();
+        Assert.assertEquals(2, db.size());
+    }
+
+    @Test(expected = CoreRuntimeException.class)
+    public void corruptRecordFailsLoad() throws IOException {
+        JsonMapLog log = new JsonMapLog(snapshot);
+        log.put(ONE, new JsonObject(), NOOP);
+        log.commit(null);
+
+        Files.write(Paths.get(snapshot + ".log"), "{\"op\n".getBytes(StandardCharsets.UTF_8),
+                StandardOpenOption.APPEND);
+        log.put(TWO, new JsonObject(), NOOP);
+        log.commit(null);
+
+        new JsonMapLog(snapshot).load();
+    }
+
+    @Test
+    public void commitCompactsBeforeAppending() {
+        AtomicReference<AsyncResult<Void>> result = new AtomicReference<>();
+        JsonMapLog log = new JsonMapLog(snapshot);
+        log.put(ONE, new JsonObject(), NOOP);
+        log.commit(null);
+
+        log.remove(ONE, result::set);
+        log.commit(new JsonObject().put(ONE, new JsonObject()));
+
+        Assert.assertTrue(result.get().succeeded());
+        Assert.assertTrue(new JsonMapLog(snapshot).load().isEmpty());
+    }
+}
@@ -1,6 +1,7 @@
 package com.codingchili.core.storage;
 
 import io.vertx.core.*;
+import io.vertx.core.streams.ReadStream;
 import io.vertx.ext.unit.Async;
 import io.vertx.ext.unit.TestContext;
 import io.vertx.ext.unit.junit.Timeout;
@@ -8,6 +9,7 @@ import io.vertx.ext.unit.junit.VertxUnitRunner;
 import org.junit.*;
 import org.junit.runner.RunWith;
 
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.UUID;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -221,6 +223,55 @@ public class MapTestCases {
         });
     }
 
+    @Test
+    public void testGetAll(TestContext test) {
+        Async async = test.async();
+
+        store.getAll(Arrays.asList(ONE, TWO, NAME_MISSING), get -> {
+            test.assertTrue(get.succeeded(), errorText(get));
+            test.assertEquals(2, get.result().size());
+            test.assertEquals(OBJECT_TWO, get.result().get(TWO));
+            test.assertFalse(get.result().containsKey(NAME_MISSING));
+            async.complete();
+        });
+    }
+
+    @Test
+    public void testPutAll(TestContext test) {
+        Async async = test.async();
+        StorageObject missing = new StorageObject(NAME_MISSING, 0);
+        StorageObject updated = new StorageObject(TWO, 3);
+
+        store.putAll(Arrays.asList(missing, updated), put -> {
+            test.assertTrue(put.succeeded(), errorText(put));
+            test.assertEquals(2, put.result().size());
+            put.result().values().forEach(result -> test.assertTrue(result.succeeded()));
+
+            store.getAll(Arrays.asList(NAME_MISSING, TWO), get -> {
+                test.assertEquals(missing, get.result().get(NAME_MISSING));
+                test.assertEquals(3, get.result().get(TWO).getLevel());
+                async.complete();
+            });
+        });
+    }
+
+    @Test
+    public void testRemoveAll(TestContext test) {
+        Async async = test.async();
+
+        store.removeAll(Arrays.asList(ONE, TWO, NAME_MISSING), remove -> {
+            test.assertTrue(remove.succeeded(), errorText(remove));
+            test.assertTrue(remove.result().get(ONE).succeeded());
+            test.assertTrue(remove.result().get(TWO).succeeded());
+            test.assertEquals(NothingToRemoveException.class, remove.result().get(NAME_MISSING).cause().getClass());
+
+            store.size(size -> {
+                test.assertEquals(TEST_ITEM_COUNT.intValue() - 2, size.result());
+                async.complete();
+            });
+        });
+    }
+
     @Test
     public void testRemoveNotPresent(TestContext test) {
         Async async = test.async();
@@ -364,6 +415,69 @@ public class MapTestCases {
         });
     }
 
+    @Test
+    public void testStreamResults(TestContext test) {
+        Async async = test.async();
+        AtomicInteger count = new AtomicInteger(0);
+
+        // the page size is the batch size of the stream, all results are streamed.
+        store.query(NAME).matches(REGEX_ALL).pageSize(7).stream()
+                .exceptionHandler(test::fail)
+                .endHandler(done -> {
+                    test.assertEquals(TEST_ITEM_COUNT.intValue(), count.get());
+                    async.complete();
+                })
+                .handler(item -> count.incrementAndGet());
+    }
+
+    @Test
+    public void testStreamBackpressure(TestContext test) {
+        Async async = test.async();
+        AtomicInteger count = new AtomicInteger(0);
+        AtomicInteger previous = new AtomicInteger(Integer.MAX_VALUE);
+        ReadStream<StorageObject> stream = store.query(LEVEL)
+                .between(SNOWFLAKE_BASE_LEVEL, SNOWFLAKE_MAX_LEVEL)
+                .orderBy(LEVEL).order(SortOrder.DESCENDING)
+                .pageSize(3)
+                .stream();
+
+        stream.pause()
+                .exceptionHandler(test::fail)
+                .endHandler(done -> {
+                    test.assertEquals(SNOWFLAKE_COUNT.intValue(), count.get());
+                    async.complete();
+                })
+                .handler(item -> {
+                    test.assertTrue(item.getLevel() <= previous.getAndSet(item.getLevel()));
+                    count.incrementAndGet();
+                    stream.fetch(1);
+                });
+        stream.fetch(1);
+    }
+
+    @Test
+    public void testStreamClosedWhenHandlerRemoved(TestContext test) {
+        Async async = test.async();
+        AtomicInteger count = new AtomicInteger(0);
+        ReadStream<StorageObject> stream = store.query(NAME).matches(REGEX_ALL).pageSize(7).stream();
+
+        stream.exceptionHandler(test::fail)
+                .endHandler(done -> test.fail("a closed stream must not end."))
+                .handler(item -> {
+                    count.incrementAndGet();
+                    stream.handler(null);
+                });
+
+        context.timer(200, done -> {
+            // resubscribing to a closed stream does not resume it.
+            stream.handler(item -> count.incrementAndGet());
+            context.timer(200, resumed -> {
+                test.assertEquals(1, count.get());
+                async.complete();
+            });
+        });
+    }
+
     @Test
     public void testLimitResults(TestContext test) {
         Async async = test.async();
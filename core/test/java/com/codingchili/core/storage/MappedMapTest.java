@@ -0,0 +1,117 @@
+package com.codingchili.core.storage;
+
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import org.junit.*;
+import org.junit.runner.RunWith;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+/**
+ * Tests for the memory-mapped storage.
+ */
+@RunWith(VertxUnitRunner.class)
+public class MappedMapTest extends MapTestCases {
+    private static final int SEGMENT_SIZE = 256;
+    private File temporary;
+
+    @Before
+    public void setUp(TestContext test) {
+        super.setUp(test, MappedMap.class);
+    }
+
+    @After
+    public void tearDown(TestContext test) {
+        super.tearDown(test);
+        if (temporary != null) {
+            temporary.delete();
+        }
+    }
+
+    private MappedFile createFile() throws IOException {
+        temporary = File.createTempFile(COLLECTION, ".mapped");
+        return new MappedFile(temporary.toPath(), SEGMENT_SIZE);
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void testFileReloaded(TestContext test) throws IOException {
+        MappedFile file = createFile();
+        file.put("a", bytes("first"));
+        file.put("b", bytes("second"));
+        file.put("a", bytes("replaced"));
+        file.remove("b");
+
+        MappedFile reloaded = new MappedFile(temporary.toPath(), SEGMENT_SIZE);
+        test.assertEquals(1, reloaded.size());
+        test.assertTrue(Arrays.equals(bytes("replaced"), reloaded.get("a")));
+        test.assertNull(reloaded.get("b"));
+    }
+
+    @Test
+    public void testFileSpansSegments(TestContext test) throws IOException {
+        MappedFile file = createFile();
+        for (int i = 0; i < 100; i++) {
+            file.put("key." + i, bytes("value." + i));
+        }
+        for (int i = 0; i < 100; i++) {
+            test.assertTrue(Arrays.equals(bytes("value." + i), file.get("key." + i)));
+        }
+        test.assertEquals(100, file.size());
+
+        MappedFile reloaded = new MappedFile(temporary.toPath(), SEGMENT_SIZE);
+        test.assertEquals(100, reloaded.size());
+        for (int i = 0; i < 100; i++) {
+            test.assertTrue(Arrays.equals(bytes("value." + i), reloaded.get("key." + i)));
+        }
+    }
+
+    @Test
+    public void testFileCompacted(TestContext test) throws IOException {
+        MappedFile file = createFile();
+        for (int i = 0; i < 100; i++) {
+            file.put("key." + (i % 10), bytes("value." + i));
+        }
+        file.remove("key.0");
+        long length = temporary.length();
+        test.assertTrue(file.isCompactable());
+        file.compact();
+        test.assertFalse(file.isCompactable());
+
+        // the file is replaced by a file with the live records only.
+        test.assertTrue(temporary.length() < length);
+        test.assertFalse(new File(temporary.getPath() + ".compact").exists());
+
+        for (int i = 1; i < 10; i++) {
+            test.assertTrue(Arrays.equals(bytes("value." + (90 + i)), file.get("key." + i)));
+        }
+        test.assertNull(file.get("key.0"));
+        file.put("key.10", bytes("value.100"));
+
+        MappedFile reloaded = new MappedFile(temporary.toPath(), SEGMENT_SIZE);
+        test.assertEquals(10, reloaded.size());
+        test.assertTrue(Arrays.equals(bytes("value.99"), reloaded.get("key.9")));
+        test.assertTrue(Arrays.equals(bytes("value.100"), reloaded.get("key.10")));
+    }
+
+    @Test
+    public void testIncompleteCompactionDiscarded(TestContext test) throws IOException {
+        MappedFile file = createFile();
+        file.put("a", bytes("first"));
+        File compacted = new File(temporary.getPath() + ".compact");
+        compacted.deleteOnExit();
+        // a crash during compaction leaves a partial file next to the current file.
+        Files.write(compacted.toPath(), bytes("partial"));
+
+        MappedFile reloaded = new MappedFile(temporary.toPath(), SEGMENT_SIZE);
+        test.assertFalse(compacted.exists());
+        test.assertTrue(Arrays.equals(bytes("first"), reloaded.get("a")));
+    }
+}
@@ -0,0 +1,153 @@
+package com.codingchili.core.storage;
+
+import com.codahale.metrics.MetricRegistry;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.Timeout;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import org.junit.*;
+import org.junit.runner.RunWith;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+import com.codingchili.core.context.StorageContext;
+import com.codingchili.core.testing.StorageObject;
+
+/**
+ * Tests the near cache in front of a storage.
+ */
+@RunWith(VertxUnitRunner.class)
+public class NearCacheTest {
+    private static final String DB = "nearcache";
+    private static final String COLLECTION = "test";
+    private static final String METRIC_PREFIX = "storage.cache." + DB + "." + COLLECTION + ".";
+    private static final String FIRST = "first";
+    private static final String SECOND = "second";
+    private static final int LEVEL = 1;
+    private static final int LEVEL_UPDATED = 2;
+    private static final int WAIT_MS = 100;
+    @Rule
+    public Timeout timeout = new Timeout(10, TimeUnit.SECONDS);
+    private AsyncStorage<StorageObject> storage;
+    private StorageContext<StorageObject> context;
+    private MetricRegistry registry;
+    private Map<String, Long> counted = new HashMap<>();
+
+    @Before
+    public void setUp(TestContext test) {
+        Async async = test.async();
+        context = new StorageContext<>();
+        registry = context.metrics().registry();
+        // the registry may be shared between tests.
+        Arrays.asList("hits", "misses", "evictions").forEach(metric ->
+                counted.put(metric, registry.counter(METRIC_PREFIX + metric).getCount()));
+
+        new StorageLoader<StorageObject>(context)
+                .withPlugin(PrivateMap.class)
+                .withValue(StorageObject.class)
+                .withDB(DB, COLLECTION)
+                .build(test.asyncAssertSuccess(storage -> {
+                    this.storage = storage;
+                    storage.put(new StorageObject(FIRST, LEVEL), test.asyncAssertSuccess(first ->
+                            storage.put(new StorageObject(SECOND, LEVEL), test.asyncAssertSuccess(second ->
+                                    async.complete()))));
+                }));
+    }
+
+    @After
+    public void tearDown(TestContext test) {
+        context.close(test.asyncAssertSuccess());
+    }
+
+    private long count(String metric) {
+        return registry.counter(METRIC_PREFIX + metric).getCount() - counted.get(metric);
+    }
+
+    @Test
+    public void testLoadedWithNearCache(TestContext test) {
+        new StorageLoader<StorageObject>(context)
+                .withPlugin(PrivateMap.class)
+                .withValue(StorageObject.class)
+                .withDB(DB, COLLECTION)
+                .withNearCache(new NearCacheSettings())
+                .build(test.asyncAssertSuccess(storage ->
+                        test.assertTrue(storage instanceof NearCache)));
+    }
+
+    @Test
+    public void testGetCached(TestContext test) {
+        NearCache<StorageObject> cache = new NearCache<>(storage, new NearCacheSettings());
+
+        cache.get(FIRST, test.asyncAssertSuccess(miss ->
+                cache.get(FIRST, test.asyncAssertSuccess(hit -> {
+                    test.assertEquals(FIRST, hit.getId());
+                    test.assertFalse(miss == hit);
+                    test.assertEquals(1L, count("hits"));
+                    test.assertEquals(1L, count("misses"));
+                }))));
+    }
+
+    @Test
+    public void testInvalidatedOnWrite(TestContext test) {
+        NearCache<StorageObject> cache = new NearCache<>(storage, new NearCacheSettings());
+
+        cache.get(FIRST, test.asyncAssertSuccess(cached ->
+                cache.put(new StorageObject(FIRST, LEVEL_UPDATED), test.asyncAssertSuccess(put ->
+                        cache.get(FIRST, test.asyncAssertSuccess(get -> {
+                            test.assertEquals(LEVEL_UPDATED, get.getLevel());
+                            test.assertEquals(2L, count("misses"));
+                        }))))));
+    }
+
+    @Test
+    public void testInvalidatedByOtherCache(TestContext test) {
+        Async async = test.async();
+        NearCache<StorageObject> cache = new NearCache<>(storage, new NearCacheSettings());
+        NearCache<StorageObject> other = new NearCache<>(storage, new NearCacheSettings());
+
+        other.get(FIRST, test.asyncAssertSuccess(cached ->
+                cache.put(new StorageObject(FIRST, LEVEL_UPDATED), test.asyncAssertSuccess(put ->
+                        context.timer(WAIT_MS, timer -> other.get(FIRST, test.asyncAssertSuccess(get -> {
+                            test.assertEquals(LEVEL_UPDATED, get.getLevel());
+                            async.complete();
+                        })))))));
+    }
+
+    @Test
+    public void testExpired(TestContext test) {
+        Async async = test.async();
+        NearCache<StorageObject> cache = new NearCache<>(storage, new NearCacheSettings().setTtl(1));
+
+        cache.get(FIRST, test.asyncAssertSuccess(cached ->
+                context.timer(WAIT_MS, timer -> cache.get(FIRST, test.asyncAssertSuccess(get -> {
+                    test.assertEquals(0L, count("hits"));
+                    test.assertEquals(2L, count("misses"));
+                    async.complete();
+                })))));
+    }
+
+    @Test
+    public void testEvictedWhenFull(TestContext test) {
+        NearCache<StorageObject> cache = new NearCache<>(storage, new NearCacheSettings().setMaxSize(1));
+
+        cache.get(FIRST, test.asyncAssertSuccess(first ->
+                cache.get(SECOND, test.asyncAssertSuccess(second ->
+                        cache.get(SECOND, test.asyncAssertSuccess(get -> {
+                            test.assertEquals(1L, count("evictions"));
+                            test.assertEquals(1L, count("hits"));
+                        }))))));
+    }
+
+    @Test
+    public void testGetAllCached(TestContext test) {
+        NearCache<StorageObject> cache = new NearCache<>(storage, new NearCacheSettings());
+
+        cache.get(FIRST, test.asyncAssertSuccess(cached ->
+                cache.getAll(Arrays.asList(FIRST, SECOND), test.asyncAssertSuccess(values -> {
+                    test.assertEquals(2, values.size());
+                    test.assertEquals(1L, count("hits"));
+                    test.assertEquals(2L, count("misses"));
+                }))));
+    }
+}
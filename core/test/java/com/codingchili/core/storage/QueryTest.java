@@ -66,6 +66,8 @@ public class QueryTest {
     @Test
     public void testCallCustomFunction(TestContext test) {
         parser.customize().put("success", (builder, matcher) -> {
+            // custom operations are invoked with the builder of the storage.
+            test.assertFalse(builder instanceof Query);
             test.assertEquals(Boolean.TRUE.toString(), QueryParser.nextValue(matcher));
         });
         parser.parse("success(true)");
@@ -76,7 +78,26 @@ public class QueryTest {
         QueryParser.defaults().put("global", (builder, matcher) -> {
             test.assertEquals(Boolean.TRUE.toString(), QueryParser.nextValue(matcher));
         });
-        parser.parse("global(true)");
+        try {
+            parser.parse("global(true)");
+        } finally {
+            QueryParser.defaults().remove("global");
+        }
+    }
+
+    @Test
+    public void testCompiledQueryIsCopied(TestContext test) {
+        String expression = "NAMED QUERY 'cached' ON cat.name STARTSWITH fl PAGE 1";
+        Query<Account> compiled = parser.compile(expression);
+        String plan = compiled.toString();
+        compiled.and("cat.color").equalTo("white");
+
+        test.assertEquals(plan, parser.compile(expression).toString());
+
+        QueryBuilder<Account> first = parser.parse(expression);
+        QueryBuilder<Account> second = parser.parse(expression);
+        test.assertTrue(first != second);
+        test.assertEquals("cached", second.name());
     }
 
     @Test
@@ -1,11 +1,21 @@
 package com.codingchili.core.storage;
 
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.unit.Async;
 import io.vertx.ext.unit.TestContext;
 import io.vertx.ext.unit.junit.VertxUnitRunner;
 import org.junit.After;
 import org.junit.Before;
+import org.junit.Test;
 import org.junit.runner.RunWith;
 
+import java.util.*;
+import java.util.function.Consumer;
+
+import com.codingchili.core.testing.StorageObject;
+
+import static com.codingchili.core.configuration.CoreStrings.ID_NAME;
+
 /**
  * Tests for the storage providers in core. Reuse these tests when new
  * storage subsystems are implemented using the StorageLoader.
@@ -22,4 +32,101 @@ public class SharedMapTest extends MapTestCases {
     public void tearDown(TestContext test) {
         super.tearDown(test);
     }
+
+    @Test
+    public void testParallelQueryMatchesSequential(TestContext test) {
+        Async async = test.async();
+
+        new StorageLoader<StorageObject>(context)
+                .withDB(plugin.getSimpleName(), COLLECTION)
+                .withValue(StorageObject.class)
+                .withPlugin(plugin)
+                .withProperties(new JsonObject().put("parallel", true))
+                .build(loaded -> {
+                    AsyncStorage<StorageObject> parallel = loaded.result();
+
+                    orderedPage(store, sequential -> orderedPage(parallel, concurrent -> {
+                        test.assertEquals(10, sequential.size());
+                        test.assertEquals(sequential, concurrent);
+                        async.complete();
+                    }));
+                });
+    }
+
+    @Test
+    public void testParallelPagesDoNotOverlap(TestContext test) {
+        Async async = test.async();
+
+        new StorageLoader<StorageObject>(context)
+                .withDB(plugin.getSimpleName(), COLLECTION)
+                .withValue(StorageObject.class)
+                .withPlugin(plugin)
+                .withProperties(new JsonObject().put("parallel", true))
+                .build(loaded -> {
+                    AsyncStorage<StorageObject> parallel = loaded.result();
+
+                    unorderedPage(parallel, 0, first -> unorderedPage(parallel, 1, second -> {
+                        Set<String> names = new HashSet<>(first);
+                        names.addAll(second);
+                        test.assertEquals(20, names.size());
+                        async.complete();
+                    }));
+                });
+    }
+
+    @Test
+    public void testEqualSortKeysPagedOnce(TestContext test) {
+        Async async = test.async();
+
+        new StorageLoader<StorageObject>(context)
+                .withDB(plugin.getSimpleName(), COLLECTION)
+                .withValue(StorageObject.class)
+                .withPlugin(plugin)
+                .withProperties(new JsonObject().put("parallel", true))
+                .build(loaded -> levelPages(loaded.result(), 0, new ArrayList<>(), names -> {
+                    // levels are shared by many entries, so equal keys straddle the pages.
+                    test.assertEquals(TEST_ITEM_COUNT.intValue(), names.size());
+                    test.assertEquals(names.size(), new HashSet<>(names).size());
+                    async.complete();
+                }));
+    }
+
+    private void levelPages(AsyncStorage<StorageObject> storage, int page, List<String> names,
+                            Consumer<List<String>> done) {
+        storage.query(ID_NAME).startsWith("")
+                .orderBy(StorageObject.levelField)
+                .page(page)
+                .pageSize(7)
+                .execute(query -> {
+                    query.result().forEach(item -> names.add(item.getName()));
+                    if (query.result().isEmpty()) {
+                        done.accept(names);
+                    } else {
+                        levelPages(storage, page + 1, names, done);
+                    }
+                });
+    }
+
+    private void unorderedPage(AsyncStorage<StorageObject> storage, int page, Consumer<List<String>> names) {
+        storage.query(ID_NAME).startsWith("id.")
+                .page(page)
+                .pageSize(10)
+                .execute(query -> {
+                    List<String> result = new ArrayList<>();
+                    query.result().forEach(item -> result.add(item.getName()));
+                    names.accept(result);
+                });
+    }
+
+    private void orderedPage(AsyncStorage<StorageObject> storage, Consumer<List<String>> names) {
+        storage.query(ID_NAME).startsWith("id.")
+                .orderBy(ID_NAME)
+                .page(2)
+                .pageSize(10)
+                .execute(query -> {
+                    List<String> result = new ArrayList<>();
+                    query.result().forEach(item -> result.add(item.getName()));
+                    names.accept(result);
+                });
+    }
 }